@@ -0,0 +1,177 @@
+package io.simplelocalize.gradle;
+
+import io.simplelocalize.cli.CliSession;
+import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.configuration.ConfigurationLoader;
+import io.simplelocalize.cli.exception.ApiRequestException;
+import io.simplelocalize.cli.exception.CommandException;
+import io.simplelocalize.cli.exception.ConfigurationException;
+import io.simplelocalize.cli.exception.DownloadException;
+import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Runs a CLI command in the Gradle daemon. The configuration file is an input of every task, so changing it
+ * makes the tasks run again.
+ */
+public abstract class AbstractSimpleLocalizeTask extends DefaultTask
+{
+  @Optional
+  @InputFile
+  @PathSensitive(PathSensitivity.NONE)
+  public abstract RegularFileProperty getConfigFile();
+
+  @Internal
+  public abstract Property<String> getApiKey();
+
+  @Optional
+  @Input
+  public abstract Property<String> getBaseUrl();
+
+  @Optional
+  @Input
+  public abstract Property<String> getLanguageKey();
+
+  @Inject
+  protected abstract ObjectFactory getObjectFactory();
+
+  @Inject
+  protected abstract ProjectLayout getProjectLayout();
+
+  /**
+   * The API key selects the SimpleLocalize project, but only its hash ends up in the build cache.
+   */
+  @Optional
+  @Input
+  public Provider<String> getApiKeyHash()
+  {
+    return getApiKey().map(AbstractSimpleLocalizeTask::sha256);
+  }
+
+  @TaskAction
+  public void run()
+  {
+    CliSession session = new CliSession(resolveConfiguration());
+    try
+    {
+      execute(session);
+    } catch (ConfigurationException | ApiRequestException | DownloadException e)
+    {
+      throw new GradleException("SimpleLocalize " + getName() + " failed, see the log above", e);
+    } catch (CommandException | IOException e)
+    {
+      throw new GradleException("SimpleLocalize " + getName() + " failed: " + e.getMessage(), e);
+    } finally
+    {
+      session.logClientMetrics();
+    }
+  }
+
+  protected abstract void execute(CliSession session) throws IOException;
+
+  /**
+   * Applies the options of the task on top of the configuration file.
+   */
+  protected abstract void applyOptions(Configuration configuration);
+
+  protected Configuration resolveConfiguration()
+  {
+    Configuration configuration = new Configuration();
+    if (getConfigFile().isPresent())
+    {
+      ConfigurationLoader configurationLoader = new ConfigurationLoader();
+      configuration = configurationLoader.loadOrGetDefault(getConfigFile().get().getAsFile().toPath());
+    }
+    if (getApiKey().isPresent())
+    {
+      configuration.setApiKey(getApiKey().get());
+    }
+    if (getBaseUrl().isPresent())
+    {
+      configuration.setBaseUrl(getBaseUrl().get());
+    }
+    if (getLanguageKey().isPresent())
+    {
+      configuration.setLanguageKey(getLanguageKey().get());
+    }
+    applyOptions(configuration);
+    return configuration;
+  }
+
+  /**
+   * Relative paths are resolved against the project directory, not the directory Gradle was started in.
+   */
+  protected String resolvePath(String path)
+  {
+    if (StringUtils.isEmpty(path))
+    {
+      return path;
+    }
+    return projectDirectory().resolve(path).normalize().toString().replace('\\', '/');
+  }
+
+  protected Path projectDirectory()
+  {
+    return getProjectLayout().getProjectDirectory().getAsFile().toPath();
+  }
+
+  /**
+   * The directory before the first placeholder of a path like './src/{lang}/{ns}.json'.
+   */
+  protected static Path templateRoot(String pathTemplate)
+  {
+    int placeholderIndex = pathTemplate.indexOf('{');
+    if (placeholderIndex < 0)
+    {
+      return Path.of(pathTemplate).getParent();
+    }
+    return Path.of(pathTemplate.substring(0, pathTemplate.lastIndexOf('/', placeholderIndex)));
+  }
+
+  protected static boolean hasPlaceholder(String pathTemplate)
+  {
+    return pathTemplate.indexOf('{') >= 0;
+  }
+
+  protected void writeReport(RegularFileProperty reportFile, List<String> lines) throws IOException
+  {
+    Path reportPath = reportFile.get().getAsFile().toPath();
+    Files.createDirectories(reportPath.getParent());
+    Files.write(reportPath, lines, StandardCharsets.UTF_8);
+  }
+
+  private static String sha256(String value)
+  {
+    try
+    {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e)
+    {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package io.simplelocalize.gradle;
+
+import io.simplelocalize.cli.CliSession;
+import io.simplelocalize.cli.command.DownloadCommand;
+import io.simplelocalize.cli.configuration.Configuration;
+import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Downloads translations into 'downloadPath'. The directory before the first placeholder of the path is the output
+ * of the task, so it should only hold downloaded files. Translations change on the server without the build
+ * noticing, so the task is only up to date and cacheable while 'translationsRevision' is set.
+ */
+@CacheableTask
+public abstract class DownloadTask extends AbstractSimpleLocalizeTask
+{
+  public DownloadTask()
+  {
+    getOutputs().upToDateWhen(task -> getTranslationsRevision().isPresent());
+    getOutputs().cacheIf("translationsRevision is set", task -> getTranslationsRevision().isPresent());
+    // files which did not change on the server are not written again while the task runs on every build
+    getLocalState().register(getManifestFile());
+  }
+
+  @Optional
+  @Input
+  public abstract Property<String> getDownloadPath();
+
+  @Optional
+  @Input
+  public abstract Property<String> getDownloadFormat();
+
+  @Optional
+  @Input
+  public abstract ListProperty<String> getDownloadOptions();
+
+  @Optional
+  @Input
+  public abstract Property<String> getTranslationsRevision();
+
+  @Internal
+  public abstract RegularFileProperty getManifestFile();
+
+  @Optional
+  @OutputDirectory
+  public File getDownloadDirectory()
+  {
+    String downloadPath = resolveConfiguration().getDownloadPath();
+    if (StringUtils.isEmpty(downloadPath) || !hasPlaceholder(downloadPath))
+    {
+      return null;
+    }
+    return templateRoot(downloadPath).toFile();
+  }
+
+  @Optional
+  @OutputFile
+  public File getDownloadFile()
+  {
+    String downloadPath = resolveConfiguration().getDownloadPath();
+    if (StringUtils.isEmpty(downloadPath) || hasPlaceholder(downloadPath))
+    {
+      return null;
+    }
+    return new File(downloadPath);
+  }
+
+  @Override
+  protected void applyOptions(Configuration configuration)
+  {
+    if (getDownloadPath().isPresent())
+    {
+      configuration.setDownloadPath(getDownloadPath().get());
+    }
+    if (getDownloadFormat().isPresent())
+    {
+      configuration.setDownloadFormat(getDownloadFormat().get());
+    }
+    if (!getDownloadOptions().getOrElse(List.of()).isEmpty())
+    {
+      configuration.setDownloadOptions(getDownloadOptions().get());
+    }
+    List<String> downloadOptions = new ArrayList<>(configuration.getDownloadOptions());
+    configuration.setRemoveEmptyKeys(downloadOptions.remove("REMOVE_EMPTY"));
+    configuration.setDownloadOptions(downloadOptions);
+    configuration.setDownloadPath(resolvePath(configuration.getDownloadPath()));
+    if (StringUtils.isEmpty(configuration.getDownloadManifestPath()))
+    {
+      configuration.setDownloadManifestPath(getManifestFile().get().getAsFile().getPath());
+    } else
+    {
+      configuration.setDownloadManifestPath(resolvePath(configuration.getDownloadManifestPath()));
+    }
+  }
+
+  @Override
+  protected void execute(CliSession session)
+  {
+    DownloadCommand downloadCommand = new DownloadCommand(session.getClient(), session.getConfiguration());
+    downloadCommand.invoke();
+  }
+}
@@ -0,0 +1,91 @@
+package io.simplelocalize.gradle;
+
+import io.simplelocalize.cli.CliSession;
+import io.simplelocalize.cli.command.ExtractCommand;
+import io.simplelocalize.cli.configuration.Configuration;
+import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.file.ConfigurableFileTree;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Extracts translation keys from the files in 'searchDir' and uploads them. The source files are the inputs, so
+ * the extraction is skipped while no source file changed.
+ */
+@CacheableTask
+public abstract class ExtractTask extends AbstractSimpleLocalizeTask
+{
+  @Optional
+  @Input
+  public abstract Property<String> getProjectType();
+
+  @Optional
+  @Input
+  public abstract Property<String> getSearchDir();
+
+  @OutputFile
+  public abstract RegularFileProperty getReportFile();
+
+  @InputFiles
+  @IgnoreEmptyDirectories
+  @PathSensitive(PathSensitivity.RELATIVE)
+  public FileCollection getSourceFiles()
+  {
+    String searchDir = resolveConfiguration().getSearchDir();
+    return findSourceFiles(searchDir);
+  }
+
+  @Override
+  protected void applyOptions(Configuration configuration)
+  {
+    if (getProjectType().isPresent())
+    {
+      configuration.setProjectType(getProjectType().get());
+    }
+    if (getSearchDir().isPresent())
+    {
+      configuration.setSearchDir(getSearchDir().get());
+    }
+    configuration.setSearchDir(resolvePath(StringUtils.defaultIfEmpty(configuration.getSearchDir(), ".")));
+  }
+
+  @Override
+  protected void execute(CliSession session) throws IOException
+  {
+    ExtractCommand extractCommand = new ExtractCommand(session.getClient(), session.getConfiguration());
+    extractCommand.invoke();
+
+    List<String> sourceFiles = findSourceFiles(session.getConfiguration().getSearchDir()).getFiles().stream()
+            .map(sourceFile -> projectDirectory().relativize(sourceFile.toPath()).toString().replace('\\', '/'))
+            .sorted()
+            .collect(Collectors.toList());
+    writeReport(getReportFile(), sourceFiles);
+  }
+
+  /**
+   * The build directory is left out, it holds the report of this task when 'searchDir' is the project directory.
+   */
+  private FileTree findSourceFiles(String searchDir)
+  {
+    Path buildDirectory = getProjectLayout().getBuildDirectory().get().getAsFile().toPath();
+    Path gradleDirectory = projectDirectory().resolve(".gradle");
+    ConfigurableFileTree sourceFiles = getObjectFactory().fileTree().from(searchDir);
+    sourceFiles.exclude(element -> element.getFile().toPath().startsWith(buildDirectory) || element.getFile().toPath().startsWith(gradleDirectory));
+    return sourceFiles;
+  }
+}
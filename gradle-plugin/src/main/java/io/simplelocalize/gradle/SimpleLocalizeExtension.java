@@ -0,0 +1,42 @@
+package io.simplelocalize.gradle;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+
+/**
+ * The 'simplelocalize' block of a build script. Options set here override the ones from the configuration file,
+ * like command line options do for the CLI.
+ */
+public abstract class SimpleLocalizeExtension
+{
+  public abstract RegularFileProperty getConfigFile();
+
+  public abstract Property<String> getApiKey();
+
+  public abstract Property<String> getBaseUrl();
+
+  public abstract Property<String> getLanguageKey();
+
+  public abstract Property<String> getProjectType();
+
+  public abstract Property<String> getSearchDir();
+
+  public abstract Property<String> getUploadPath();
+
+  public abstract Property<String> getUploadFormat();
+
+  public abstract ListProperty<String> getUploadOptions();
+
+  public abstract Property<String> getDownloadPath();
+
+  public abstract Property<String> getDownloadFormat();
+
+  public abstract ListProperty<String> getDownloadOptions();
+
+  /**
+   * Identifies the published translations, e.g. a version set by the pipeline which publishes them.
+   * Downloads are only up to date and cacheable while it is set, because the build cannot see changes on the server.
+   */
+  public abstract Property<String> getTranslationsRevision();
+}
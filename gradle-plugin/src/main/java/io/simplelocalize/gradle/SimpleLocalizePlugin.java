@@ -0,0 +1,66 @@
+package io.simplelocalize.gradle;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
+
+import java.io.File;
+
+/**
+ * Adds the 'simplelocalize' extension and the simplelocalizeExtract, simplelocalizeUpload and
+ * simplelocalizeDownload tasks. The 'simplelocalize.yml' file of the project is used when it exists.
+ */
+public class SimpleLocalizePlugin implements Plugin<Project>
+{
+  private static final String TASK_GROUP = "simplelocalize";
+  private static final String CONFIG_FILE_NAME = "simplelocalize.yml";
+
+  @Override
+  public void apply(Project project)
+  {
+    SimpleLocalizeExtension extension = project.getExtensions().create("simplelocalize", SimpleLocalizeExtension.class);
+    File defaultConfigFile = project.file(CONFIG_FILE_NAME);
+    Provider<RegularFile> configFile = project.getLayout().getProjectDirectory()
+            .file(project.getProviders().provider(() -> defaultConfigFile.isFile() ? CONFIG_FILE_NAME : null));
+    extension.getConfigFile().convention(configFile);
+    Provider<Directory> stateDirectory = project.getLayout().getBuildDirectory().dir("simplelocalize");
+
+    project.getTasks().register("simplelocalizeExtract", ExtractTask.class, task -> {
+      configureTask(task, extension);
+      task.setDescription("Extracts translation keys from project files and uploads them to SimpleLocalize");
+      task.getProjectType().convention(extension.getProjectType());
+      task.getSearchDir().convention(extension.getSearchDir());
+      task.getReportFile().convention(stateDirectory.map(directory -> directory.file("extract.txt")));
+    });
+
+    project.getTasks().register("simplelocalizeUpload", UploadTask.class, task -> {
+      configureTask(task, extension);
+      task.setDescription("Uploads translation files to SimpleLocalize");
+      task.getUploadPath().convention(extension.getUploadPath());
+      task.getUploadFormat().convention(extension.getUploadFormat());
+      task.getUploadOptions().convention(extension.getUploadOptions());
+      task.getReportFile().convention(stateDirectory.map(directory -> directory.file("upload.txt")));
+    });
+
+    project.getTasks().register("simplelocalizeDownload", DownloadTask.class, task -> {
+      configureTask(task, extension);
+      task.setDescription("Downloads translation files from SimpleLocalize");
+      task.getDownloadPath().convention(extension.getDownloadPath());
+      task.getDownloadFormat().convention(extension.getDownloadFormat());
+      task.getDownloadOptions().convention(extension.getDownloadOptions());
+      task.getTranslationsRevision().convention(extension.getTranslationsRevision());
+      task.getManifestFile().convention(stateDirectory.map(directory -> directory.file("download-manifest.json")));
+    });
+  }
+
+  private static void configureTask(AbstractSimpleLocalizeTask task, SimpleLocalizeExtension extension)
+  {
+    task.setGroup(TASK_GROUP);
+    task.getConfigFile().convention(extension.getConfigFile());
+    task.getApiKey().convention(extension.getApiKey());
+    task.getBaseUrl().convention(extension.getBaseUrl());
+    task.getLanguageKey().convention(extension.getLanguageKey());
+  }
+}
@@ -0,0 +1,122 @@
+package io.simplelocalize.gradle;
+
+import io.simplelocalize.cli.CliSession;
+import io.simplelocalize.cli.client.dto.FileToUpload;
+import io.simplelocalize.cli.command.UploadCommand;
+import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.io.FileListReader;
+import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.file.ConfigurableFileTree;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Uploads the files matching 'uploadPath'. The matching files are the inputs and the list of uploaded files is
+ * the output, so the upload is skipped while no translation file changed.
+ */
+@CacheableTask
+public abstract class UploadTask extends AbstractSimpleLocalizeTask
+{
+  @Optional
+  @Input
+  public abstract Property<String> getUploadPath();
+
+  @Optional
+  @Input
+  public abstract Property<String> getUploadFormat();
+
+  @Optional
+  @Input
+  public abstract ListProperty<String> getUploadOptions();
+
+  @OutputFile
+  public abstract RegularFileProperty getReportFile();
+
+  @InputFiles
+  @PathSensitive(PathSensitivity.RELATIVE)
+  public FileCollection getTranslationFiles()
+  {
+    String uploadPath = resolveConfiguration().getUploadPath();
+    List<Path> translationFiles = findTranslationFiles(uploadPath);
+    if (translationFiles.isEmpty())
+    {
+      return getObjectFactory().fileCollection();
+    }
+
+    // a tree keeps the language directories in the relative paths of the inputs
+    Path root = templateRoot(uploadPath);
+    ConfigurableFileTree translationFileTree = getObjectFactory().fileTree().from(root);
+    for (Path translationFile : translationFiles)
+    {
+      translationFileTree.include(root.relativize(translationFile).toString().replace('\\', '/'));
+    }
+    return translationFileTree;
+  }
+
+  @Override
+  protected void applyOptions(Configuration configuration)
+  {
+    if (getUploadPath().isPresent())
+    {
+      configuration.setUploadPath(getUploadPath().get());
+    }
+    if (getUploadFormat().isPresent())
+    {
+      configuration.setUploadFormat(getUploadFormat().get());
+    }
+    if (!getUploadOptions().getOrElse(List.of()).isEmpty())
+    {
+      configuration.setUploadOptions(new ArrayList<>(getUploadOptions().get()));
+    }
+    configuration.setUploadPath(resolvePath(configuration.getUploadPath()));
+  }
+
+  @Override
+  protected void execute(CliSession session) throws IOException
+  {
+    Configuration configuration = session.getConfiguration();
+    UploadCommand uploadCommand = new UploadCommand(session.getClient(), configuration);
+    uploadCommand.invoke();
+
+    Path projectDirectory = projectDirectory();
+    List<String> uploadedFiles = findTranslationFiles(configuration.getUploadPath()).stream()
+            .map(translationFile -> projectDirectory.relativize(translationFile).toString().replace('\\', '/'))
+            .sorted()
+            .collect(Collectors.toList());
+    writeReport(getReportFile(), uploadedFiles);
+  }
+
+  private static List<Path> findTranslationFiles(String uploadPath)
+  {
+    if (StringUtils.isEmpty(uploadPath))
+    {
+      return List.of();
+    }
+    try
+    {
+      return new FileListReader().findFilesToUpload(uploadPath).stream()
+              .map(FileToUpload::getPath)
+              .map(path -> path.toAbsolutePath().normalize())
+              .collect(Collectors.toList());
+    } catch (IOException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
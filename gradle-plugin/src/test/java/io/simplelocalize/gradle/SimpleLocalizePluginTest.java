@@ -0,0 +1,180 @@
+package io.simplelocalize.gradle;
+
+import org.assertj.core.api.Assertions;
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.verify.VerificationTimes;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+class SimpleLocalizePluginTest
+{
+
+  private static final String MOCK_SERVER_BASE_URL = "http://localhost:1080";
+
+  @TempDir
+  Path projectDir;
+
+  private ClientAndServer mockServer;
+
+  @BeforeEach
+  void startServer() throws IOException
+  {
+    mockServer = startClientAndServer(1080);
+    Files.writeString(projectDir.resolve("settings.gradle"), "buildCache {\n  local {\n    directory = file('build-cache')\n  }\n}\n");
+  }
+
+  @AfterEach
+  void stopServer()
+  {
+    mockServer.stop();
+  }
+
+  @Test
+  void shouldSkipUploadWhileTranslationFilesDidNotChange() throws IOException
+  {
+    //given
+    writeBuildScript("uploadPath = './translations/{lang}/messages.json'\n  uploadFormat = 'single-language-json'");
+    writeFile("translations/en/messages.json", "{\"HELLO\":\"Hello\"}");
+    mockServer.when(request().withMethod("POST").withPath("/cli/v2/upload"))
+            .respond(response().withStatusCode(200).withBody("{ \"msg\": \"OK\" }"));
+
+    //when
+    BuildResult firstBuild = build("simplelocalizeUpload");
+    BuildResult secondBuild = build("simplelocalizeUpload");
+
+    //then
+    Assertions.assertThat(firstBuild.task(":simplelocalizeUpload").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+    Assertions.assertThat(secondBuild.task(":simplelocalizeUpload").getOutcome()).isEqualTo(TaskOutcome.UP_TO_DATE);
+    mockServer.verify(request().withMethod("POST").withPath("/cli/v2/upload"), VerificationTimes.once());
+  }
+
+  @Test
+  void shouldUploadAgainWhenTranslationFileChanged() throws IOException
+  {
+    //given
+    writeBuildScript("uploadPath = './translations/{lang}/messages.json'\n  uploadFormat = 'single-language-json'");
+    writeFile("translations/en/messages.json", "{\"HELLO\":\"Hello\"}");
+    mockServer.when(request().withMethod("POST").withPath("/cli/v2/upload"))
+            .respond(response().withStatusCode(200).withBody("{ \"msg\": \"OK\" }"));
+    build("simplelocalizeUpload");
+
+    //when
+    writeFile("translations/en/messages.json", "{\"HELLO\":\"Hello!\"}");
+    BuildResult secondBuild = build("simplelocalizeUpload");
+
+    //then
+    Assertions.assertThat(secondBuild.task(":simplelocalizeUpload").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+    mockServer.verify(request().withMethod("POST").withPath("/cli/v2/upload"), VerificationTimes.exactly(2));
+  }
+
+  @Test
+  void shouldSkipExtractWhileSourceFilesDidNotChange() throws IOException
+  {
+    //given
+    writeBuildScript("projectType = 'yahoo/react-intl'\n  searchDir = './src'");
+    writeFile("src/App.js", "<FormattedMessage id=\"HELLO\" defaultMessage=\"Hello\"/>");
+    mockServer.when(request().withMethod("POST").withPath("/cli/v1/keys"))
+            .respond(response().withStatusCode(200).withBody("{ \"msg\": \"OK\", \"data\": { \"uniqueKeysProcessed\": 1, \"processedWithWarnings\": false } }"));
+
+    //when
+    BuildResult firstBuild = build("simplelocalizeExtract");
+    BuildResult secondBuild = build("simplelocalizeExtract");
+
+    //then
+    Assertions.assertThat(firstBuild.task(":simplelocalizeExtract").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+    Assertions.assertThat(secondBuild.task(":simplelocalizeExtract").getOutcome()).isEqualTo(TaskOutcome.UP_TO_DATE);
+    mockServer.verify(request().withMethod("POST").withPath("/cli/v1/keys"), VerificationTimes.once());
+  }
+
+  @Test
+  void shouldLoadDownloadFromBuildCacheForSameTranslationsRevision() throws IOException
+  {
+    //given
+    writeBuildScript("downloadPath = './build/translations/messages_{lang}.json'\n  downloadFormat = 'single-language-json'\n  translationsRevision = '42'");
+    mockDownload();
+    build("simplelocalizeDownload", "--build-cache");
+
+    //when
+    deleteDirectory(projectDir.resolve("build"));
+    BuildResult secondBuild = build("simplelocalizeDownload", "--build-cache");
+
+    //then
+    Assertions.assertThat(secondBuild.task(":simplelocalizeDownload").getOutcome()).isEqualTo(TaskOutcome.FROM_CACHE);
+    Assertions.assertThat(projectDir.resolve("build/translations/messages_en.json")).hasContent("{\"HELLO\":\"Hello\"}");
+    mockServer.verify(request().withMethod("GET").withPath("/cli/v2/download"), VerificationTimes.once());
+  }
+
+  @Test
+  void shouldDownloadOnEveryBuildWithoutTranslationsRevision() throws IOException
+  {
+    //given
+    writeBuildScript("downloadPath = './build/translations/messages_{lang}.json'\n  downloadFormat = 'single-language-json'");
+    mockDownload();
+    build("simplelocalizeDownload", "--build-cache");
+
+    //when
+    BuildResult secondBuild = build("simplelocalizeDownload", "--build-cache");
+
+    //then
+    Assertions.assertThat(secondBuild.task(":simplelocalizeDownload").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+    mockServer.verify(request().withMethod("GET").withPath("/cli/v2/download"), VerificationTimes.exactly(2));
+  }
+
+  private void mockDownload()
+  {
+    mockServer.when(request().withMethod("GET").withPath("/cli/v2/download"))
+            .respond(response().withStatusCode(200).withBody("{ \"files\": [{\"language\": \"en\", \"url\": \"" + MOCK_SERVER_BASE_URL + "/files/messages_en.json\"}] }"));
+    mockServer.when(request().withMethod("GET").withPath("/files/messages_en.json"))
+            .respond(response().withStatusCode(200).withBody("{\"HELLO\":\"Hello\"}"));
+  }
+
+  private void writeBuildScript(String options) throws IOException
+  {
+    String buildScript = "plugins {\n" +
+            "  id 'io.simplelocalize'\n" +
+            "}\n" +
+            "simplelocalize {\n" +
+            "  apiKey = 'my-api-key'\n" +
+            "  baseUrl = '" + MOCK_SERVER_BASE_URL + "'\n" +
+            "  " + options + "\n" +
+            "}\n";
+    writeFile("build.gradle", buildScript);
+  }
+
+  private void writeFile(String path, String content) throws IOException
+  {
+    Path file = projectDir.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+  }
+
+  private BuildResult build(String... arguments)
+  {
+    return GradleRunner.create()
+            .withProjectDir(projectDir.toFile())
+            .withPluginClasspath()
+            .withArguments(arguments)
+            .build();
+  }
+
+  private static void deleteDirectory(Path directory) throws IOException
+  {
+    try (var paths = Files.walk(directory))
+    {
+      paths.sorted((first, second) -> second.compareTo(first)).forEach(path -> path.toFile().delete());
+    }
+  }
+}
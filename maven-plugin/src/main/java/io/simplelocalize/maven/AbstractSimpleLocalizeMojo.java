@@ -0,0 +1,155 @@
+package io.simplelocalize.maven;
+
+import io.simplelocalize.cli.CliSession;
+import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.exception.ApiRequestException;
+import io.simplelocalize.cli.exception.CommandException;
+import io.simplelocalize.cli.exception.ConfigurationException;
+import io.simplelocalize.cli.exception.DownloadException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Runs a CLI command in the Maven JVM. Options set in the plugin configuration override the ones from
+ * the configuration file, like command line options do for the CLI.
+ */
+abstract class AbstractSimpleLocalizeMojo extends AbstractMojo
+{
+  private static final String FINGERPRINT_DIRECTORY = "simplelocalize";
+
+  @Parameter(property = "simplelocalize.configFile", defaultValue = "${project.basedir}/simplelocalize.yml")
+  private File configFile;
+
+  @Parameter(property = "simplelocalize.apiKey")
+  private String apiKey;
+
+  @Parameter(property = "simplelocalize.languageKey")
+  private String languageKey;
+
+  @Parameter(property = "simplelocalize.skip", defaultValue = "false")
+  private boolean skip;
+
+  @Parameter(defaultValue = "${project.basedir}", readonly = true)
+  private File baseDirectory;
+
+  @Parameter(defaultValue = "${project.build.directory}", readonly = true)
+  private File buildDirectory;
+
+  @Parameter(defaultValue = "${session}", readonly = true)
+  private MavenSession mavenSession;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException
+  {
+    if (skip)
+    {
+      getLog().info("Skipping SimpleLocalize " + getGoal());
+      return;
+    }
+
+    CliSession session = null;
+    try
+    {
+      session = new CliSession(loadConfiguration());
+      Configuration configuration = session.getConfiguration();
+      if (StringUtils.isNotEmpty(apiKey))
+      {
+        configuration.setApiKey(apiKey);
+      }
+      if (StringUtils.isNotEmpty(languageKey))
+      {
+        configuration.setLanguageKey(languageKey);
+      }
+      execute(session);
+    } catch (ConfigurationException | ApiRequestException | DownloadException e)
+    {
+      throw new MojoFailureException("SimpleLocalize " + getGoal() + " failed, see the log above", e);
+    } catch (CommandException e)
+    {
+      throw new MojoFailureException("SimpleLocalize " + getGoal() + " failed: " + e.getMessage(), e);
+    } catch (IOException e)
+    {
+      throw new MojoExecutionException("SimpleLocalize " + getGoal() + " failed: " + e.getMessage(), e);
+    } finally
+    {
+      if (session != null)
+      {
+        session.logClientMetrics();
+      }
+    }
+  }
+
+  protected abstract String getGoal();
+
+  protected abstract void execute(CliSession session) throws IOException;
+
+  /**
+   * Relative paths are resolved against the module directory, not the directory Maven was started in.
+   */
+  protected String resolvePath(String path)
+  {
+    if (StringUtils.isEmpty(path))
+    {
+      return path;
+    }
+    return baseDirectory.toPath().resolve(path).toString();
+  }
+
+  protected Path getBuildDirectory()
+  {
+    return buildDirectory.toPath();
+  }
+
+  /**
+   * Claims the work described by the fingerprint for this reactor build. Modules sharing the same inputs run it once.
+   */
+  protected boolean claimForReactorBuild(String fingerprint)
+  {
+    String key = AbstractSimpleLocalizeMojo.class.getName() + "." + getGoal() + "." + fingerprint;
+    return mavenSession.getRepositorySession().getData().set(key, null, Boolean.TRUE);
+  }
+
+  /**
+   * Whether the inputs did not change since the last successful run of this goal in this module.
+   */
+  protected boolean isUpToDate(String fingerprint) throws IOException
+  {
+    Path fingerprintPath = getFingerprintPath();
+    if (Files.notExists(fingerprintPath))
+    {
+      return false;
+    }
+    return fingerprint.equals(Files.readString(fingerprintPath, StandardCharsets.UTF_8).trim());
+  }
+
+  protected void saveFingerprint(String fingerprint) throws IOException
+  {
+    Path fingerprintPath = getFingerprintPath();
+    Files.createDirectories(fingerprintPath.getParent());
+    Files.writeString(fingerprintPath, fingerprint, StandardCharsets.UTF_8);
+  }
+
+  private Path getFingerprintPath()
+  {
+    return getBuildDirectory().resolve(FINGERPRINT_DIRECTORY).resolve(getGoal() + ".sha256");
+  }
+
+  private Configuration loadConfiguration()
+  {
+    return Optional.ofNullable(configFile)
+            .filter(File::isFile)
+            .map(file -> CliSession.load(file.toPath()).getConfiguration())
+            .orElseGet(Configuration::new);
+  }
+}
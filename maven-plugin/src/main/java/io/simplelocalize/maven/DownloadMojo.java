@@ -0,0 +1,86 @@
+package io.simplelocalize.maven;
+
+import io.simplelocalize.cli.CliSession;
+import io.simplelocalize.cli.command.DownloadCommand;
+import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.configuration.ConfigurationValidator;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Downloads translation files. Modules asking for the same files download them once per build, and the download
+ * manifest in the build directory keeps files which did not change on the server untouched.
+ */
+@Mojo(name = "download", defaultPhase = LifecyclePhase.GENERATE_RESOURCES, threadSafe = true)
+public class DownloadMojo extends AbstractSimpleLocalizeMojo
+{
+  @Parameter(property = "simplelocalize.downloadPath")
+  private String downloadPath;
+
+  @Parameter(property = "simplelocalize.downloadFormat")
+  private String downloadFormat;
+
+  @Parameter(property = "simplelocalize.downloadOptions")
+  private List<String> downloadOptions;
+
+  @Override
+  protected String getGoal()
+  {
+    return "download";
+  }
+
+  @Override
+  protected void execute(CliSession session) throws IOException
+  {
+    Configuration configuration = session.getConfiguration();
+    if (StringUtils.isNotEmpty(downloadPath))
+    {
+      configuration.setDownloadPath(downloadPath);
+    }
+    if (StringUtils.isNotEmpty(downloadFormat))
+    {
+      configuration.setDownloadFormat(downloadFormat);
+    }
+    if (downloadOptions != null && !downloadOptions.isEmpty())
+    {
+      configuration.setDownloadOptions(downloadOptions);
+    }
+    List<String> configuredDownloadOptions = new ArrayList<>(configuration.getDownloadOptions());
+    configuration.setRemoveEmptyKeys(configuredDownloadOptions.remove("REMOVE_EMPTY"));
+    configuration.setDownloadOptions(configuredDownloadOptions);
+    ConfigurationValidator configurationValidator = new ConfigurationValidator();
+    configurationValidator.validateDownloadConfiguration(configuration);
+    configuration.setDownloadPath(resolvePath(configuration.getDownloadPath()));
+    if (StringUtils.isEmpty(configuration.getDownloadManifestPath()))
+    {
+      configuration.setDownloadManifestPath(getBuildDirectory().resolve("simplelocalize").resolve("download-manifest.json").toString());
+    } else
+    {
+      configuration.setDownloadManifestPath(resolvePath(configuration.getDownloadManifestPath()));
+    }
+
+    String fingerprint = InputFingerprint.create()
+            .withSetting("downloadPath", configuration.getDownloadPath())
+            .withSetting("downloadFormat", configuration.getDownloadFormat())
+            .withSetting("downloadOptions", configuration.getDownloadOptions())
+            .withSetting("downloadTransforms", configuration.getDownloadTransforms())
+            .withSetting("removeEmptyKeys", configuration.getRemoveEmptyKeys())
+            .withSetting("downloadArchive", configuration.getDownloadArchive())
+            .withSetting("languageKey", configuration.getLanguageKey())
+            .toHex();
+    if (!claimForReactorBuild(fingerprint))
+    {
+      getLog().info("Translations were already downloaded to " + configuration.getDownloadPath() + " in this build, skipping");
+      return;
+    }
+
+    DownloadCommand downloadCommand = new DownloadCommand(session.getClient(), configuration);
+    downloadCommand.invoke();
+  }
+}
@@ -0,0 +1,66 @@
+package io.simplelocalize.maven;
+
+import io.simplelocalize.cli.CliSession;
+import io.simplelocalize.cli.command.ExtractCommand;
+import io.simplelocalize.cli.configuration.Configuration;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Extracts translation keys from the project files and uploads them. Skipped while no file in the search
+ * directory changed since the last successful extraction of the module.
+ */
+@Mojo(name = "extract", threadSafe = true)
+public class ExtractMojo extends AbstractSimpleLocalizeMojo
+{
+  @Parameter(property = "simplelocalize.projectType")
+  private String projectType;
+
+  @Parameter(property = "simplelocalize.searchDir")
+  private String searchDir;
+
+  @Override
+  protected String getGoal()
+  {
+    return "extract";
+  }
+
+  @Override
+  protected void execute(CliSession session) throws IOException
+  {
+    Configuration configuration = session.getConfiguration();
+    if (StringUtils.isNotEmpty(projectType))
+    {
+      configuration.setProjectType(projectType);
+    }
+    if (StringUtils.isNotEmpty(searchDir))
+    {
+      configuration.setSearchDir(searchDir);
+    }
+    configuration.setSearchDir(resolvePath(StringUtils.defaultIfEmpty(configuration.getSearchDir(), ".")));
+
+    String fingerprint = InputFingerprint.create()
+            .withSetting("projectType", configuration.getProjectType())
+            .withSetting("ignoreKeys", configuration.getIgnoreKeys())
+            .withDirectory(Path.of(configuration.getSearchDir()))
+            .toHex();
+    if (isUpToDate(fingerprint))
+    {
+      getLog().info("Project files did not change since the last extraction, skipping");
+      return;
+    }
+    if (!claimForReactorBuild(fingerprint))
+    {
+      getLog().info("Keys were already extracted from " + configuration.getSearchDir() + " in this build, skipping");
+      return;
+    }
+
+    ExtractCommand extractCommand = new ExtractCommand(session.getClient(), configuration);
+    extractCommand.invoke();
+    saveFingerprint(fingerprint);
+  }
+}
@@ -0,0 +1,83 @@
+package io.simplelocalize.maven;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * SHA-256 over the goal settings and the path, size and modification time of every input file. File contents
+ * are not read, so checking whether a goal is up to date costs one directory walk.
+ */
+final class InputFingerprint
+{
+  private final MessageDigest digest;
+
+  private InputFingerprint()
+  {
+    try
+    {
+      this.digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e)
+    {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static InputFingerprint create()
+  {
+    return new InputFingerprint();
+  }
+
+  InputFingerprint withSetting(String name, Object value)
+  {
+    update(name + "=" + value);
+    return this;
+  }
+
+  InputFingerprint withFiles(Collection<Path> files) throws IOException
+  {
+    List<Path> sortedFiles = new ArrayList<>(files);
+    sortedFiles.sort(null);
+    for (Path file : sortedFiles)
+    {
+      update(file.toAbsolutePath().normalize() + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis());
+    }
+    return this;
+  }
+
+  InputFingerprint withDirectory(Path directory) throws IOException
+  {
+    if (Files.notExists(directory))
+    {
+      return withSetting("directory", "missing");
+    }
+    try (Stream<Path> paths = Files.walk(directory))
+    {
+      return withFiles(paths.filter(Files::isRegularFile).collect(Collectors.toList()));
+    }
+  }
+
+  String toHex()
+  {
+    StringBuilder hex = new StringBuilder();
+    for (byte value : digest.digest())
+    {
+      hex.append(String.format("%02x", value));
+    }
+    return hex.toString();
+  }
+
+  private void update(String value)
+  {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+}
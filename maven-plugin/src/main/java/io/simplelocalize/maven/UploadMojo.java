@@ -0,0 +1,86 @@
+package io.simplelocalize.maven;
+
+import io.simplelocalize.cli.CliSession;
+import io.simplelocalize.cli.client.dto.FileToUpload;
+import io.simplelocalize.cli.command.UploadCommand;
+import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.configuration.ConfigurationValidator;
+import io.simplelocalize.cli.io.FileListReader;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Uploads translation files. The upload is skipped when the matching files did not change since the last
+ * successful upload of the module or when another module already uploaded them in this build.
+ */
+@Mojo(name = "upload", threadSafe = true)
+public class UploadMojo extends AbstractSimpleLocalizeMojo
+{
+  @Parameter(property = "simplelocalize.uploadPath")
+  private String uploadPath;
+
+  @Parameter(property = "simplelocalize.uploadFormat")
+  private String uploadFormat;
+
+  @Parameter(property = "simplelocalize.uploadOptions")
+  private List<String> uploadOptions;
+
+  @Override
+  protected String getGoal()
+  {
+    return "upload";
+  }
+
+  @Override
+  protected void execute(CliSession session) throws IOException
+  {
+    Configuration configuration = session.getConfiguration();
+    if (StringUtils.isNotEmpty(uploadPath))
+    {
+      configuration.setUploadPath(uploadPath);
+    }
+    if (StringUtils.isNotEmpty(uploadFormat))
+    {
+      configuration.setUploadFormat(uploadFormat);
+    }
+    if (uploadOptions != null && !uploadOptions.isEmpty())
+    {
+      configuration.setUploadOptions(uploadOptions);
+    }
+    ConfigurationValidator configurationValidator = new ConfigurationValidator();
+    configurationValidator.validateUploadConfiguration(configuration);
+    configuration.setUploadPath(resolvePath(configuration.getUploadPath()));
+
+    List<Path> filesToUpload = new FileListReader().findFilesToUpload(configuration.getUploadPath()).stream()
+            .map(FileToUpload::getPath)
+            .collect(Collectors.toList());
+    String fingerprint = InputFingerprint.create()
+            .withSetting("uploadPath", configuration.getUploadPath())
+            .withSetting("uploadFormat", configuration.getUploadFormat())
+            .withSetting("uploadOptions", configuration.getUploadOptions())
+            .withSetting("uploadArchive", configuration.getUploadArchive())
+            .withSetting("languageKey", configuration.getLanguageKey())
+            .withFiles(filesToUpload)
+            .toHex();
+    if (isUpToDate(fingerprint))
+    {
+      getLog().info("Translation files did not change since the last upload, skipping");
+      return;
+    }
+    if (!claimForReactorBuild(fingerprint))
+    {
+      getLog().info("Translation files were already uploaded in this build, skipping");
+      return;
+    }
+
+    UploadCommand uploadCommand = new UploadCommand(session.getClient(), configuration);
+    uploadCommand.invoke();
+    saveFingerprint(fingerprint);
+  }
+}
@@ -0,0 +1,64 @@
+package io.simplelocalize.maven;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+class InputFingerprintTest
+{
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldNotChangeForUnchangedFiles() throws IOException
+  {
+    //given
+    Path en = Files.writeString(directory.resolve("messages_en.json"), "{\"HELLO\":\"Hello\"}");
+    Path de = Files.writeString(directory.resolve("messages_de.json"), "{\"HELLO\":\"Hallo\"}");
+
+    //when
+    String first = InputFingerprint.create().withSetting("uploadFormat", "single-language-json").withFiles(List.of(en, de)).toHex();
+    String second = InputFingerprint.create().withSetting("uploadFormat", "single-language-json").withFiles(List.of(de, en)).toHex();
+
+    //then
+    Assertions.assertThat(first).isEqualTo(second);
+  }
+
+  @Test
+  void shouldChangeWhenFileWasModified() throws IOException
+  {
+    //given
+    Path en = Files.writeString(directory.resolve("messages_en.json"), "{\"HELLO\":\"Hello\"}");
+    Files.setLastModifiedTime(en, FileTime.from(Instant.parse("2020-01-01T00:00:00Z")));
+    String before = InputFingerprint.create().withDirectory(directory).toHex();
+
+    //when
+    Files.writeString(en, "{\"HELLO\":\"Hi\"}");
+    String after = InputFingerprint.create().withDirectory(directory).toHex();
+
+    //then
+    Assertions.assertThat(after).isNotEqualTo(before);
+  }
+
+  @Test
+  void shouldChangeWhenSettingChanged() throws IOException
+  {
+    //given
+    Path en = Files.writeString(directory.resolve("messages_en.json"), "{\"HELLO\":\"Hello\"}");
+
+    //when
+    String json = InputFingerprint.create().withSetting("uploadFormat", "single-language-json").withFiles(List.of(en)).toHex();
+    String yaml = InputFingerprint.create().withSetting("uploadFormat", "yaml").withFiles(List.of(en)).toHex();
+
+    //then
+    Assertions.assertThat(json).isNotEqualTo(yaml);
+  }
+}
@@ -0,0 +1,159 @@
+#!/usr/bin/env python3
+"""
+Compares startup of the JVM and the native CLI for every command.
+
+For each command and binary it reports the median of:
+  - first request: time from process start until the API stub received the first request,
+  - total: time until the process exited.
+
+The API is replaced with a local stub, so the numbers do not depend on the network.
+
+Usage:
+  mvn -B package -DskipTests, then build the native image as described in README.md
+  scripts/startup-benchmark.py [--runs 10] [--jar target/simplelocalize-cli-<version>.jar] [--native target/simplelocalize-cli]
+                               [--output startup.csv]
+
+--output appends the medians with the current commit to a CSV file, to track startup between changes.
+"""
+import argparse
+import csv
+import glob
+import http.server
+import os
+import shutil
+import statistics
+import subprocess
+import sys
+import tempfile
+import threading
+import time
+
+STUB_RESPONSE = b'{"msg":"OK","data":{"uniqueKeysProcessed":1,"processedWithWarnings":false},"files":[]}'
+
+
+class ApiStub(http.server.BaseHTTPRequestHandler):
+    first_request_at = None
+
+    def handle_request(self):
+        if ApiStub.first_request_at is None:
+            ApiStub.first_request_at = time.monotonic()
+        self.read_body()
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(STUB_RESPONSE)))
+        self.end_headers()
+        if self.command != "HEAD":
+            self.wfile.write(STUB_RESPONSE)
+
+    def read_body(self):
+        if self.headers.get("Transfer-Encoding", "").lower() == "chunked":
+            # streamed request bodies (keys, archives) have no Content-Length
+            while True:
+                chunk_length = int(self.rfile.readline().split(b";")[0], 16)
+                self.rfile.read(chunk_length + 2)
+                if chunk_length == 0:
+                    return
+        length = int(self.headers.get("Content-Length") or 0)
+        if length:
+            self.rfile.read(length)
+
+    do_GET = do_POST = do_PUT = do_HEAD = handle_request
+
+    def log_message(self, format, *args):
+        pass
+
+
+def prepare_project(directory, port):
+    source_directory = os.path.join(directory, "src")
+    os.makedirs(source_directory)
+    with open(os.path.join(source_directory, "App.js"), "w") as file:
+        file.write('<FormattedMessage id="HELLO_WORLD" defaultMessage="Hello"/>\n')
+    os.makedirs(os.path.join(directory, "translations", "en"))
+    with open(os.path.join(directory, "translations", "en", "messages.json"), "w") as file:
+        file.write('{"HELLO_WORLD": "Hello"}\n')
+    with open(os.path.join(directory, "simplelocalize.yml"), "w") as file:
+        file.write(
+            "apiKey: benchmark\n"
+            f"baseUrl: http://127.0.0.1:{port}\n"
+            "projectType: yahoo/react-intl\n"
+            "searchDir: ./src\n"
+            "uploadPath: ./translations/{lang}/messages.json\n"
+            "uploadFormat: single-language-json\n"
+            "downloadPath: ./download/{lang}.json\n"
+            "downloadFormat: single-language-json\n"
+        )
+
+
+def measure(command_line, directory):
+    ApiStub.first_request_at = None
+    started_at = time.monotonic()
+    completed = subprocess.run(command_line, cwd=directory, stdout=subprocess.PIPE, stderr=subprocess.STDOUT)
+    finished_at = time.monotonic()
+    if completed.returncode != 0:
+        sys.exit(f"{' '.join(command_line)} failed:\n{completed.stdout.decode()}")
+    first_request = None if ApiStub.first_request_at is None else ApiStub.first_request_at - started_at
+    return first_request, finished_at - started_at
+
+
+def median_millis(values):
+    values = [value for value in values if value is not None]
+    return f"{statistics.median(values) * 1000:8.0f} ms" if values else "       -   "
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Compare startup of the JVM and the native CLI")
+    parser.add_argument("--runs", type=int, default=10)
+    parser.add_argument("--jar", default=next(iter(sorted(glob.glob("target/simplelocalize-cli-*.jar"))), None))
+    parser.add_argument("--native", default="target/simplelocalize-cli")
+    parser.add_argument("--java", default=shutil.which("java"))
+    parser.add_argument("--output")
+    arguments = parser.parse_args()
+
+    binaries = {}
+    if arguments.jar and os.path.isfile(arguments.jar):
+        binaries["jvm"] = [arguments.java, "-jar", os.path.abspath(arguments.jar)]
+    if os.path.isfile(arguments.native):
+        binaries["native"] = [os.path.abspath(arguments.native)]
+    if not binaries:
+        sys.exit("Nothing to compare, build the jar and/or the native image first")
+
+    server = http.server.ThreadingHTTPServer(("127.0.0.1", 0), ApiStub)
+    threading.Thread(target=server.serve_forever, daemon=True).start()
+
+    commands = [["--help"], ["--version"], ["extract"], ["upload"], ["download"]]
+    rows = []
+    with tempfile.TemporaryDirectory(prefix="simplelocalize-benchmark") as directory:
+        prepare_project(directory, server.server_address[1])
+        print(f"{'command':<12}{'binary':<8}{'first request':>16}{'total':>12}   ({arguments.runs} runs, median)")
+        for command in commands:
+            for name, binary in binaries.items():
+                measure(binary + command, directory)
+                results = [measure(binary + command, directory) for _ in range(arguments.runs)]
+                first_requests, totals = zip(*results)
+                print(f"{command[0]:<12}{name:<8}{median_millis(first_requests):>16}{median_millis(totals):>12}")
+                rows.append([command[0], name, median_seconds(first_requests), median_seconds(totals)])
+
+    server.shutdown()
+    if arguments.output:
+        append_results(arguments.output, arguments.runs, rows)
+
+
+def median_seconds(values):
+    values = [value for value in values if value is not None]
+    return f"{statistics.median(values):.3f}" if values else ""
+
+
+def append_results(output, runs, rows):
+    commit = subprocess.run(["git", "rev-parse", "--short", "HEAD"], stdout=subprocess.PIPE, stderr=subprocess.DEVNULL).stdout.decode().strip()
+    measured_at = time.strftime("%Y-%m-%dT%H:%M:%S")
+    is_new_file = not os.path.exists(output)
+    with open(output, "a", newline="") as file:
+        writer = csv.writer(file)
+        if is_new_file:
+            writer.writerow(["measured_at", "commit", "runs", "command", "binary", "first_request_seconds", "total_seconds"])
+        for row in rows:
+            writer.writerow([measured_at, commit, runs] + row)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,178 @@
+package io.simplelocalize.cli;
+
+import io.simplelocalize.cli.client.ConcurrencyLimiter;
+import io.simplelocalize.cli.client.HedgingPolicy;
+import io.simplelocalize.cli.client.RateLimiter;
+import io.simplelocalize.cli.client.RetryPolicy;
+import io.simplelocalize.cli.client.SimpleLocalizeClient;
+import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.extraction.ExtractionCache;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.simplelocalize.cli.client.HedgingPolicy.HedgingPolicyBuilder.aHedgingPolicy;
+import static io.simplelocalize.cli.client.RetryPolicy.RetryPolicyBuilder.aRetryPolicy;
+import static io.simplelocalize.cli.client.SimpleLocalizeClient.aSimpleLocalizeClient;
+
+/**
+ * API clients and extraction results which may outlive a session. A CLI invocation uses them once,
+ * the daemon keeps them warm for all commands it runs.
+ */
+public final class CliResources implements AutoCloseable
+{
+  private static final Logger log = LoggerFactory.getLogger(CliResources.class);
+  private static final int SHARED_MAX_REQUESTS_IN_FLIGHT = 32;
+
+  private final boolean shared;
+  private final Map<String, SimpleLocalizeClient> clients = new ConcurrentHashMap<>();
+  private final ExtractionCache extractionCache;
+  private final HttpClient httpClient;
+  private final ExecutorService executor;
+  private final ConcurrencyLimiter sharedConcurrencyLimiter;
+
+  private CliResources(boolean shared, ExtractionCache extractionCache, HttpClient httpClient, ExecutorService executor, ConcurrencyLimiter sharedConcurrencyLimiter)
+  {
+    this.shared = shared;
+    this.extractionCache = extractionCache;
+    this.httpClient = httpClient;
+    this.executor = executor;
+    this.sharedConcurrencyLimiter = sharedConcurrencyLimiter;
+  }
+
+  public static CliResources perInvocation()
+  {
+    return new CliResources(false, ExtractionCache.disabled(), null, null, ConcurrencyLimiter.unlimited());
+  }
+
+  public static CliResources shared()
+  {
+    return new CliResources(true, ExtractionCache.enabled(), null, null, ConcurrencyLimiter.unlimited());
+  }
+
+  /**
+   * Like {@link #shared()}, but clients of all projects send their requests over one connection pool, so
+   * projects with different API keys reuse the connections to the API. The connect timeout is the default one.
+   * All clients together keep at most {@value #SHARED_MAX_REQUESTS_IN_FLIGHT} requests in flight, and the pool
+   * is shut down on {@link #close()}.
+   */
+  public static CliResources sharedConnectionPool()
+  {
+    ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "simplelocalize-shared-client");
+      thread.setDaemon(true);
+      return thread;
+    });
+    HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(new Configuration().getConnectTimeoutSeconds()))
+            .executor(executor)
+            .build();
+    return new CliResources(true, ExtractionCache.enabled(), httpClient, executor, ConcurrencyLimiter.fixed(SHARED_MAX_REQUESTS_IN_FLIGHT));
+  }
+
+  public ConcurrencyLimiter getSharedConcurrencyLimiter()
+  {
+    return sharedConcurrencyLimiter;
+  }
+
+  public ExtractionCache getExtractionCache()
+  {
+    return extractionCache;
+  }
+
+  /**
+   * Shared clients are reused by every session with the same API key and client settings, together with their
+   * open connections, rate limit and learned concurrency limit.
+   */
+  public SimpleLocalizeClient getClient(Configuration configuration)
+  {
+    if (!shared)
+    {
+      return createClient(configuration);
+    }
+    return clients.computeIfAbsent(clientKey(configuration), key -> createClient(configuration));
+  }
+
+  private static String clientKey(Configuration configuration)
+  {
+    return String.join("|", List.of(
+            StringUtils.defaultString(configuration.getApiKey()),
+            StringUtils.defaultString(configuration.getBaseUrl()),
+            String.valueOf(configuration.getRetryMaxAttempts()),
+            String.valueOf(configuration.getRetryMaxBackoffSeconds()),
+            String.valueOf(configuration.getRateLimitPerSecond()),
+            String.valueOf(configuration.getRateLimitBurst()),
+            String.valueOf(configuration.getAdaptiveConcurrency()),
+            String.valueOf(configuration.getAdaptiveConcurrencyMax()),
+            String.valueOf(configuration.getUploadConcurrency()),
+            String.valueOf(configuration.getDownloadConcurrency()),
+            String.valueOf(configuration.getConnectTimeoutSeconds()),
+            String.valueOf(configuration.getRequestTimeoutSeconds()),
+            String.valueOf(configuration.getHedgeLatencyPercentile()),
+            String.valueOf(configuration.getHedgeBudgetPercent())));
+  }
+
+  /**
+   * The connection to the API is opened in the background while the command looks for files.
+   */
+  private SimpleLocalizeClient createClient(Configuration configuration)
+  {
+    RetryPolicy retryPolicy = aRetryPolicy()
+            .withMaxAttempts(configuration.getRetryMaxAttempts())
+            .withMaxBackoff(Duration.ofSeconds(configuration.getRetryMaxBackoffSeconds()))
+            .build();
+    HedgingPolicy hedgingPolicy = aHedgingPolicy()
+            .withLatencyPercentile(configuration.getHedgeLatencyPercentile())
+            .withBudgetRatio(configuration.getHedgeBudgetPercent() / 100)
+            .build();
+    Duration requestTimeout = configuration.getRequestTimeoutSeconds() > 0 ? Duration.ofSeconds(configuration.getRequestTimeoutSeconds()) : null;
+    SimpleLocalizeClient.SimpleLocalizeClientBuilder clientBuilder = aSimpleLocalizeClient();
+    if (StringUtils.isNotEmpty(configuration.getBaseUrl()))
+    {
+      clientBuilder.withBaseUrl(configuration.getBaseUrl());
+    }
+    SimpleLocalizeClient client = clientBuilder
+            .withApiKey(configuration.getApiKey())
+            .withRetryPolicy(retryPolicy)
+            .withRateLimiter(RateLimiter.of(configuration.getRateLimitPerSecond(), configuration.getRateLimitBurst()))
+            .withConcurrencyLimiter(createConcurrencyLimiter(configuration))
+            .withSharedConcurrencyLimiter(sharedConcurrencyLimiter)
+            .withHedgingPolicy(hedgingPolicy)
+            .withConnectTimeout(Duration.ofSeconds(Math.max(1, configuration.getConnectTimeoutSeconds())))
+            .withRequestTimeout(requestTimeout)
+            .withHttpClient(httpClient)
+            .withExecutor(executor)
+            .build();
+    client.warmUp().thenAccept(warmUpTime -> log.debug("Connection to the API opened in {} ms", warmUpTime.toMillis()));
+    return client;
+  }
+
+  @Override
+  public void close()
+  {
+    if (executor != null)
+    {
+      // tasks already submitted still run, the threads end afterwards
+      executor.shutdown();
+    }
+  }
+
+  private static ConcurrencyLimiter createConcurrencyLimiter(Configuration configuration)
+  {
+    if (!configuration.getAdaptiveConcurrency())
+    {
+      return ConcurrencyLimiter.unlimited();
+    }
+    // one limiter serves all phases of the session
+    int initialConcurrency = Math.max(configuration.getUploadConcurrency(), configuration.getDownloadConcurrency());
+    return ConcurrencyLimiter.adaptive(initialConcurrency, configuration.getAdaptiveConcurrencyMax());
+  }
+}
@@ -0,0 +1,114 @@
+package io.simplelocalize.cli;
+
+import io.simplelocalize.cli.client.ClientMetrics;
+import io.simplelocalize.cli.client.ConcurrencyLimiter;
+import io.simplelocalize.cli.client.SimpleLocalizeClient;
+import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.configuration.ConfigurationLoader;
+import io.simplelocalize.cli.extraction.ExtractionCache;
+import io.simplelocalize.cli.extraction.files.DirectoryWalks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * State shared by all commands of one CLI invocation. The configuration is loaded once and every command uses
+ * the same client, so 'sync' downloads over the connections which were opened for the upload.
+ */
+public final class CliSession
+{
+  private static final Logger log = LoggerFactory.getLogger(CliSession.class);
+
+  private final Configuration configuration;
+  private final CliResources resources;
+  private final DirectoryWalks directoryWalks;
+  private SimpleLocalizeClient client;
+
+  public CliSession(Configuration configuration)
+  {
+    this(configuration, CliResources.perInvocation());
+  }
+
+  public CliSession(Configuration configuration, CliResources resources)
+  {
+    this(configuration, resources, DirectoryWalks.none());
+  }
+
+  /**
+   * Sessions of the projects of one configuration file share the directory walks of overlapping search directories.
+   */
+  public CliSession(Configuration configuration, CliResources resources, DirectoryWalks directoryWalks)
+  {
+    this.configuration = configuration;
+    this.resources = resources;
+    this.directoryWalks = directoryWalks;
+  }
+
+  public static CliSession load(Path configurationFilePath)
+  {
+    ConfigurationLoader configurationLoader = new ConfigurationLoader();
+    return new CliSession(configurationLoader.loadOrGetDefault(configurationFilePath));
+  }
+
+  public Configuration getConfiguration()
+  {
+    return configuration;
+  }
+
+  public ExtractionCache getExtractionCache()
+  {
+    return resources.getExtractionCache();
+  }
+
+  public DirectoryWalks getDirectoryWalks()
+  {
+    return directoryWalks;
+  }
+
+  /**
+   * Taken on first use, so options given on the command line are applied to the configuration before.
+   */
+  public synchronized SimpleLocalizeClient getClient()
+  {
+    if (client == null)
+    {
+      client = resources.getClient(configuration);
+    }
+    return client;
+  }
+
+  public synchronized void logClientMetrics()
+  {
+    if (client == null)
+    {
+      return;
+    }
+
+    ClientMetrics metrics = client.getMetrics();
+    if (metrics.getRetries() > 0)
+    {
+      log.info(" 🔁 Retried {} of {} requests, {} requests failed after all retries", metrics.getRetries(), metrics.getRequests(), metrics.getExhaustedRetries());
+    }
+    if (metrics.getRateLimitedRequests() > 0)
+    {
+      log.info(" 🚦 Rate limit delayed {} requests by {} ms in total", metrics.getRateLimitedRequests(), metrics.getRateLimitWait().toMillis());
+    }
+    if (metrics.getHedgedRequests() > 0)
+    {
+      log.info(" 🏁 Hedged {} slow requests, {} hedges answered first", metrics.getHedgedRequests(), metrics.getHedgeWins());
+    }
+    ConcurrencyLimiter concurrencyLimiter = client.getConcurrencyLimiter();
+    if (!concurrencyLimiter.isUnlimited())
+    {
+      log.info(" 📶 Concurrency limit ended at {} of max {}", concurrencyLimiter.getLimit(), concurrencyLimiter.getMaxLimit());
+    }
+    if (metrics.getRequests() > 0)
+    {
+      log.info(" ⏱️ Request latency p50 {} ms, p90 {} ms, p99 {} ms",
+              metrics.getLatencyPercentile(50).toMillis(),
+              metrics.getLatencyPercentile(90).toMillis(),
+              metrics.getLatencyPercentile(99).toMillis());
+    }
+  }
+}
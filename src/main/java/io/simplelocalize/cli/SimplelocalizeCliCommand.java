@@ -1,22 +1,41 @@
 package io.simplelocalize.cli;
 
-import io.micronaut.configuration.picocli.PicocliRunner;
-import io.simplelocalize.cli.client.SimpleLocalizeClient;
+import io.simplelocalize.cli.batch.BatchFile;
+import io.simplelocalize.cli.batch.BatchFileLoader;
+import io.simplelocalize.cli.batch.BatchReport;
+import io.simplelocalize.cli.batch.BatchRunner;
 import io.simplelocalize.cli.command.DownloadCommand;
 import io.simplelocalize.cli.command.ExtractCommand;
 import io.simplelocalize.cli.command.UploadCommand;
 import io.simplelocalize.cli.configuration.Configuration;
 import io.simplelocalize.cli.configuration.ConfigurationLoader;
 import io.simplelocalize.cli.configuration.ConfigurationValidator;
+import io.simplelocalize.cli.daemon.DaemonClient;
+import io.simplelocalize.cli.daemon.DaemonFile;
+import io.simplelocalize.cli.daemon.DaemonServer;
+import io.simplelocalize.cli.exception.ApiRequestException;
+import io.simplelocalize.cli.exception.CommandException;
+import io.simplelocalize.cli.exception.ConfigurationException;
+import io.simplelocalize.cli.exception.DownloadException;
+import io.simplelocalize.cli.extraction.files.DirectoryWalks;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
 
-import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 
 @Command(
@@ -38,46 +57,85 @@ public class SimplelocalizeCliCommand implements Runnable
 
   private static final Logger log = LoggerFactory.getLogger(SimplelocalizeCliCommand.class);
 
+  private static final String DAEMON_COMMAND = "daemon";
+  private static final Path DEFAULT_CONFIGURATION_FILE_PATH = Path.of("simplelocalize.yml");
+
   @Option(names = {"-c", "--config"}, description = "Configuration file (default: ./simplelocalize.yml)")
   Path configurationFilePath;
 
+  @Option(names = {"-p", "--project"}, description = "(Optional) Name of the project to run when the configuration file defines more than one")
+  String projectName;
+
+  private CliResources resources = CliResources.perInvocation();
+  private Path workingDirectory;
+  private Map<String, String> environment = System.getenv();
+
   public static void main(String[] args)
   {
-    PicocliRunner.run(SimplelocalizeCliCommand.class, args);
+    boolean isDaemonCommand = Arrays.asList(args).contains(DAEMON_COMMAND);
+    if (DaemonClient.isEnabled() && !isDaemonCommand)
+    {
+      DaemonClient daemonClient = new DaemonClient(DaemonFile.userDefault());
+      Optional<Integer> daemonExitCode = daemonClient.run(List.of(args), Path.of("").toAbsolutePath(), System.getenv(), System.out, System.err);
+      if (daemonExitCode.isPresent())
+      {
+        System.exit(daemonExitCode.get());
+      }
+    }
+
+    // commands create what they need themselves, starting an application context would only delay them
+    int exitCode = new CommandLine(new SimplelocalizeCliCommand()).execute(args);
+    System.exit(exitCode);
+  }
+
+  /**
+   * Relative paths are resolved against the given directory instead of the one the process was started in,
+   * which is the client's directory for daemon requests and the config file's directory for batch operations.
+   * Environment variables in configuration files are resolved from the given environment, the client's one for
+   * daemon requests.
+   */
+  public static SimplelocalizeCliCommand forWorkingDirectory(CliResources resources, Path workingDirectory, Map<String, String> environment)
+  {
+    SimplelocalizeCliCommand command = new SimplelocalizeCliCommand();
+    command.resources = resources;
+    command.workingDirectory = workingDirectory;
+    command.environment = environment;
+    return command;
   }
 
   @Command(
           name = "extract",
           description = "Extract translation keys from project files. Use 'simplelocalize-cli extract --help' to learn more about the parameters.")
-  public void extract(
+  public int extract(
           @Option(names = {"--apiKey"}, description = "Project API Key") String apiKey,
           @Option(names = {"--projectType"}, description = "Project type tells CLI how to find i18n keys in your project files") String projectType,
           @Option(names = {"--searchDir"}, description = "(Optional) Search directory tells CLI where to look for project files which may contain translation keys. Default: ./") String searchDirectory
   )
   {
-    ConfigurationLoader configurationLoader = new ConfigurationLoader();
-    Configuration configuration = configurationLoader.loadOrGetDefault(configurationFilePath);
-    if (StringUtils.isNotEmpty(apiKey))
-    {
-      configuration.setApiKey(apiKey);
-    }
-    if (StringUtils.isNotEmpty(projectType))
-    {
-      configuration.setProjectType(projectType);
-    }
-    if (StringUtils.isNotEmpty(searchDirectory))
-    {
-      configuration.setSearchDir(searchDirectory);
-    }
-    SimpleLocalizeClient client = SimpleLocalizeClient.withProductionServer(configuration.getApiKey());
-    ExtractCommand extractCommand = new ExtractCommand(client, configuration);
-    extractCommand.invoke();
+    return execute("extract", hasOptions(apiKey, projectType, searchDirectory), session -> {
+      Configuration configuration = session.getConfiguration();
+      if (StringUtils.isNotEmpty(apiKey))
+      {
+        configuration.setApiKey(apiKey);
+      }
+      if (StringUtils.isNotEmpty(projectType))
+      {
+        configuration.setProjectType(projectType);
+      }
+      if (StringUtils.isNotEmpty(searchDirectory))
+      {
+        configuration.setSearchDir(searchDirectory);
+      }
+      resolvePaths(configuration);
+      ExtractCommand extractCommand = new ExtractCommand(session.getClient(), configuration, session.getExtractionCache(), session.getDirectoryWalks());
+      extractCommand.invoke();
+    });
   }
 
   @Command(
           name = "sync",
           description = "Synchronize (Upload & Download) translations with SimpleLocalize editor. Use 'simplelocalize-cli sync --help' to learn more about the parameters.")
-  public void sync(
+  public int sync(
           @Option(names = {"--apiKey"}, description = "Project API Key") String apiKey,
           @Option(names = {"--uploadPath"}, description = "Path to file with translation or translation keys to upload. Use '{lang}' to define language key if you are uploading more than one file with translations.") String uploadPath,
           @Option(names = {"--uploadFormat"}, description = "Translations or keys format") String uploadFormat,
@@ -86,26 +144,283 @@ public class SimplelocalizeCliCommand implements Runnable
           @Option(names = {"--downloadFormat"}, description = "Download format for translation file") String downloadFormat,
           @Option(names = {"--downloadOptions"}, split = ",", description = "(Optional) Download options") List<String> downloadOptions,
           @Option(names = {"--languageKey"}, description = "(Optional) Specify language key for single file upload") String languageKey
-  ) throws IOException
+  )
   {
-    upload(apiKey, uploadPath, uploadFormat, uploadOptions, languageKey);
-    download(apiKey, downloadPath, downloadFormat, downloadOptions, languageKey);
+    return execute("sync", hasOptions(apiKey, uploadPath, uploadFormat, uploadOptions, downloadPath, downloadFormat, downloadOptions, languageKey), session -> {
+      applyUploadOptions(session.getConfiguration(), apiKey, uploadPath, uploadFormat, uploadOptions, languageKey);
+      applyDownloadOptions(session.getConfiguration(), apiKey, downloadPath, downloadFormat, downloadOptions, languageKey);
+      upload(session);
+      download(session);
+    });
   }
 
   @Command(
           name = "upload",
           description = "Upload translations or translation keys to SimpleLocalize editor. Use 'simplelocalize-cli upload --help' to learn more about the parameters.")
-  public void upload(
+  public int upload(
           @Option(names = {"--apiKey"}, description = "Project API Key") String apiKey,
           @Option(names = {"--uploadPath"}, description = "Path to file with translation or translation keys to upload. Use '{lang}' to define language key if you are uploading more than one file with translations.") String uploadPath,
           @Option(names = {"--uploadFormat"}, description = "Translations or keys format") String uploadFormat,
           @Option(names = {"--uploadOptions"}, split = ",", description = "(Optional) Read more about 'uploadOptions' param at docs.simplelocalize.io") List<String> uploadOptions,
           @Option(names = {"--languageKey"}, description = "(Optional) Specify language key for single file upload") String languageKey
-  ) throws IOException
+  )
+  {
+    return execute("upload", hasOptions(apiKey, uploadPath, uploadFormat, uploadOptions, languageKey), session -> {
+      applyUploadOptions(session.getConfiguration(), apiKey, uploadPath, uploadFormat, uploadOptions, languageKey);
+      upload(session);
+    });
+  }
+
+  @Command(
+          name = "download",
+          description = "Download translations in ready to use format for your i18n library. Use 'simplelocalize-cli download --help' to learn more about the parameters.")
+  public int download(
+          @Option(names = {"--apiKey"}, description = "Project API Key") String apiKey,
+          @Option(names = {"--downloadPath"}, description = "Directory where translations should be downloaded") String downloadPath,
+          @Option(names = {"--downloadFormat"}, description = "Download format for translation file") String downloadFormat,
+          @Option(names = {"--downloadOptions"}, split = ",", description = "(Optional) Download options") List<String> downloadOptions,
+          @Option(names = {"--languageKey"}, description = "(Optional) Setup languageKey parameter to download file with only one language translations") String languageKey
+  )
+  {
+    return execute("download", hasOptions(apiKey, downloadPath, downloadFormat, downloadOptions, languageKey), session -> {
+      applyDownloadOptions(session.getConfiguration(), apiKey, downloadPath, downloadFormat, downloadOptions, languageKey);
+      download(session);
+    });
+  }
+
+  @Command(
+          name = "batch",
+          description = "Run extract, upload, download and sync of many projects in one process. Use 'simplelocalize-cli batch --help' to learn more about the parameters.")
+  public int batch(
+          @Parameters(paramLabel = "<file>", description = "Batch file with the configuration files of the projects and the commands to run for them") Path batchFilePath,
+          @Option(names = {"--concurrency"}, description = "(Optional) Number of projects processed at the same time. Default: 'concurrency' of the batch file or 4") Integer concurrency
+  )
+  {
+    Path resolvedBatchFilePath = workingDirectory == null ? batchFilePath : workingDirectory.resolve(batchFilePath);
+    BatchFile batchFile;
+    try
+    {
+      batchFile = new BatchFileLoader(environment).load(resolvedBatchFilePath);
+    } catch (ConfigurationException e)
+    {
+      return 1;
+    }
+
+    // a daemon already shares its resources between all commands
+    CliResources batchResources = workingDirectory == null ? CliResources.sharedConnectionPool() : resources;
+    try
+    {
+      BatchRunner batchRunner = new BatchRunner(
+              Optional.ofNullable(concurrency).orElse(batchFile.getConcurrency()),
+              (operationDirectory, configurationFile, command) -> new CommandLine(forWorkingDirectory(batchResources, operationDirectory, environment))
+                      .execute("--config", configurationFile.toString(), command));
+      BatchReport batchReport = batchRunner.run(batchFile.getOperations(), resolvedBatchFilePath.toAbsolutePath().getParent());
+      batchReport.log();
+      return batchReport.hasFailures() ? 1 : 0;
+    } finally
+    {
+      closeUnlessGiven(batchResources);
+    }
+  }
+
+  @Command(
+          name = DAEMON_COMMAND,
+          description = "Run commands in a long-running process which keeps connections and extraction results warm. Set SIMPLELOCALIZE_DAEMON=true to send commands to it.")
+  public int daemon(
+          @Option(names = {"--idleTimeout"}, defaultValue = "1800", description = "(Optional) Seconds without commands after which the daemon stops. Default: 1800") long idleTimeoutSeconds,
+          @Option(names = {"--stop"}, description = "(Optional) Stop the running daemon") boolean stop
+  )
   {
-    ConfigurationLoader configurationLoader = new ConfigurationLoader();
-    Configuration configuration = configurationLoader.loadOrGetDefault(configurationFilePath);
+    if (workingDirectory != null)
+    {
+      log.error(" 😝 Daemon cannot be started by a command sent to a daemon");
+      return 1;
+    }
 
+    DaemonFile daemonFile = DaemonFile.userDefault();
+    DaemonClient daemonClient = new DaemonClient(daemonFile);
+    if (stop)
+    {
+      boolean isStopped = daemonClient.stop();
+      log.info(isStopped ? " 👋 Daemon stopped" : " 🤷 No daemon is running");
+      return 0;
+    }
+    if (daemonClient.ping())
+    {
+      log.info(" 👌 Daemon is already running, see {}", daemonFile.getPath());
+      return 0;
+    }
+    DaemonServer daemonServer = new DaemonServer(daemonFile, Duration.ofSeconds(idleTimeoutSeconds), CliResources.shared());
+    return daemonServer.run();
+  }
+
+  private void upload(CliSession session)
+  {
+    Configuration configuration = session.getConfiguration();
+    resolvePaths(configuration);
+    ConfigurationValidator configurationValidator = new ConfigurationValidator();
+    configurationValidator.validateUploadConfiguration(configuration);
+    UploadCommand uploadCommand = new UploadCommand(session.getClient(), configuration);
+    uploadCommand.invoke();
+  }
+
+  private void download(CliSession session)
+  {
+    Configuration configuration = session.getConfiguration();
+    resolvePaths(configuration);
+    ConfigurationValidator configurationValidator = new ConfigurationValidator();
+    configurationValidator.validateDownloadConfiguration(configuration);
+    DownloadCommand downloadCommand = new DownloadCommand(session.getClient(), configuration);
+    downloadCommand.invoke();
+  }
+
+  /**
+   * Runs the command for every project of the configuration file and turns failures into the exit code of the
+   * process. Commands never exit the JVM themselves, so they can run embedded in another process.
+   * Options of the command override the configuration of a project, so they are refused when more than one
+   * project would run.
+   */
+  private int execute(String commandName, boolean hasProjectOptions, Consumer<CliSession> command)
+  {
+    List<Configuration> projects;
+    try
+    {
+      ConfigurationLoader configurationLoader = new ConfigurationLoader(environment);
+      projects = configurationLoader.loadProjectsOrGetDefault(resolveConfigurationFilePath());
+    } catch (ConfigurationException e)
+    {
+      // already logged where it happened
+      return 1;
+    }
+
+    if (StringUtils.isNotEmpty(projectName))
+    {
+      projects = projects.stream()
+              .filter(project -> projectName.equals(project.getName()))
+              .collect(Collectors.toList());
+      if (projects.isEmpty())
+      {
+        log.error(" 😝 Project '{}' not found in the configuration file", projectName);
+        return 1;
+      }
+    }
+    if (projects.size() > 1 && hasProjectOptions)
+    {
+      log.error(" 😝 Command options would apply to every project of the configuration file, select one with '--project <name>'");
+      return 1;
+    }
+
+    if (projects.size() == 1)
+    {
+      return execute(command, new CliSession(projects.get(0), resources));
+    }
+    return executeProjects(commandName, projects, command);
+  }
+
+  /**
+   * Projects run in parallel over one connection pool, and projects with overlapping search directories share
+   * one directory walk.
+   */
+  private int executeProjects(String commandName, List<Configuration> projects, Consumer<CliSession> command)
+  {
+    projects.forEach(this::resolvePaths);
+    List<Path> searchDirectories = projects.stream()
+            .map(Configuration::getSearchDir)
+            .filter(StringUtils::isNotEmpty)
+            .map(Path::of)
+            .collect(Collectors.toList());
+    DirectoryWalks directoryWalks = DirectoryWalks.sharedBetween(searchDirectories);
+    // a daemon already shares its resources between all commands
+    CliResources projectResources = workingDirectory == null ? CliResources.sharedConnectionPool() : resources;
+
+    try
+    {
+      List<Supplier<BatchReport.OperationResult>> projectRunners = new ArrayList<>();
+      for (int i = 0; i < projects.size(); i++)
+      {
+        Configuration project = projects.get(i);
+        String projectName = StringUtils.defaultIfEmpty(project.getName(), "project " + (i + 1));
+        projectRunners.add(() -> {
+          long startNanos = System.nanoTime();
+          int exitCode = execute(command, new CliSession(project, projectResources, directoryWalks));
+          Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+          return new BatchReport.OperationResult(projectName, List.of(BatchReport.CommandResult.finished(commandName, exitCode, duration)));
+        });
+      }
+      BatchReport report = BatchRunner.runConcurrently(projects.get(0).getProjectConcurrency(), projectRunners);
+      report.log();
+      return report.hasFailures() ? 1 : 0;
+    } finally
+    {
+      closeUnlessGiven(projectResources);
+    }
+  }
+
+  // resources of a daemon outlive the command
+  private void closeUnlessGiven(CliResources createdResources)
+  {
+    if (createdResources != resources)
+    {
+      createdResources.close();
+    }
+  }
+
+  private int execute(Consumer<CliSession> command, CliSession session)
+  {
+    try
+    {
+      command.accept(session);
+      return 0;
+    } catch (ConfigurationException | ApiRequestException | DownloadException e)
+    {
+      // already logged where it happened
+      return 1;
+    } catch (CommandException e)
+    {
+      log.error(" 😝 {}", e.getMessage(), e.getCause());
+      return 1;
+    } finally
+    {
+      session.logClientMetrics();
+    }
+  }
+
+  private static boolean hasOptions(Object... options)
+  {
+    return Arrays.stream(options).anyMatch(option -> option != null && !"".equals(option));
+  }
+
+  private Path resolveConfigurationFilePath()
+  {
+    if (workingDirectory == null)
+    {
+      return configurationFilePath;
+    }
+    return workingDirectory.resolve(Optional.ofNullable(configurationFilePath).orElse(DEFAULT_CONFIGURATION_FILE_PATH));
+  }
+
+  private void resolvePaths(Configuration configuration)
+  {
+    if (workingDirectory == null)
+    {
+      return;
+    }
+    resolvePath(configuration.getSearchDir(), configuration::setSearchDir);
+    resolvePath(configuration.getUploadPath(), configuration::setUploadPath);
+    resolvePath(configuration.getDownloadPath(), configuration::setDownloadPath);
+    resolvePath(configuration.getDownloadManifestPath(), configuration::setDownloadManifestPath);
+  }
+
+  private void resolvePath(String path, Consumer<String> setter)
+  {
+    if (StringUtils.isNotEmpty(path))
+    {
+      setter.accept(workingDirectory.resolve(path).normalize().toString().replace('\\', '/'));
+    }
+  }
+
+  private void applyUploadOptions(Configuration configuration, String apiKey, String uploadPath, String uploadFormat, List<String> uploadOptions, String languageKey)
+  {
     if (StringUtils.isNotEmpty(apiKey))
     {
       configuration.setApiKey(apiKey);
@@ -130,27 +445,10 @@ public class SimplelocalizeCliCommand implements Runnable
     {
       configuration.setUploadOptions(uploadOptions);
     }
-
-    ConfigurationValidator configurationValidator = new ConfigurationValidator();
-    configurationValidator.validateUploadConfiguration(configuration);
-    UploadCommand uploadCommand = new UploadCommand(configuration);
-    uploadCommand.invoke();
   }
 
-  @Command(
-          name = "download",
-          description = "Download translations in ready to use format for your i18n library. Use 'simplelocalize-cli download --help' to learn more about the parameters.")
-  public void download(
-          @Option(names = {"--apiKey"}, description = "Project API Key") String apiKey,
-          @Option(names = {"--downloadPath"}, description = "Directory where translations should be downloaded") String downloadPath,
-          @Option(names = {"--downloadFormat"}, description = "Download format for translation file") String downloadFormat,
-          @Option(names = {"--downloadOptions"}, split = ",", description = "(Optional) Download options") List<String> downloadOptions,
-          @Option(names = {"--languageKey"}, description = "(Optional) Setup languageKey parameter to download file with only one language translations") String languageKey
-  )
+  private void applyDownloadOptions(Configuration configuration, String apiKey, String downloadPath, String downloadFormat, List<String> downloadOptions, String languageKey)
   {
-    ConfigurationLoader configurationLoader = new ConfigurationLoader();
-    Configuration configuration = configurationLoader.loadOrGetDefault(configurationFilePath);
-
     if (StringUtils.isNotEmpty(apiKey))
     {
       configuration.setApiKey(apiKey);
@@ -172,14 +470,8 @@ public class SimplelocalizeCliCommand implements Runnable
       configuration.setDownloadOptions(downloadOptions);
     }
 
-    downloadOptions = configuration.getDownloadOptions();
-    configuration.setRemoveEmptyKeys(downloadOptions.remove("REMOVE_EMPTY"));
-
-    ConfigurationValidator configurationValidator = new ConfigurationValidator();
-    configurationValidator.validateDownloadConfiguration(configuration);
-    SimpleLocalizeClient client = SimpleLocalizeClient.withProductionServer(configuration.getApiKey());
-    DownloadCommand downloadCommand = new DownloadCommand(client, configuration);
-    downloadCommand.invoke();
+    List<String> configuredDownloadOptions = configuration.getDownloadOptions();
+    configuration.setRemoveEmptyKeys(configuredDownloadOptions.remove("REMOVE_EMPTY"));
   }
 
   public void run()
@@ -0,0 +1,72 @@
+package io.simplelocalize.cli.batch;
+
+import io.micronaut.core.annotation.Introspected;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Introspected
+public class BatchFile
+{
+
+  private int concurrency = 4;
+  private List<Operation> operations = new ArrayList<>();
+
+  public int getConcurrency()
+  {
+    return concurrency;
+  }
+
+  public void setConcurrency(int concurrency)
+  {
+    this.concurrency = concurrency;
+  }
+
+  public List<Operation> getOperations()
+  {
+    return operations;
+  }
+
+  public void setOperations(List<Operation> operations)
+  {
+    this.operations = operations;
+  }
+
+  @Introspected
+  public static class Operation
+  {
+    private String name;
+    private String config;
+    private List<String> commands = new ArrayList<>();
+
+    public String getName()
+    {
+      return name;
+    }
+
+    public void setName(String name)
+    {
+      this.name = name;
+    }
+
+    public String getConfig()
+    {
+      return config;
+    }
+
+    public void setConfig(String config)
+    {
+      this.config = config;
+    }
+
+    public List<String> getCommands()
+    {
+      return commands;
+    }
+
+    public void setCommands(List<String> commands)
+    {
+      this.commands = commands;
+    }
+  }
+}
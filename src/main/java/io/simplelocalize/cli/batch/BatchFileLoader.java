@@ -0,0 +1,96 @@
+package io.simplelocalize.cli.batch;
+
+import io.simplelocalize.cli.exception.ConfigurationException;
+import io.simplelocalize.cli.util.YamlConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.env.EnvScalarConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static org.yaml.snakeyaml.env.EnvScalarConstructor.ENV_FORMAT;
+
+public final class BatchFileLoader
+{
+  public static final Set<String> SUPPORTED_COMMANDS = Set.of("extract", "upload", "download", "sync");
+
+  private static final Logger log = LoggerFactory.getLogger(BatchFileLoader.class);
+
+  private final Map<String, String> environment;
+
+  public BatchFileLoader()
+  {
+    this(System.getenv());
+  }
+
+  public BatchFileLoader(Map<String, String> environment)
+  {
+    this.environment = environment;
+  }
+
+  public BatchFile load(Path batchFilePath)
+  {
+    Yaml yaml = new Yaml(new YamlConstructor(BatchFile.class, environment));
+    yaml.addImplicitResolver(EnvScalarConstructor.ENV_TAG, ENV_FORMAT, "$");
+
+    BatchFile batchFile;
+    try (InputStream inputStream = Files.newInputStream(batchFilePath))
+    {
+      batchFile = yaml.load(inputStream);
+    } catch (IOException e)
+    {
+      log.error(" 😝 Unable to read batch file: {}", batchFilePath);
+      throw new ConfigurationException();
+    } catch (Exception e)
+    {
+      log.error(" 😝 Unable to load batch file: {}", e.getMessage());
+      throw new ConfigurationException();
+    }
+
+    validate(batchFile, batchFilePath.toAbsolutePath().getParent());
+    log.info(" 🗄  Loaded {} batch operations from: {}", batchFile.getOperations().size(), batchFilePath);
+    return batchFile;
+  }
+
+  private void validate(BatchFile batchFile, Path batchDirectory)
+  {
+    if (batchFile == null || batchFile.getOperations().isEmpty())
+    {
+      log.error("Missing 'operations' value");
+      throw new ConfigurationException();
+    }
+    for (BatchFile.Operation operation : batchFile.getOperations())
+    {
+      if (StringUtils.isEmpty(operation.getConfig()))
+      {
+        log.error("Missing 'config' value of a batch operation");
+        throw new ConfigurationException();
+      }
+      if (Files.notExists(batchDirectory.resolve(operation.getConfig())))
+      {
+        log.error("Configuration file '{}' of a batch operation does not exist", operation.getConfig());
+        throw new ConfigurationException();
+      }
+      if (operation.getCommands().isEmpty())
+      {
+        log.error("Missing 'commands' value of batch operation '{}'", operation.getConfig());
+        throw new ConfigurationException();
+      }
+      for (String command : operation.getCommands())
+      {
+        if (!SUPPORTED_COMMANDS.contains(command))
+        {
+          log.error("Unknown command '{}' in batch operation '{}', use one of: {}", command, operation.getConfig(), SUPPORTED_COMMANDS);
+          throw new ConfigurationException();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package io.simplelocalize.cli.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of every command of a batch or of the projects of a configuration file, logged once all of them finished.
+ */
+public final class BatchReport
+{
+  private static final Logger log = LoggerFactory.getLogger(BatchReport.class);
+
+  private final List<OperationResult> operationResults;
+  private final Duration duration;
+
+  public BatchReport(List<OperationResult> operationResults, Duration duration)
+  {
+    this.operationResults = List.copyOf(operationResults);
+    this.duration = duration;
+  }
+
+  public List<OperationResult> getOperationResults()
+  {
+    return operationResults;
+  }
+
+  public boolean hasFailures()
+  {
+    return operationResults.stream().anyMatch(OperationResult::isFailed);
+  }
+
+  public void log()
+  {
+    log.info(" 📋 Report");
+    for (OperationResult operationResult : operationResults)
+    {
+      String commands = operationResult.getCommandResults().stream()
+              .map(CommandResult::toString)
+              .collect(Collectors.joining(", "));
+      log.info(" {} {}: {}", operationResult.isFailed() ? "😝" : "✅", operationResult.getName(), commands);
+    }
+    long failedOperations = operationResults.stream().filter(OperationResult::isFailed).count();
+    log.info(" 🏁 Finished {} operations in {}, {} failed", operationResults.size(), formatDuration(duration), failedOperations);
+  }
+
+  private static String formatDuration(Duration duration)
+  {
+    return String.format("%.1f s", duration.toMillis() / 1000.0);
+  }
+
+  public static final class OperationResult
+  {
+    private final String name;
+    private final List<CommandResult> commandResults;
+
+    public OperationResult(String name, List<CommandResult> commandResults)
+    {
+      this.name = name;
+      this.commandResults = List.copyOf(commandResults);
+    }
+
+    public String getName()
+    {
+      return name;
+    }
+
+    public List<CommandResult> getCommandResults()
+    {
+      return commandResults;
+    }
+
+    public boolean isFailed()
+    {
+      return commandResults.stream().anyMatch(CommandResult::isFailed);
+    }
+  }
+
+  public static final class CommandResult
+  {
+    private final String command;
+    private final Integer exitCode;
+    private final Duration duration;
+
+    private CommandResult(String command, Integer exitCode, Duration duration)
+    {
+      this.command = command;
+      this.exitCode = exitCode;
+      this.duration = duration;
+    }
+
+    public static CommandResult finished(String command, int exitCode, Duration duration)
+    {
+      return new CommandResult(command, exitCode, duration);
+    }
+
+    public static CommandResult skipped(String command)
+    {
+      return new CommandResult(command, null, Duration.ZERO);
+    }
+
+    public String getCommand()
+    {
+      return command;
+    }
+
+    public boolean isSkipped()
+    {
+      return exitCode == null;
+    }
+
+    public boolean isFailed()
+    {
+      return exitCode != null && exitCode != 0;
+    }
+
+    public Duration getDuration()
+    {
+      return duration;
+    }
+
+    @Override
+    public String toString()
+    {
+      if (isSkipped())
+      {
+        return command + " skipped";
+      }
+      return command + (isFailed() ? " failed after " : " ") + formatDuration(duration);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package io.simplelocalize.cli.batch;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the operations of a batch file in one process. Operations run concurrently, up to the concurrency limit,
+ * while the commands of one operation run in order and stop at the first failed command.
+ */
+public final class BatchRunner
+{
+  private static final Logger log = LoggerFactory.getLogger(BatchRunner.class);
+
+  private final int concurrency;
+  private final CommandRunner commandRunner;
+
+  public BatchRunner(int concurrency, CommandRunner commandRunner)
+  {
+    this.concurrency = Math.max(1, concurrency);
+    this.commandRunner = commandRunner;
+  }
+
+  /**
+   * Config paths of the operations are resolved against the batch directory, paths in a config file against
+   * the directory of that file.
+   */
+  public BatchReport run(List<BatchFile.Operation> operations, Path batchDirectory)
+  {
+    List<Supplier<BatchReport.OperationResult>> operationRunners = operations.stream()
+            .<Supplier<BatchReport.OperationResult>>map(operation -> () -> runOperation(operation, batchDirectory))
+            .collect(Collectors.toList());
+    return runConcurrently(concurrency, operationRunners);
+  }
+
+  /**
+   * Runs the operations on at most the given number of threads and reports their results in the given order.
+   */
+  public static BatchReport runConcurrently(int concurrency, List<Supplier<BatchReport.OperationResult>> operations)
+  {
+    long startNanos = System.nanoTime();
+    AtomicInteger threadNumber = new AtomicInteger();
+    int threads = Math.max(1, Math.min(concurrency, operations.size()));
+    ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "simplelocalize-batch-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try
+    {
+      List<CompletableFuture<BatchReport.OperationResult>> operationResults = operations.stream()
+              .map(operation -> CompletableFuture.supplyAsync(operation, executor))
+              .collect(Collectors.toList());
+      List<BatchReport.OperationResult> results = operationResults.stream()
+              .map(CompletableFuture::join)
+              .collect(Collectors.toList());
+      return new BatchReport(results, Duration.ofNanos(System.nanoTime() - startNanos));
+    } finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  private BatchReport.OperationResult runOperation(BatchFile.Operation operation, Path batchDirectory)
+  {
+    Path configurationFilePath = batchDirectory.resolve(operation.getConfig()).toAbsolutePath().normalize();
+    Path workingDirectory = configurationFilePath.getParent();
+    String name = StringUtils.defaultIfEmpty(operation.getName(), operation.getConfig());
+
+    List<BatchReport.CommandResult> commandResults = new ArrayList<>();
+    for (String command : operation.getCommands())
+    {
+      boolean anyCommandFailed = commandResults.stream().anyMatch(BatchReport.CommandResult::isFailed);
+      if (anyCommandFailed)
+      {
+        commandResults.add(BatchReport.CommandResult.skipped(command));
+        continue;
+      }
+
+      log.info(" ▶️ {}: {}", name, command);
+      long startNanos = System.nanoTime();
+      int exitCode = runCommand(name, workingDirectory, configurationFilePath, command);
+      commandResults.add(BatchReport.CommandResult.finished(command, exitCode, Duration.ofNanos(System.nanoTime() - startNanos)));
+    }
+    return new BatchReport.OperationResult(name, commandResults);
+  }
+
+  private int runCommand(String name, Path workingDirectory, Path configurationFilePath, String command)
+  {
+    try
+    {
+      return commandRunner.run(workingDirectory, configurationFilePath, command);
+    } catch (RuntimeException e)
+    {
+      log.error(" 😝 {}: {} failed", name, command, e);
+      return 1;
+    }
+  }
+
+  @FunctionalInterface
+  public interface CommandRunner
+  {
+    int run(Path workingDirectory, Path configurationFilePath, String command);
+  }
+}
@@ -0,0 +1,143 @@
+package io.simplelocalize.cli.client;
+
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body handlers which report when the body has been received completely. Input stream bodies are handed out when
+ * the headers arrive, long before that, and the request timeout of the HTTP client does not cover reading them.
+ */
+final class BodyCompletionHandlers
+{
+  private BodyCompletionHandlers()
+  {
+  }
+
+  /**
+   * The listener is called once, when the body was received, failed or was cancelled by closing it early.
+   *
+   * @param bodyTimeout time to receive the body once the headers arrived, after which it fails with an
+   *                    {@link HttpTimeoutException}, null to wait without a limit
+   */
+  static <T> HttpResponse.BodyHandler<T> onBodyCompletion(HttpResponse.BodyHandler<T> bodyHandler, Duration bodyTimeout, Listener listener)
+  {
+    return responseInfo -> new CompletionBodySubscriber<>(bodyHandler.apply(responseInfo), responseInfo.statusCode(), bodyTimeout, listener);
+  }
+
+  interface Listener
+  {
+    void bodyCompleted(int statusCode, boolean isFailed);
+  }
+
+  private static final class CompletionBodySubscriber<T> implements HttpResponse.BodySubscriber<T>
+  {
+    private final HttpResponse.BodySubscriber<T> bodySubscriber;
+    private final int statusCode;
+    private final Duration bodyTimeout;
+    private final Listener listener;
+    private Flow.Subscription subscription;
+    private CompletableFuture<Void> timeout;
+    private boolean isCompleted;
+
+    private CompletionBodySubscriber(HttpResponse.BodySubscriber<T> bodySubscriber, int statusCode, Duration bodyTimeout, Listener listener)
+    {
+      this.bodySubscriber = bodySubscriber;
+      this.statusCode = statusCode;
+      this.bodyTimeout = bodyTimeout;
+      this.listener = listener;
+    }
+
+    @Override
+    public CompletionStage<T> getBody()
+    {
+      return bodySubscriber.getBody();
+    }
+
+    @Override
+    public synchronized void onSubscribe(Flow.Subscription subscription)
+    {
+      this.subscription = subscription;
+      if (bodyTimeout != null)
+      {
+        timeout = CompletableFuture.runAsync(this::timeOut, CompletableFuture.delayedExecutor(bodyTimeout.toNanos(), TimeUnit.NANOSECONDS));
+      }
+      bodySubscriber.onSubscribe(new Flow.Subscription()
+      {
+        @Override
+        public void request(long n)
+        {
+          subscription.request(n);
+        }
+
+        @Override
+        public void cancel()
+        {
+          subscription.cancel();
+          complete(false);
+        }
+      });
+    }
+
+    @Override
+    public synchronized void onNext(List<ByteBuffer> item)
+    {
+      if (!isCompleted)
+      {
+        bodySubscriber.onNext(item);
+      }
+    }
+
+    @Override
+    public synchronized void onError(Throwable throwable)
+    {
+      if (complete(true))
+      {
+        bodySubscriber.onError(throwable);
+      }
+    }
+
+    @Override
+    public synchronized void onComplete()
+    {
+      if (complete(false))
+      {
+        bodySubscriber.onComplete();
+      }
+    }
+
+    private synchronized void timeOut()
+    {
+      if (complete(true))
+      {
+        subscription.cancel();
+        bodySubscriber.onError(new HttpTimeoutException("response body not received within " + bodyTimeout));
+      }
+    }
+
+    /**
+     * Returns false when the body already completed, so later signals are not passed on.
+     */
+    private synchronized boolean complete(boolean isFailed)
+    {
+      if (isCompleted)
+      {
+        return false;
+      }
+      isCompleted = true;
+      if (timeout != null)
+      {
+        // a cancelled timeout task is skipped by the delayed executor
+        timeout.cancel(false);
+      }
+      listener.bodyCompleted(statusCode, isFailed);
+      return true;
+    }
+  }
+}
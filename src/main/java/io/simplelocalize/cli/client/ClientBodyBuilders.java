@@ -1,41 +1,67 @@
 package io.simplelocalize.cli.client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.simplelocalize.cli.client.dto.ImportForm;
-import io.simplelocalize.cli.client.dto.ImportKey;
+import io.simplelocalize.cli.client.dto.FileToUpload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
 import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 final class ClientBodyBuilders
 {
 
+  private static final Logger log = LoggerFactory.getLogger(ClientBodyBuilders.class);
   private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+  private static final Executor BODY_WRITERS = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "simplelocalize-body-writer");
+    thread.setDaemon(true);
+    return thread;
+  });
 
   private ClientBodyBuilders()
   {
   }
 
-  static HttpRequest.BodyPublisher ofKeysBody(Collection<String> keys) throws JsonProcessingException
+  static HttpRequest.BodyPublisher ofKeysBody(Collection<String> keys)
   {
-
-    Set<ImportKey> importContent = keys.stream()
-            .map(ImportKey::new)
-            .collect(Collectors.toSet());
-
-    ImportForm importForm = new ImportForm(importContent);
-
-    String jsonString = objectMapper.writeValueAsString(importForm);
-    return HttpRequest.BodyPublishers.ofString(jsonString);
+    return ofOutputStream(outputStream -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream))
+      {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("content");
+        for (String key : keys)
+        {
+          generator.writeStartObject();
+          generator.writeStringField("key", key);
+          generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+      }
+    });
   }
 
   static HttpRequest.BodyPublisher ofMimeMultipartData(Map<Object, Object> data, String boundary) throws IOException
@@ -62,4 +88,228 @@ final class ClientBodyBuilders
     return HttpRequest.BodyPublishers.ofByteArrays(byteArrays);
   }
 
+  /**
+   * The "manifest" part with the language and namespace of every entry is an assumption about the archive upload
+   * endpoint, which has not been verified against the API yet.
+   */
+  static HttpRequest.BodyPublisher ofMimeMultipartArchive(List<FileToUpload> files, String boundary)
+  {
+    return ofOutputStream(outputStream -> {
+      List<Map<String, String>> manifest = new ArrayList<>();
+      for (int i = 0; i < files.size(); i++)
+      {
+        FileToUpload file = files.get(i);
+        Map<String, String> manifestEntry = new LinkedHashMap<>();
+        manifestEntry.put("entry", archiveEntryName(i, file));
+        manifestEntry.put("language", file.getLanguage());
+        manifestEntry.put("namespace", file.getNamespace());
+        manifest.add(manifestEntry);
+      }
+
+      String separator = "--" + boundary + "\r\nContent-Disposition: form-data; name=";
+      outputStream.write((separator + "\"manifest\"\r\nContent-Type: application/json\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+      outputStream.write(objectMapper.writeValueAsBytes(manifest));
+      outputStream.write(("\r\n" + separator + "\"file\"; filename=\"translations.zip\"\r\nContent-Type: application/zip\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+
+      ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+      for (int i = 0; i < files.size(); i++)
+      {
+        zipOutputStream.putNextEntry(new ZipEntry(archiveEntryName(i, files.get(i))));
+        Files.copy(files.get(i).getPath(), zipOutputStream);
+        zipOutputStream.closeEntry();
+      }
+      zipOutputStream.finish();
+
+      outputStream.write(("\r\n--" + boundary + "--").getBytes(StandardCharsets.UTF_8));
+    });
+  }
+
+  private static String archiveEntryName(int index, FileToUpload file)
+  {
+    // files from different language or namespace directories usually share a file name
+    return index + "/" + file.getPath().getFileName();
+  }
+
+  /**
+   * Publishes whatever the writer produces without buffering the whole body in memory.
+   * The writer runs on a separate thread for every subscription, so the publisher can be re-sent.
+   * A failed writer fails the request instead of ending the body early, and a cancelled subscription
+   * closes the pipe, so the writer stops instead of waiting for a reader which is gone.
+   */
+  static HttpRequest.BodyPublisher ofOutputStream(BodyWriter bodyWriter)
+  {
+    return new OutputStreamBodyPublisher(bodyWriter);
+  }
+
+  @FunctionalInterface
+  interface BodyWriter
+  {
+    void writeTo(OutputStream outputStream) throws IOException;
+  }
+
+  private static final class OutputStreamBodyPublisher implements HttpRequest.BodyPublisher
+  {
+    private final BodyWriter bodyWriter;
+
+    private OutputStreamBodyPublisher(BodyWriter bodyWriter)
+    {
+      this.bodyWriter = bodyWriter;
+    }
+
+    @Override
+    public long contentLength()
+    {
+      return -1;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber)
+    {
+      WriterPipe pipe = WriterPipe.start(bodyWriter);
+      HttpRequest.BodyPublishers.ofInputStream(() -> pipe).subscribe(new Flow.Subscriber<>()
+      {
+        @Override
+        public void onSubscribe(Flow.Subscription subscription)
+        {
+          subscriber.onSubscribe(new Flow.Subscription()
+          {
+            @Override
+            public void request(long n)
+            {
+              subscription.request(n);
+            }
+
+            @Override
+            public void cancel()
+            {
+              subscription.cancel();
+              pipe.closeQuietly();
+            }
+          });
+        }
+
+        @Override
+        public void onNext(ByteBuffer item)
+        {
+          subscriber.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable)
+        {
+          pipe.closeQuietly();
+          subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete()
+        {
+          subscriber.onComplete();
+        }
+      });
+    }
+  }
+
+  /**
+   * Reading side of the pipe which rethrows the failure of the writer instead of reporting the end of the body.
+   */
+  private static final class WriterPipe extends PipedInputStream
+  {
+    private volatile Exception writerFailure;
+
+    private WriterPipe()
+    {
+      super(PIPE_BUFFER_SIZE);
+    }
+
+    private static WriterPipe start(BodyWriter bodyWriter)
+    {
+      WriterPipe pipe = new WriterPipe();
+      PipedOutputStream outputStream;
+      try
+      {
+        outputStream = new PipedOutputStream(pipe);
+      } catch (IOException e)
+      {
+        throw new UncheckedIOException(e);
+      }
+      BODY_WRITERS.execute(() -> {
+        try
+        {
+          // writers close their generators and streams, which must not end the body before a failure is recorded
+          bodyWriter.writeTo(new FilterOutputStream(outputStream)
+          {
+            @Override
+            public void write(byte[] buffer, int offset, int length) throws IOException
+            {
+              out.write(buffer, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException
+            {
+              flush();
+            }
+          });
+        } catch (Exception e)
+        {
+          // recorded before the pipe is closed, so the reader never sees a clean end of the body
+          pipe.writerFailure = e;
+          log.debug("Request body could not be written", e);
+        } finally
+        {
+          closeQuietly(outputStream);
+        }
+      });
+      return pipe;
+    }
+
+    @Override
+    public synchronized int read() throws IOException
+    {
+      int read = super.read();
+      if (read == -1)
+      {
+        throwOnWriterFailure();
+      }
+      return read;
+    }
+
+    @Override
+    public synchronized int read(byte[] buffer, int offset, int length) throws IOException
+    {
+      int read = super.read(buffer, offset, length);
+      if (read == -1)
+      {
+        throwOnWriterFailure();
+      }
+      return read;
+    }
+
+    private void throwOnWriterFailure() throws IOException
+    {
+      Exception failure = writerFailure;
+      if (failure != null)
+      {
+        throw new IOException("Request body could not be written", failure);
+      }
+    }
+
+    private void closeQuietly()
+    {
+      closeQuietly(this);
+    }
+
+    private static void closeQuietly(Closeable closeable)
+    {
+      try
+      {
+        closeable.close();
+      } catch (IOException e)
+      {
+        // nothing is read or written anymore
+      }
+    }
+  }
+
 }
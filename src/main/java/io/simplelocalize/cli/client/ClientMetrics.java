@@ -0,0 +1,141 @@
+package io.simplelocalize.cli.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ClientMetrics
+{
+  /**
+   * Latency percentiles cover the most recent requests only, so a long-lived client keeps a bounded window.
+   */
+  static final int LATENCY_WINDOW_SIZE = 1024;
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder exhaustedRetries = new LongAdder();
+  private final LongAdder rateLimitedRequests = new LongAdder();
+  private final LongAdder rateLimitWaitNanos = new LongAdder();
+  private final LongAdder hedgedRequests = new LongAdder();
+  private final LongAdder hedgeWins = new LongAdder();
+  private final long[] latencyWindowNanos = new long[LATENCY_WINDOW_SIZE];
+  private final long[] sortedLatencyWindowNanos = new long[LATENCY_WINDOW_SIZE];
+  private int latencyCount;
+  private int nextLatencyIndex;
+
+  void recordRequest()
+  {
+    requests.increment();
+  }
+
+  void recordRetry()
+  {
+    retries.increment();
+  }
+
+  void recordExhaustedRetries()
+  {
+    exhaustedRetries.increment();
+  }
+
+  void recordRateLimitWait(Duration wait)
+  {
+    if (!wait.isZero())
+    {
+      rateLimitedRequests.increment();
+      rateLimitWaitNanos.add(wait.toNanos());
+    }
+  }
+
+  void recordHedge()
+  {
+    hedgedRequests.increment();
+  }
+
+  void recordHedgeWin()
+  {
+    hedgeWins.increment();
+  }
+
+  /**
+   * Replaces the oldest latency once the window is full. The sorted copy of the window is kept up to date,
+   * so percentiles are read without sorting.
+   */
+  synchronized void recordLatency(Duration latency)
+  {
+    if (latencyCount == LATENCY_WINDOW_SIZE)
+    {
+      long oldestNanos = latencyWindowNanos[nextLatencyIndex];
+      int oldestIndex = Arrays.binarySearch(sortedLatencyWindowNanos, 0, latencyCount, oldestNanos);
+      System.arraycopy(sortedLatencyWindowNanos, oldestIndex + 1, sortedLatencyWindowNanos, oldestIndex, latencyCount - oldestIndex - 1);
+      latencyCount--;
+    }
+
+    long latencyNanos = latency.toNanos();
+    latencyWindowNanos[nextLatencyIndex] = latencyNanos;
+    nextLatencyIndex = (nextLatencyIndex + 1) % LATENCY_WINDOW_SIZE;
+
+    int insertionIndex = Arrays.binarySearch(sortedLatencyWindowNanos, 0, latencyCount, latencyNanos);
+    if (insertionIndex < 0)
+    {
+      insertionIndex = -insertionIndex - 1;
+    }
+    System.arraycopy(sortedLatencyWindowNanos, insertionIndex, sortedLatencyWindowNanos, insertionIndex + 1, latencyCount - insertionIndex);
+    sortedLatencyWindowNanos[insertionIndex] = latencyNanos;
+    latencyCount++;
+  }
+
+  public long getRequests()
+  {
+    return requests.sum();
+  }
+
+  public long getRetries()
+  {
+    return retries.sum();
+  }
+
+  public long getExhaustedRetries()
+  {
+    return exhaustedRetries.sum();
+  }
+
+  public long getRateLimitedRequests()
+  {
+    return rateLimitedRequests.sum();
+  }
+
+  public Duration getRateLimitWait()
+  {
+    return Duration.ofNanos(rateLimitWaitNanos.sum());
+  }
+
+  public long getHedgedRequests()
+  {
+    return hedgedRequests.sum();
+  }
+
+  public long getHedgeWins()
+  {
+    return hedgeWins.sum();
+  }
+
+  public synchronized int getLatencySamples()
+  {
+    return latencyCount;
+  }
+
+  /**
+   * Latency of a single request, from sending it until the response headers arrived, at the given percentile
+   * (0-100) of the last {@link #LATENCY_WINDOW_SIZE} requests. Zero when nothing was sent.
+   */
+  public synchronized Duration getLatencyPercentile(double percentile)
+  {
+    if (latencyCount == 0)
+    {
+      return Duration.ZERO;
+    }
+    int index = (int) Math.ceil(percentile / 100 * latencyCount) - 1;
+    return Duration.ofNanos(sortedLatencyWindowNanos[Math.min(latencyCount - 1, Math.max(0, index))]);
+  }
+}
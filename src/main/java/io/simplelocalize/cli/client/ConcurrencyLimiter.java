@@ -0,0 +1,158 @@
+package io.simplelocalize.cli.client;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Limits the number of requests in flight with additive increase and multiplicative decrease (AIMD).
+ * The limit grows by about one request per round trip while responses are healthy and is halved on 429 and 5xx
+ * responses, failed requests and latency spikes. Waiting callers get a future instead of a blocked thread.
+ */
+public final class ConcurrencyLimiter
+{
+  private static final ConcurrencyLimiter UNLIMITED = new ConcurrencyLimiter(Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+
+  private static final double BACKOFF_RATIO = 0.5;
+  private static final double LATENCY_SPIKE_RATIO = 3.0;
+  private static final double LATENCY_SMOOTHING = 0.1;
+
+  private final int maxLimit;
+  private final boolean adaptive;
+  private final Deque<CompletableFuture<Permit>> waiting = new ArrayDeque<>();
+  private double limit;
+  private int inFlight;
+  private long smoothedLatencyNanos;
+  private long lastBackoffNanos = Long.MIN_VALUE;
+
+  private ConcurrencyLimiter(int initialLimit, int maxLimit, boolean adaptive)
+  {
+    this.maxLimit = maxLimit;
+    this.adaptive = adaptive;
+    this.limit = initialLimit;
+  }
+
+  public static ConcurrencyLimiter adaptive(int initialLimit, int maxLimit)
+  {
+    int max = Math.max(1, maxLimit);
+    return new ConcurrencyLimiter(Math.min(Math.max(1, initialLimit), max), max, true);
+  }
+
+  /**
+   * Limit which never changes, for a cap on the requests of many clients together.
+   */
+  public static ConcurrencyLimiter fixed(int limit)
+  {
+    int max = Math.max(1, limit);
+    return new ConcurrencyLimiter(max, max, false);
+  }
+
+  public static ConcurrencyLimiter unlimited()
+  {
+    return UNLIMITED;
+  }
+
+  public boolean isUnlimited()
+  {
+    return this == UNLIMITED;
+  }
+
+  public synchronized int getLimit()
+  {
+    return (int) limit;
+  }
+
+  public int getMaxLimit()
+  {
+    return maxLimit;
+  }
+
+  /**
+   * Completes once a request may be sent. Every permit has to be released exactly once.
+   */
+  CompletableFuture<Permit> acquire()
+  {
+    if (isUnlimited())
+    {
+      return CompletableFuture.completedFuture(new Permit(System.nanoTime()));
+    }
+
+    synchronized (this)
+    {
+      if (inFlight < (int) limit)
+      {
+        inFlight++;
+        return CompletableFuture.completedFuture(new Permit(System.nanoTime()));
+      }
+      CompletableFuture<Permit> permit = new CompletableFuture<>();
+      waiting.add(permit);
+      return permit;
+    }
+  }
+
+  void release(Permit permit, Duration latency, boolean overloaded)
+  {
+    if (isUnlimited())
+    {
+      return;
+    }
+
+    List<CompletableFuture<Permit>> granted = new ArrayList<>();
+    synchronized (this)
+    {
+      inFlight--;
+      if (adaptive)
+      {
+        adaptLimit(permit, latency, overloaded);
+      }
+
+      while (inFlight < (int) limit && !waiting.isEmpty())
+      {
+        inFlight++;
+        granted.add(waiting.poll());
+      }
+    }
+
+    // dependent stages run outside of the lock
+    for (CompletableFuture<Permit> waitingPermit : granted)
+    {
+      waitingPermit.complete(new Permit(System.nanoTime()));
+    }
+  }
+
+  private void adaptLimit(Permit permit, Duration latency, boolean overloaded)
+  {
+    long latencyNanos = latency.toNanos();
+    boolean latencySpike = smoothedLatencyNanos > 0 && latencyNanos > smoothedLatencyNanos * LATENCY_SPIKE_RATIO;
+    if (overloaded || latencySpike)
+    {
+      // requests sent before the last backoff saw the old limit, they must not halve it again
+      if (permit.acquiredNanos > lastBackoffNanos)
+      {
+        limit = Math.max(1, limit * BACKOFF_RATIO);
+        lastBackoffNanos = System.nanoTime();
+      }
+    } else
+    {
+      smoothedLatencyNanos = smoothedLatencyNanos == 0 ? latencyNanos : (long) (smoothedLatencyNanos + (latencyNanos - smoothedLatencyNanos) * LATENCY_SMOOTHING);
+      // only a limit which is at least half used is raised
+      if ((inFlight + 1) * 2 >= limit)
+      {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+      }
+    }
+  }
+
+  static final class Permit
+  {
+    private final long acquiredNanos;
+
+    private Permit(long acquiredNanos)
+    {
+      this.acquiredNanos = acquiredNanos;
+    }
+  }
+}
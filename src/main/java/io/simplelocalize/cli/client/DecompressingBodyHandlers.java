@@ -0,0 +1,118 @@
+package io.simplelocalize.cli.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Body handlers which decode gzip and deflate encoded responses, because HttpClient does not do that itself.
+ */
+final class DecompressingBodyHandlers
+{
+  static final String ACCEPT_ENCODING = "gzip, deflate";
+
+  private static final String CONTENT_ENCODING_HEADER_NAME = "Content-Encoding";
+  private static final int BUFFER_SIZE = 8192;
+
+  private DecompressingBodyHandlers()
+  {
+  }
+
+  static HttpResponse.BodyHandler<String> ofString()
+  {
+    return responseInfo -> {
+      String contentEncoding = contentEncoding(responseInfo);
+      return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> {
+        if (body.length == 0)
+        {
+          return "";
+        }
+        try (InputStream inputStream = decode(contentEncoding, new ByteArrayInputStream(body)))
+        {
+          return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e)
+        {
+          throw new UncheckedIOException(e);
+        }
+      });
+    };
+  }
+
+  static HttpResponse.BodyHandler<InputStream> ofInputStream()
+  {
+    return responseInfo -> {
+      String contentEncoding = contentEncoding(responseInfo);
+      return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(), body -> decode(contentEncoding, body));
+    };
+  }
+
+  private static String contentEncoding(HttpResponse.ResponseInfo responseInfo)
+  {
+    return responseInfo.headers()
+            .firstValue(CONTENT_ENCODING_HEADER_NAME)
+            .map(contentEncoding -> contentEncoding.trim().toLowerCase(Locale.ROOT))
+            .orElse("identity");
+  }
+
+  private static InputStream decode(String contentEncoding, InputStream body)
+  {
+    switch (contentEncoding)
+    {
+      case "gzip":
+      case "x-gzip":
+        return new LazyGzipInputStream(body);
+      case "deflate":
+        return new InflaterInputStream(body);
+      default:
+        return body;
+    }
+  }
+
+  /**
+   * GZIPInputStream reads the gzip header in its constructor, and body mappers must not block,
+   * so the header is only read on the first read of the body.
+   */
+  private static final class LazyGzipInputStream extends InputStream
+  {
+    private final InputStream compressedInputStream;
+    private InputStream decompressedInputStream;
+
+    private LazyGzipInputStream(InputStream compressedInputStream)
+    {
+      this.compressedInputStream = compressedInputStream;
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+      return decompressedInputStream().read();
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException
+    {
+      return decompressedInputStream().read(buffer, offset, length);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+      compressedInputStream.close();
+    }
+
+    private InputStream decompressedInputStream() throws IOException
+    {
+      if (decompressedInputStream == null)
+      {
+        decompressedInputStream = new GZIPInputStream(compressedInputStream, BUFFER_SIZE);
+      }
+      return decompressedInputStream;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package io.simplelocalize.cli.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.core.annotation.Introspected;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validators (ETag, Last-Modified and content hash) of previously downloaded files, keyed by the path the file
+ * was saved to, together with the transforms applied to them. Downloads use them to send conditional requests
+ * and to leave unchanged files untouched.
+ */
+public final class DownloadManifest
+{
+  private static final Logger log = LoggerFactory.getLogger(DownloadManifest.class);
+  private static final TypeReference<Map<String, Entry>> ENTRIES_TYPE = new TypeReference<>()
+  {
+  };
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Path manifestPath;
+  private final Map<String, Entry> entries;
+
+  private DownloadManifest(Path manifestPath, Map<String, Entry> entries)
+  {
+    this.manifestPath = manifestPath;
+    this.entries = new ConcurrentHashMap<>(entries);
+  }
+
+  public static DownloadManifest disabled()
+  {
+    return new DownloadManifest(null, Map.of());
+  }
+
+  public static DownloadManifest load(Path manifestPath)
+  {
+    if (Files.notExists(manifestPath))
+    {
+      return new DownloadManifest(manifestPath, Map.of());
+    }
+
+    try
+    {
+      Map<String, Entry> entries = new ObjectMapper().readValue(manifestPath.toFile(), ENTRIES_TYPE);
+      return new DownloadManifest(manifestPath, entries);
+    } catch (IOException e)
+    {
+      log.warn(" 🤔 Ignoring unreadable download manifest: {}", manifestPath, e);
+      return new DownloadManifest(manifestPath, Map.of());
+    }
+  }
+
+  public boolean isEnabled()
+  {
+    return manifestPath != null;
+  }
+
+  public Optional<Entry> get(Path savePath)
+  {
+    return Optional.ofNullable(entries.get(toKey(savePath)));
+  }
+
+  public void put(Path savePath, Entry entry)
+  {
+    if (isEnabled())
+    {
+      entries.put(toKey(savePath), entry);
+    }
+  }
+
+  public void save() throws IOException
+  {
+    if (!isEnabled())
+    {
+      return;
+    }
+
+    Path parentDirectory = manifestPath.toAbsolutePath().getParent();
+    if (parentDirectory != null)
+    {
+      Files.createDirectories(parentDirectory);
+    }
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(manifestPath.toFile(), new TreeMap<>(entries));
+  }
+
+  private static String toKey(Path savePath)
+  {
+    return savePath.normalize().toString();
+  }
+
+  @Introspected
+  public static final class Entry
+  {
+    private String etag;
+    private String lastModified;
+    private String sha256;
+    private List<String> transforms;
+
+    public String getEtag()
+    {
+      return etag;
+    }
+
+    public void setEtag(String etag)
+    {
+      this.etag = etag;
+    }
+
+    public String getLastModified()
+    {
+      return lastModified;
+    }
+
+    public void setLastModified(String lastModified)
+    {
+      this.lastModified = lastModified;
+    }
+
+    public String getSha256()
+    {
+      return sha256;
+    }
+
+    public void setSha256(String sha256)
+    {
+      this.sha256 = sha256;
+    }
+
+    public List<String> getTransforms()
+    {
+      return transforms;
+    }
+
+    public void setTransforms(List<String> transforms)
+    {
+      this.transforms = transforms;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Entry entry = (Entry) o;
+      return Objects.equals(etag, entry.etag) &&
+              Objects.equals(lastModified, entry.lastModified) &&
+              Objects.equals(sha256, entry.sha256) &&
+              Objects.equals(transforms, entry.transforms);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(etag, lastModified, sha256, transforms);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package io.simplelocalize.cli.client;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends a second, identical GET request when the first one is slower than the given percentile of the latencies
+ * observed so far, and uses whichever response arrives first. Hedges are limited by a budget relative to all
+ * requests sent by the client, so a slow API is not flooded with duplicates.
+ */
+public final class HedgingPolicy
+{
+  private static final int MIN_LATENCY_SAMPLES = 10;
+
+  private final AtomicLong hedges = new AtomicLong();
+  private double latencyPercentile;
+  private Duration minDelay;
+  private double budgetRatio;
+
+  public static HedgingPolicy disabled()
+  {
+    return HedgingPolicyBuilder.aHedgingPolicy().withLatencyPercentile(0).build();
+  }
+
+  public boolean isEnabled()
+  {
+    return latencyPercentile > 0 && budgetRatio > 0;
+  }
+
+  public double getLatencyPercentile()
+  {
+    return latencyPercentile;
+  }
+
+  public Duration getMinDelay()
+  {
+    return minDelay;
+  }
+
+  public double getBudgetRatio()
+  {
+    return budgetRatio;
+  }
+
+  /**
+   * Returns how long to wait for a response before hedging, or empty while too few latencies were observed.
+   */
+  Optional<Duration> hedgeDelay(ClientMetrics metrics)
+  {
+    if (!isEnabled() || metrics.getLatencySamples() < MIN_LATENCY_SAMPLES)
+    {
+      return Optional.empty();
+    }
+    Duration percentileLatency = metrics.getLatencyPercentile(latencyPercentile);
+    return Optional.of(percentileLatency.compareTo(minDelay) > 0 ? percentileLatency : minDelay);
+  }
+
+  /**
+   * Takes one hedge from the budget, which grows with every request sent.
+   */
+  boolean tryAcquireHedge(long requests)
+  {
+    while (true)
+    {
+      long sentHedges = hedges.get();
+      if (sentHedges + 1 > requests * budgetRatio)
+      {
+        return false;
+      }
+      if (hedges.compareAndSet(sentHedges, sentHedges + 1))
+      {
+        return true;
+      }
+    }
+  }
+
+  public static final class HedgingPolicyBuilder
+  {
+    private double latencyPercentile = 95;
+    private Duration minDelay = Duration.ofMillis(200);
+    private double budgetRatio = 0.1;
+
+    private HedgingPolicyBuilder()
+    {
+    }
+
+    public static HedgingPolicyBuilder aHedgingPolicy()
+    {
+      return new HedgingPolicyBuilder();
+    }
+
+    public HedgingPolicyBuilder withLatencyPercentile(double latencyPercentile)
+    {
+      this.latencyPercentile = latencyPercentile;
+      return this;
+    }
+
+    public HedgingPolicyBuilder withMinDelay(Duration minDelay)
+    {
+      this.minDelay = minDelay;
+      return this;
+    }
+
+    public HedgingPolicyBuilder withBudgetRatio(double budgetRatio)
+    {
+      this.budgetRatio = budgetRatio;
+      return this;
+    }
+
+    public HedgingPolicy build()
+    {
+      HedgingPolicy hedgingPolicy = new HedgingPolicy();
+      hedgingPolicy.latencyPercentile = Math.min(100, Math.max(0, this.latencyPercentile));
+      hedgingPolicy.minDelay = this.minDelay;
+      hedgingPolicy.budgetRatio = Math.max(0, this.budgetRatio);
+      return hedgingPolicy;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package io.simplelocalize.cli.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: a single atomic timestamp holds the
+ * moment at which the bucket is full again. Callers reserve a slot with one CAS and are told how long to wait
+ * for it, so the limiter never blocks a thread itself.
+ */
+public final class RateLimiter
+{
+  private static final RateLimiter UNLIMITED = new RateLimiter(0, 0);
+
+  private final long emissionIntervalNanos;
+  private final long burstToleranceNanos;
+  private final AtomicLong theoreticalArrivalNanos;
+
+  private RateLimiter(long emissionIntervalNanos, long burstToleranceNanos)
+  {
+    this.emissionIntervalNanos = emissionIntervalNanos;
+    this.burstToleranceNanos = burstToleranceNanos;
+    this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+  }
+
+  public static RateLimiter of(double requestsPerSecond, int burst)
+  {
+    if (requestsPerSecond <= 0)
+    {
+      return unlimited();
+    }
+    long emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+    long burstToleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+    return new RateLimiter(emissionIntervalNanos, burstToleranceNanos);
+  }
+
+  public static RateLimiter unlimited()
+  {
+    return UNLIMITED;
+  }
+
+  public boolean isUnlimited()
+  {
+    return emissionIntervalNanos == 0;
+  }
+
+  /**
+   * Reserves the next request slot and returns how long the caller has to wait before sending.
+   */
+  Duration reserve()
+  {
+    if (isUnlimited())
+    {
+      return Duration.ZERO;
+    }
+
+    while (true)
+    {
+      long now = System.nanoTime();
+      long theoreticalArrival = theoreticalArrivalNanos.get();
+      long nextTheoreticalArrival = Math.max(theoreticalArrival, now) + emissionIntervalNanos;
+      if (theoreticalArrivalNanos.compareAndSet(theoreticalArrival, nextTheoreticalArrival))
+      {
+        long waitNanos = theoreticalArrival - burstToleranceNanos - now;
+        return waitNanos > 0 ? Duration.ofNanos(waitNanos) : Duration.ZERO;
+      }
+    }
+  }
+}
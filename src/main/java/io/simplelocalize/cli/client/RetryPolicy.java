@@ -0,0 +1,165 @@
+package io.simplelocalize.cli.client;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capped exponential backoff with full jitter. A Retry-After header sent by the API replaces the computed
+ * backoff, and a Retry-After longer than the backoff cap ends retrying instead of blocking the run.
+ * <p>
+ * Rejected requests (429, 503) and failed connection attempts never reached the API, so they are retried
+ * for every method. Other server errors and I/O failures are retried only for idempotent GET and HEAD requests.
+ */
+public final class RetryPolicy
+{
+  private static final Set<Integer> REJECTED_STATUS_CODES = Set.of(429, 503);
+  private static final Set<Integer> SERVER_ERROR_STATUS_CODES = Set.of(500, 502, 504);
+  private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD");
+  private static final String RETRY_AFTER_HEADER_NAME = "Retry-After";
+
+  private int maxAttempts;
+  private Duration initialBackoff;
+  private Duration maxBackoff;
+
+  public static RetryPolicy noRetries()
+  {
+    return RetryPolicyBuilder.aRetryPolicy().withMaxAttempts(1).build();
+  }
+
+  public int getMaxAttempts()
+  {
+    return maxAttempts;
+  }
+
+  public Duration getInitialBackoff()
+  {
+    return initialBackoff;
+  }
+
+  public Duration getMaxBackoff()
+  {
+    return maxBackoff;
+  }
+
+  /**
+   * Returns the delay before the next attempt or empty when the outcome of the given attempt is final.
+   */
+  Optional<Duration> nextDelay(int attempt, HttpRequest httpRequest, HttpResponse<?> httpResponse, Throwable failure)
+  {
+    if (attempt >= maxAttempts || !isRetryable(httpRequest, httpResponse, failure))
+    {
+      return Optional.empty();
+    }
+
+    if (httpResponse != null)
+    {
+      Optional<Duration> retryAfter = parseRetryAfter(httpResponse);
+      if (retryAfter.isPresent())
+      {
+        return retryAfter.filter(delay -> delay.compareTo(maxBackoff) <= 0);
+      }
+    }
+    return Optional.of(jitteredBackoff(attempt));
+  }
+
+  boolean isRetryable(HttpRequest httpRequest, HttpResponse<?> httpResponse, Throwable failure)
+  {
+    boolean isIdempotent = IDEMPOTENT_METHODS.contains(httpRequest.method());
+    if (httpResponse != null)
+    {
+      int statusCode = httpResponse.statusCode();
+      return REJECTED_STATUS_CODES.contains(statusCode) || (isIdempotent && SERVER_ERROR_STATUS_CODES.contains(statusCode));
+    }
+
+    boolean isConnectFailure = failure instanceof ConnectException || failure instanceof HttpConnectTimeoutException;
+    return isConnectFailure || (isIdempotent && failure instanceof IOException);
+  }
+
+  Duration jitteredBackoff(int attempt)
+  {
+    long exponentialMillis = initialBackoff.toMillis() << Math.min(attempt - 1, 30);
+    long cappedMillis = Math.min(maxBackoff.toMillis(), Math.max(0, exponentialMillis));
+    return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cappedMillis + 1));
+  }
+
+  static Optional<Duration> parseRetryAfter(HttpResponse<?> httpResponse)
+  {
+    Optional<String> retryAfter = httpResponse.headers().firstValue(RETRY_AFTER_HEADER_NAME).map(String::trim);
+    if (retryAfter.isEmpty())
+    {
+      return Optional.empty();
+    }
+
+    String value = retryAfter.get();
+    try
+    {
+      return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value))));
+    } catch (NumberFormatException e)
+    {
+      // Retry-After may also be an HTTP-date
+    }
+
+    try
+    {
+      ZonedDateTime retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+      Duration delay = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+      return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+    } catch (DateTimeParseException e)
+    {
+      return Optional.empty();
+    }
+  }
+
+  public static final class RetryPolicyBuilder
+  {
+    private int maxAttempts = 4;
+    private Duration initialBackoff = Duration.ofMillis(500);
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    private RetryPolicyBuilder()
+    {
+    }
+
+    public static RetryPolicyBuilder aRetryPolicy()
+    {
+      return new RetryPolicyBuilder();
+    }
+
+    public RetryPolicyBuilder withMaxAttempts(int maxAttempts)
+    {
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    public RetryPolicyBuilder withInitialBackoff(Duration initialBackoff)
+    {
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    public RetryPolicyBuilder withMaxBackoff(Duration maxBackoff)
+    {
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    public RetryPolicy build()
+    {
+      RetryPolicy retryPolicy = new RetryPolicy();
+      retryPolicy.maxAttempts = Math.max(1, this.maxAttempts);
+      retryPolicy.initialBackoff = this.initialBackoff;
+      retryPolicy.maxBackoff = this.maxBackoff;
+      return retryPolicy;
+    }
+  }
+}
@@ -1,58 +1,123 @@
 package io.simplelocalize.cli.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
-import com.oracle.svm.core.util.json.JSONParser;
-import com.oracle.svm.core.util.json.JSONParserException;
 import io.simplelocalize.cli.client.dto.DownloadRequest;
 import io.simplelocalize.cli.client.dto.DownloadableFile;
-import io.simplelocalize.cli.client.dto.ExportResponse;
+import io.simplelocalize.cli.client.dto.UploadArchiveRequest;
+import io.simplelocalize.cli.client.dto.UploadKeysRequest;
 import io.simplelocalize.cli.client.dto.UploadRequest;
 import io.simplelocalize.cli.exception.ApiRequestException;
+import io.simplelocalize.cli.util.JsonTransform;
 import io.simplelocalize.cli.util.JsonUtil;
-import net.minidev.json.JSONObject;
-import net.minidev.json.JSONStyle;
+import io.simplelocalize.cli.util.ListsUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.net.ssl.SSLContext;
 import java.io.*;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.ParseException;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static io.simplelocalize.cli.TemplateKeys.LANGUAGE_TEMPLATE_KEY;
 import static io.simplelocalize.cli.TemplateKeys.NAMESPACE_TEMPLATE_KEY;
+import static io.simplelocalize.cli.client.RetryPolicy.RetryPolicyBuilder.aRetryPolicy;
+import static io.simplelocalize.cli.client.dto.UploadKeysRequest.UploadKeysRequestBuilder.anUploadKeysRequest;
 
 public class SimpleLocalizeClient
 {
   private static final String PRODUCTION_BASE_URL = "https://api.simplelocalize.io";
+  private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
 
   private static final String ERROR_MESSAGE_PATH = "$.msg";
+  private static final String ETAG_HEADER_NAME = "ETag";
+  private static final String LAST_MODIFIED_HEADER_NAME = "Last-Modified";
+  private static final String IF_NONE_MATCH_HEADER_NAME = "If-None-Match";
+  private static final String IF_MODIFIED_SINCE_HEADER_NAME = "If-Modified-Since";
+  private static final int FILE_BUFFER_SIZE = 8192;
+  private static final String EXPORT_FILES_FIELD_NAME = "files";
+  private static final String ARCHIVE_ENTRY_MISSING_VALUE = "_";
+  private static final Pattern ARCHIVE_ENTRY_SEGMENT_PATTERN = Pattern.compile("(?!\\.+$)[\\w.@-]+");
   private final HttpClient httpClient;
   private final SimpleLocalizeHttpRequestFactory httpRequestFactory;
   private final SimpleLocalizeUriFactory uriFactory;
 
   private final Logger log = LoggerFactory.getLogger(SimpleLocalizeClient.class);
   private final ObjectMapper objectMapper;
+  private final RetryPolicy retryPolicy;
+  private final RateLimiter rateLimiter;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final ConcurrencyLimiter sharedConcurrencyLimiter;
+  private final HedgingPolicy hedgingPolicy;
+  private final ClientMetrics metrics;
+  private final Executor executor;
+  private final Executor blockingExecutor;
 
   public SimpleLocalizeClient(String baseUrl, String apiKey)
   {
+    this(aSimpleLocalizeClient().withBaseUrl(baseUrl).withApiKey(apiKey));
+  }
 
-    Objects.requireNonNull(baseUrl);
-    Objects.requireNonNull(apiKey);
-    this.uriFactory = new SimpleLocalizeUriFactory(baseUrl);
-    this.httpRequestFactory = new SimpleLocalizeHttpRequestFactory(apiKey);
+  private SimpleLocalizeClient(SimpleLocalizeClientBuilder builder)
+  {
+    Objects.requireNonNull(builder.baseUrl);
+    Objects.requireNonNull(builder.apiKey);
+    Objects.requireNonNull(builder.connectTimeout);
+    this.uriFactory = new SimpleLocalizeUriFactory(builder.baseUrl);
+    this.httpRequestFactory = new SimpleLocalizeHttpRequestFactory(builder.apiKey, builder.requestTimeout);
     this.objectMapper = new ObjectMapper();
-    this.httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofMinutes(5))
-            .build();
+    this.retryPolicy = Objects.requireNonNull(builder.retryPolicy);
+    this.rateLimiter = Objects.requireNonNull(builder.rateLimiter);
+    this.concurrencyLimiter = Objects.requireNonNull(builder.concurrencyLimiter);
+    this.sharedConcurrencyLimiter = Objects.requireNonNull(builder.sharedConcurrencyLimiter);
+    this.hedgingPolicy = Objects.requireNonNull(builder.hedgingPolicy);
+    this.metrics = new ClientMetrics();
+    this.executor = builder.executor != null ? builder.executor : Executors.newCachedThreadPool(new ClientThreadFactory("simplelocalize-client-"));
+    // blocking body reads and file writes never hold up threads of an executor passed by the caller
+    this.blockingExecutor = builder.executor != null ? Executors.newCachedThreadPool(new ClientThreadFactory("simplelocalize-client-io-")) : executor;
+    this.httpClient = builder.httpClient != null ? builder.httpClient : createHttpClient(builder, executor);
+  }
+
+  private static HttpClient createHttpClient(SimpleLocalizeClientBuilder builder, Executor executor)
+  {
+    HttpClient.Builder httpClientBuilder = HttpClient.newBuilder()
+            .connectTimeout(builder.connectTimeout)
+            .executor(executor);
+    if (builder.sslContext != null)
+    {
+      httpClientBuilder.sslContext(builder.sslContext);
+    }
+    return httpClientBuilder.build();
   }
 
   public static SimpleLocalizeClient withCustomServer(String baseUrl, String apiKey)
@@ -65,85 +130,529 @@ public class SimpleLocalizeClient
     return withCustomServer(PRODUCTION_BASE_URL, apiKey);
   }
 
+  public static SimpleLocalizeClientBuilder aSimpleLocalizeClient()
+  {
+    return new SimpleLocalizeClientBuilder();
+  }
+
+  /**
+   * Opens a pooled connection to the API with a HEAD request, so DNS lookup and TCP and TLS handshakes overlap
+   * with local work. The result, even an error status, is ignored and the returned future never fails.
+   * The request bypasses the rate limiter, concurrency limiter and retries and is not counted in the metrics.
+   */
+  public CompletableFuture<Duration> warmUp()
+  {
+    long startNanos = System.nanoTime();
+    HttpRequest warmUpRequest = httpRequestFactory.createWarmUpRequest(uriFactory.buildBaseUri());
+    return httpClient.sendAsync(warmUpRequest, HttpResponse.BodyHandlers.discarding())
+            .handle((httpResponse, throwable) -> {
+              Duration warmUpTime = Duration.ofNanos(System.nanoTime() - startNanos);
+              if (throwable != null)
+              {
+                log.debug("Connection warm-up failed after {} ms", warmUpTime.toMillis(), throwable);
+              }
+              return warmUpTime;
+            });
+  }
+
   public void uploadKeys(Collection<String> keys) throws IOException, InterruptedException
+  {
+    uploadKeys(anUploadKeysRequest().withKeys(keys).build());
+  }
+
+  public void uploadKeys(UploadKeysRequest uploadKeysRequest) throws IOException, InterruptedException
+  {
+    await(uploadKeysAsync(uploadKeysRequest));
+  }
+
+  /**
+   * Uploads the keys in one request, or in batches with at most the requested number of batches in flight when
+   * a batch size is set, and completes with the number of keys processed by the API. No further batches are sent
+   * after the first failed one, so keys sent before stay uploaded.
+   */
+  public CompletableFuture<Integer> uploadKeysAsync(UploadKeysRequest uploadKeysRequest)
   {
     URI uri = uriFactory.buildSendKeysURI();
-    HttpRequest httpRequest = httpRequestFactory.createSendKeysRequest(uri, keys);
-    HttpResponse<String> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-    throwOnError(httpResponse);
-    int keysProcessed = JsonPath.read(httpResponse.body(), "$.data.uniqueKeysProcessed");
-    log.info(" 🎉 Successfully uploaded {} keys", keysProcessed);
+    Iterator<List<String>> batches = ListsUtil.batches(uploadKeysRequest.getKeys(), uploadKeysRequest.getBatchSize()).iterator();
+    AtomicInteger sentBatches = new AtomicInteger();
+    AtomicBoolean anyBatchFailed = new AtomicBoolean();
+    List<CompletableFuture<Integer>> batchUploaders = new ArrayList<>();
+    for (int i = 0; i < Math.max(1, uploadKeysRequest.getConcurrency()); i++)
+    {
+      batchUploaders.add(uploadRemainingBatches(uri, batches, sentBatches, anyBatchFailed));
+    }
+
+    CompletableFuture<Integer> keysUpload = CompletableFuture.allOf(batchUploaders.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> {
+              int keysProcessed = batchUploaders.stream().mapToInt(CompletableFuture::join).sum();
+              log.info(" 🎉 Successfully uploaded {} keys in {} batches", keysProcessed, sentBatches.get());
+              return keysProcessed;
+            });
+    return completeOnExecutor(keysUpload);
+  }
+
+  private CompletableFuture<Integer> uploadRemainingBatches(URI uri, Iterator<List<String>> batches, AtomicInteger sentBatches, AtomicBoolean anyBatchFailed)
+  {
+    List<String> batch;
+    synchronized (batches)
+    {
+      if (anyBatchFailed.get() || !batches.hasNext())
+      {
+        return CompletableFuture.completedFuture(0);
+      }
+      batch = batches.next();
+    }
+
+    sentBatches.incrementAndGet();
+    HttpRequest httpRequest = httpRequestFactory.createSendKeysRequest(uri, batch);
+    return sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+            .thenApply(httpResponse -> {
+              throwOnError(httpResponse);
+              return JsonPath.<Integer>read(httpResponse.body(), "$.data.uniqueKeysProcessed");
+            })
+            .whenComplete((keysProcessed, throwable) -> {
+              if (throwable != null)
+              {
+                anyBatchFailed.set(true);
+              }
+            })
+            .thenCompose(keysProcessed -> uploadRemainingBatches(uri, batches, sentBatches, anyBatchFailed)
+                    .thenApply(remainingKeysProcessed -> keysProcessed + remainingKeysProcessed));
   }
 
   public void uploadFile(UploadRequest uploadRequest) throws IOException, InterruptedException
+  {
+    await(uploadFileAsync(uploadRequest));
+  }
+
+  public CompletableFuture<Void> uploadFileAsync(UploadRequest uploadRequest)
   {
     Path uploadPath = uploadRequest.getPath();
     log.info(" 🌍 Uploading {}", uploadPath);
     URI uri = uriFactory.buildUploadUri(uploadRequest);
-    HttpRequest httpRequest = httpRequestFactory.createUploadFileRequest(uri, uploadRequest);
-    HttpResponse<String> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-    throwOnError(httpResponse);
+    HttpRequest httpRequest;
+    try
+    {
+      httpRequest = httpRequestFactory.createUploadFileRequest(uri, uploadRequest);
+    } catch (IOException e)
+    {
+      return CompletableFuture.failedFuture(e);
+    }
+    return completeOnExecutor(sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+            .thenAccept(this::throwOnError));
+  }
+
+  /**
+   * Not used by any command, the archive endpoint has not been verified against the SimpleLocalize API yet.
+   */
+  void uploadArchive(UploadArchiveRequest uploadArchiveRequest) throws IOException, InterruptedException
+  {
+    await(uploadArchiveAsync(uploadArchiveRequest));
+  }
+
+  CompletableFuture<Void> uploadArchiveAsync(UploadArchiveRequest uploadArchiveRequest)
+  {
+    log.info(" 🌍 Uploading archive with {} files", uploadArchiveRequest.getFiles().size());
+    URI uri = uriFactory.buildUploadArchiveUri(uploadArchiveRequest);
+    HttpRequest httpRequest = httpRequestFactory.createUploadArchiveRequest(uri, uploadArchiveRequest);
+    return completeOnExecutor(sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+            .thenAccept(this::throwOnError));
   }
 
   public List<DownloadableFile> fetchDownloadableFiles(DownloadRequest downloadRequest) throws IOException, InterruptedException
+  {
+    return await(fetchDownloadableFilesAsync(downloadRequest));
+  }
+
+  public CompletableFuture<List<DownloadableFile>> fetchDownloadableFilesAsync(DownloadRequest downloadRequest)
+  {
+    List<DownloadableFile> downloadableFiles = Collections.synchronizedList(new ArrayList<>());
+    return fetchDownloadableFilesAsync(downloadRequest, downloadableFiles::add)
+            .thenApply(ignored -> List.copyOf(downloadableFiles));
+  }
+
+  public void fetchDownloadableFiles(DownloadRequest downloadRequest, Consumer<DownloadableFile> consumer) throws IOException, InterruptedException
+  {
+    await(fetchDownloadableFilesAsync(downloadRequest, consumer));
+  }
+
+  /**
+   * Parses the export listing while it is received and passes every file to the consumer as soon as it is read.
+   * The listing is read and the consumer is called on a client thread for blocking I/O, never on the executor
+   * passed to the builder.
+   */
+  public CompletableFuture<Void> fetchDownloadableFilesAsync(DownloadRequest downloadRequest, Consumer<DownloadableFile> consumer)
   {
     log.info(" 🌍 Preparing translation files");
     URI downloadUri = uriFactory.buildDownloadUri(downloadRequest);
     HttpRequest httpRequest = httpRequestFactory.createGetRequest(downloadUri).build();
-    HttpResponse<String> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-    throwOnError(httpResponse);
-    String body = httpResponse.body();
-    ExportResponse exportResponse = objectMapper.readValue(body, ExportResponse.class);
-    return exportResponse.getFiles();
+    return completeOnExecutor(sendAsync(httpRequest, DecompressingBodyHandlers.ofInputStream())
+            .thenAcceptAsync(httpResponse -> {
+              try (InputStream body = httpResponse.body())
+              {
+                throwOnError(httpResponse);
+                readDownloadableFiles(body, consumer);
+              } catch (IOException e)
+              {
+                throw new CompletionException(e);
+              }
+            }, blockingExecutor));
   }
 
-  public void downloadFile(DownloadableFile downloadableFile, String downloadPathTemplate, boolean removeEmptyKeys)
+  private void readDownloadableFiles(InputStream body, Consumer<DownloadableFile> consumer) throws IOException
   {
-    Optional<DownloadableFile> optionalDownloadableFile = Optional.of(downloadableFile);
-    String downloadPath = downloadPathTemplate
-            .replace(NAMESPACE_TEMPLATE_KEY, optionalDownloadableFile.map(DownloadableFile::getNamespace).orElse(""))
-            .replace(LANGUAGE_TEMPLATE_KEY, optionalDownloadableFile.map(DownloadableFile::getLanguage).orElse(""));
-    String url = downloadableFile.getUrl();
-    HttpRequest httpRequest = httpRequestFactory.createGetRequest(URI.create(url)).build();
-    Path savePath = Path.of(downloadPath);
-    try
+    JsonParser parser = objectMapper.getFactory().createParser(body);
+    if (parser.nextToken() != JsonToken.START_OBJECT)
+    {
+      throw new IOException("Unexpected export response");
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME)
     {
-      Path parentDirectory = savePath.getParent();
-      if (parentDirectory != null)
+      String fieldName = parser.getCurrentName();
+      JsonToken valueToken = parser.nextToken();
+      if (!EXPORT_FILES_FIELD_NAME.equals(fieldName) || valueToken != JsonToken.START_ARRAY)
+      {
+        parser.skipChildren();
+        continue;
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT)
       {
-        Files.createDirectories(parentDirectory);
+        consumer.accept(objectMapper.readValue(parser, DownloadableFile.class));
       }
-      log.info(" 🌍 Downloading {}", savePath);
+    }
+  }
 
-      Files.delete(savePath);
+  public void downloadFile(DownloadableFile downloadableFile, String downloadPathTemplate, boolean removeEmptyKeys) throws IOException, InterruptedException
+  {
+    List<JsonTransform> transforms = removeEmptyKeys ? List.of(JsonTransform.REMOVE_EMPTY) : List.of();
+    await(downloadFileAsync(downloadableFile, downloadPathTemplate, transforms, DownloadManifest.disabled()));
+  }
 
-      httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofFile(savePath));
-    } catch (IOException e)
+  public CompletableFuture<Path> downloadFileAsync(DownloadableFile downloadableFile, String downloadPathTemplate, List<JsonTransform> transforms, DownloadManifest downloadManifest)
+  {
+    Path savePath = resolveDownloadPath(downloadPathTemplate, downloadableFile.getLanguage(), downloadableFile.getNamespace());
+    String url = downloadableFile.getUrl();
+    Path temporaryPath;
+    try
     {
-      log.error(" 😝 Download failed: {}", savePath, e);
-    } catch (InterruptedException e)
+      temporaryPath = createTemporaryFile(savePath);
+    } catch (IOException e)
     {
-      log.error(" 😝 Download interrupted: {}", savePath, e);
-      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(e);
     }
 
-    if (removeEmptyKeys) {
-      cleanFile(savePath);
+    // validators are only trusted while the previously downloaded file is still there
+    Optional<DownloadManifest.Entry> previousDownload = downloadManifest.get(savePath).filter(entry -> Files.exists(savePath));
+    // a 304 would keep a file written with other transforms
+    List<String> transformNames = transforms.stream().map(JsonTransform::name).collect(Collectors.toList());
+    Optional<DownloadManifest.Entry> sameTransformsDownload = previousDownload.filter(entry -> transformNames.equals(entry.getTransforms()));
+    HttpRequest.Builder httpRequestBuilder = httpRequestFactory.createGetRequest(URI.create(url));
+    sameTransformsDownload.map(DownloadManifest.Entry::getEtag).ifPresent(etag -> httpRequestBuilder.header(IF_NONE_MATCH_HEADER_NAME, etag));
+    sameTransformsDownload.map(DownloadManifest.Entry::getLastModified).ifPresent(lastModified -> httpRequestBuilder.header(IF_MODIFIED_SINCE_HEADER_NAME, lastModified));
+
+    log.info(" 🌍 Downloading {}", savePath);
+    return completeOnExecutor(sendHedgedAsync(httpRequestBuilder.build(), DecompressingBodyHandlers.ofInputStream())
+            .thenApplyAsync(httpResponse -> {
+              try (InputStream body = httpResponse.body())
+              {
+                if (httpResponse.statusCode() == 304)
+                {
+                  log.info(" 👌 Not modified {}", savePath);
+                  return savePath;
+                }
+                throwOnError(httpResponse);
+
+                String sha256 = writeDownloadedFile(body, temporaryPath, transforms);
+                boolean isContentUnchanged = previousDownload.map(DownloadManifest.Entry::getSha256).filter(sha256::equals).isPresent();
+                if (isContentUnchanged)
+                {
+                  log.info(" 👌 Not modified {}", savePath);
+                } else
+                {
+                  replaceIfChanged(temporaryPath, savePath);
+                }
+
+                DownloadManifest.Entry downloadedEntry = new DownloadManifest.Entry();
+                downloadedEntry.setEtag(httpResponse.headers().firstValue(ETAG_HEADER_NAME).orElse(null));
+                downloadedEntry.setLastModified(httpResponse.headers().firstValue(LAST_MODIFIED_HEADER_NAME).orElse(null));
+                downloadedEntry.setSha256(sha256);
+                downloadedEntry.setTransforms(transformNames);
+                downloadManifest.put(savePath, downloadedEntry);
+                return savePath;
+              } catch (IOException e)
+              {
+                throw new CompletionException(e);
+              }
+            }, blockingExecutor)
+            .whenComplete((path, throwable) -> deleteTemporaryFile(temporaryPath)));
+  }
+
+  /**
+   * Not used by any command, the archive endpoint has not been verified against the SimpleLocalize API yet.
+   */
+  List<Path> downloadArchive(DownloadRequest downloadRequest, String downloadPathTemplate, List<JsonTransform> transforms) throws IOException, InterruptedException
+  {
+    log.info(" 🌍 Downloading translations archive");
+    URI downloadUri = uriFactory.buildDownloadArchiveUri(downloadRequest);
+    HttpRequest httpRequest = httpRequestFactory.createGetRequest(downloadUri).build();
+    HttpResponse<InputStream> httpResponse = send(httpRequest, DecompressingBodyHandlers.ofInputStream());
+    try (ZipInputStream zipInputStream = new ZipInputStream(httpResponse.body()))
+    {
+      throwOnError(httpResponse);
+      List<Path> savedPaths = new ArrayList<>();
+      ZipEntry zipEntry;
+      while ((zipEntry = zipInputStream.getNextEntry()) != null)
+      {
+        if (zipEntry.isDirectory())
+        {
+          continue;
+        }
+        Path savePath = resolveArchiveEntryPath(zipEntry.getName(), downloadPathTemplate);
+        Path temporaryPath = createTemporaryFile(savePath);
+        try
+        {
+          writeDownloadedFile(zipInputStream, temporaryPath, transforms);
+          replaceIfChanged(temporaryPath, savePath);
+        } finally
+        {
+          deleteTemporaryFile(temporaryPath);
+        }
+        savedPaths.add(savePath);
+      }
+      log.info(" 📄  Unpacked {} files", savedPaths.size());
+      return savedPaths;
     }
   }
 
   public int validateGate() throws IOException, InterruptedException
+  {
+    return await(validateGateAsync());
+  }
+
+  public CompletableFuture<Integer> validateGateAsync()
   {
     URI validateUri = uriFactory.buildValidateGateUri();
     HttpRequest httpRequest = httpRequestFactory.createGetRequest(validateUri).build();
-    HttpResponse<String> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-    throwOnError(httpResponse);
-    String json = httpResponse.body();
-    Boolean passed = JsonPath.read(json, "$.data.passed");
-    String message = JsonPath.read(json, "$.data.message");
-    int status = JsonPath.read(json, "$.data.status");
-    log.info(" 🌍 Gate result: {} (status: {}, message: {})", passed, status, message);
-    return status;
+    return sendAsync(httpRequest, DecompressingBodyHandlers.ofString())
+            .thenApplyAsync(httpResponse -> {
+              throwOnError(httpResponse);
+              String json = httpResponse.body();
+              Boolean passed = JsonPath.read(json, "$.data.passed");
+              String message = JsonPath.read(json, "$.data.message");
+              int status = JsonPath.read(json, "$.data.status");
+              log.info(" 🌍 Gate result: {} (status: {}, message: {})", passed, status, message);
+              return status;
+            }, executor);
+  }
+
+  public ClientMetrics getMetrics()
+  {
+    return metrics;
+  }
+
+  public ConcurrencyLimiter getConcurrencyLimiter()
+  {
+    return concurrencyLimiter;
+  }
+
+  private <T> HttpResponse<T> send(HttpRequest httpRequest, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException
+  {
+    return await(sendAsync(httpRequest, bodyHandler));
+  }
+
+  private <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest httpRequest, HttpResponse.BodyHandler<T> bodyHandler)
+  {
+    return sendAsync(httpRequest, bodyHandler, 1);
+  }
+
+  private <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest httpRequest, HttpResponse.BodyHandler<T> bodyHandler, int attempt)
+  {
+    return concurrencyLimiter.acquire()
+            .thenCompose(permit -> sharedConcurrencyLimiter.acquire().thenCompose(sharedPermit -> afterRateLimit().thenCompose(ignored -> {
+              metrics.recordRequest();
+              long sentNanos = System.nanoTime();
+              AtomicBoolean isReleased = new AtomicBoolean();
+              Consumer<Boolean> releasePermits = overloaded -> {
+                if (isReleased.compareAndSet(false, true))
+                {
+                  Duration latency = Duration.ofNanos(System.nanoTime() - sentNanos);
+                  sharedConcurrencyLimiter.release(sharedPermit, latency, overloaded);
+                  concurrencyLimiter.release(permit, latency, overloaded);
+                }
+              };
+              // permits are held while the body is read, so slow transfers count as requests in flight;
+              // the request timeout only limits the wait for the headers, so reading the body gets it once more
+              Duration bodyTimeout = httpRequest.timeout().orElse(null);
+              HttpResponse.BodyHandler<T> releasingBodyHandler = BodyCompletionHandlers.onBodyCompletion(bodyHandler, bodyTimeout,
+                      (statusCode, isFailed) -> releasePermits.accept(isFailed || isOverloaded(statusCode)));
+              return httpClient.sendAsync(httpRequest, releasingBodyHandler)
+                      .whenComplete((httpResponse, throwable) -> {
+                        // time to the headers, which the hedging delay is compared against
+                        metrics.recordLatency(Duration.ofNanos(System.nanoTime() - sentNanos));
+                        if (throwable != null)
+                        {
+                          releasePermits.accept(isOverloaded(httpResponse, throwable));
+                        }
+                      });
+            })))
+            .handle((httpResponse, throwable) -> {
+              Throwable failure = unwrapFailure(throwable);
+              Optional<Duration> nextDelay = retryPolicy.nextDelay(attempt, httpRequest, httpResponse, failure);
+              if (nextDelay.isEmpty())
+              {
+                if (attempt > 1 && retryPolicy.isRetryable(httpRequest, httpResponse, failure))
+                {
+                  metrics.recordExhaustedRetries();
+                }
+                return failure == null ? CompletableFuture.completedFuture(httpResponse) : CompletableFuture.<HttpResponse<T>>failedFuture(failure);
+              }
+
+              metrics.recordRetry();
+              closeBody(httpResponse);
+              String reason = httpResponse != null ? "HTTP Status: " + httpResponse.statusCode() : String.valueOf(failure);
+              log.warn(" 🔁 Retrying {} {} in {} ms ({}, attempt {}/{})", httpRequest.method(), httpRequest.uri().getPath(), nextDelay.get().toMillis(), reason, attempt + 1, retryPolicy.getMaxAttempts());
+              return after(nextDelay.get()).thenCompose(ignored -> sendAsync(httpRequest, bodyHandler, attempt + 1));
+            })
+            .thenCompose(Function.identity());
+  }
+
+  /**
+   * Sends the request and, when the response takes longer than the hedging delay, the same request again.
+   * The first successful response wins, the body of the other one is closed as soon as it arrives.
+   * JDK 11 cannot abort an exchange before its headers arrive, so the losing request is not cancelled earlier.
+   */
+  private <T> CompletableFuture<HttpResponse<T>> sendHedgedAsync(HttpRequest httpRequest, HttpResponse.BodyHandler<T> bodyHandler)
+  {
+    Optional<Duration> hedgeDelay = hedgingPolicy.hedgeDelay(metrics);
+    if (hedgeDelay.isEmpty())
+    {
+      return sendAsync(httpRequest, bodyHandler);
+    }
+
+    CompletableFuture<HttpResponse<T>> firstResponse = new CompletableFuture<>();
+    AtomicBoolean hasResponded = new AtomicBoolean();
+    AtomicInteger pendingRequests = new AtomicInteger(1);
+    completeWithFirstResponse(sendAsync(httpRequest, bodyHandler), firstResponse, hasResponded, pendingRequests, false);
+    after(hedgeDelay.get()).thenRun(() -> {
+      if (firstResponse.isDone() || !hedgingPolicy.tryAcquireHedge(metrics.getRequests()))
+      {
+        return;
+      }
+      pendingRequests.incrementAndGet();
+      metrics.recordHedge();
+      log.info(" 🏁 Hedging slow request {} after {} ms", httpRequest.uri().getPath(), hedgeDelay.get().toMillis());
+      completeWithFirstResponse(sendAsync(httpRequest, bodyHandler), firstResponse, hasResponded, pendingRequests, true);
+    });
+    return firstResponse;
+  }
+
+  private <T> void completeWithFirstResponse(CompletableFuture<HttpResponse<T>> response, CompletableFuture<HttpResponse<T>> firstResponse, AtomicBoolean hasResponded, AtomicInteger pendingRequests, boolean isHedge)
+  {
+    response.whenComplete((httpResponse, throwable) -> {
+      int stillPending = pendingRequests.decrementAndGet();
+      if (throwable == null)
+      {
+        // the winner is counted before completing, dependent stages may run right away
+        if (!hasResponded.compareAndSet(false, true))
+        {
+          closeBody(httpResponse);
+          return;
+        }
+        if (isHedge)
+        {
+          metrics.recordHedgeWin();
+        }
+        firstResponse.complete(httpResponse);
+      } else if (stillPending == 0)
+      {
+        // a failure only counts once no other request can succeed anymore
+        firstResponse.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+      }
+    });
+  }
+
+  /**
+   * Dependent stages of futures returned to callers run on the client executor, never on HttpClient threads.
+   */
+  private <T> CompletableFuture<T> completeOnExecutor(CompletableFuture<T> future)
+  {
+    return future.whenCompleteAsync((result, throwable) -> {
+    }, executor);
+  }
+
+  /**
+   * Failed streamed request bodies reach the HttpClient as the UncheckedIOException of the JDK input stream publisher.
+   */
+  private static Throwable unwrapFailure(Throwable throwable)
+  {
+    Throwable failure = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    return failure instanceof UncheckedIOException ? failure.getCause() : failure;
+  }
+
+  private static boolean isOverloaded(HttpResponse<?> httpResponse, Throwable throwable)
+  {
+    if (httpResponse == null)
+    {
+      return throwable != null;
+    }
+    return isOverloaded(httpResponse.statusCode());
+  }
+
+  private static boolean isOverloaded(int statusCode)
+  {
+    return statusCode == 429 || statusCode >= 500;
+  }
+
+  private CompletableFuture<Void> afterRateLimit()
+  {
+    Duration wait = rateLimiter.reserve();
+    metrics.recordRateLimitWait(wait);
+    return after(wait);
+  }
+
+  private static void closeBody(HttpResponse<?> httpResponse)
+  {
+    if (httpResponse != null && httpResponse.body() instanceof Closeable)
+    {
+      try
+      {
+        ((Closeable) httpResponse.body()).close();
+      } catch (IOException e)
+      {
+        // the response is discarded anyway
+      }
+    }
+  }
+
+  private CompletableFuture<Void> after(Duration delay)
+  {
+    if (delay.isZero())
+    {
+      return CompletableFuture.completedFuture(null);
+    }
+    Executor delayedExecutor = CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, executor);
+    return CompletableFuture.runAsync(() -> {
+    }, delayedExecutor);
+  }
+
+  private static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException
+  {
+    try
+    {
+      return future.get();
+    } catch (ExecutionException e)
+    {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException)
+      {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException)
+      {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
   }
 
   private void throwOnError(HttpResponse<?> httpResponse)
@@ -156,7 +665,7 @@ public class SimpleLocalizeClient
 
       Object responseBody = httpResponse.body();
       String stringBody = safeCastHttpBodyToString(responseBody);
-      String message = JsonPath.using(parseContext).parse(stringBody).read(ERROR_MESSAGE_PATH);
+      String message = stringBody.isEmpty() ? null : JsonPath.using(parseContext).parse(stringBody).read(ERROR_MESSAGE_PATH);
       if (message == null)
       {
         message = "Unknown error, HTTP Status: " + httpResponse.statusCode();
@@ -174,22 +683,279 @@ public class SimpleLocalizeClient
     } else if (responseBody instanceof String)
     {
       return (String) responseBody;
+    } else if (responseBody instanceof InputStream)
+    {
+      try
+      {
+        return new String(((InputStream) responseBody).readAllBytes(), StandardCharsets.UTF_8);
+      } catch (IOException e)
+      {
+        return "";
+      }
     }
     return "";
   }
 
-  private void cleanFile(Path filePath) {
-    try {
-      HashMap obj = (HashMap) new JSONParser(new FileReader(filePath.toString())).parse();
+  private void replaceIfChanged(Path temporaryPath, Path savePath) throws IOException
+  {
+    if (Files.exists(savePath) && hasSameContent(temporaryPath, savePath))
+    {
+      log.info(" 👌 Not modified {}", savePath);
+      return;
+    }
 
-      JsonUtil.removeEmptyFields(obj);
+    try
+    {
+      Files.move(temporaryPath, savePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e)
+    {
+      Files.move(temporaryPath, savePath, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
 
-      PrintWriter out1 = new PrintWriter(new FileWriter(filePath.toString()));
-      out1.write(new JSONObject(obj).toJSONString(new JsonUtil.PrettyJSONStyle()));
-      out1.close();
-      log.info(" 😇 Cleaned {}", filePath);
-    } catch (IOException | JSONParserException e) {
-      log.error(" 😝 Cleaning failed: {}", filePath, e);
+  private static Path resolveDownloadPath(String downloadPathTemplate, String language, String namespace)
+  {
+    String downloadPath = downloadPathTemplate
+            .replace(NAMESPACE_TEMPLATE_KEY, Optional.ofNullable(namespace).orElse(""))
+            .replace(LANGUAGE_TEMPLATE_KEY, Optional.ofNullable(language).orElse(""));
+    return Path.of(downloadPath);
+  }
+
+  /**
+   * Archive entries are named "language/namespace", with "_" for a missing language or namespace.
+   */
+  private static Path resolveArchiveEntryPath(String entryName, String downloadPathTemplate) throws IOException
+  {
+    String[] segments = entryName.split("/", -1);
+    boolean isValidEntryName = segments.length == 2 && Arrays.stream(segments).allMatch(segment -> ARCHIVE_ENTRY_SEGMENT_PATTERN.matcher(segment).matches());
+    if (!isValidEntryName)
+    {
+      throw new IOException("Unexpected archive entry: " + entryName);
+    }
+    String language = ARCHIVE_ENTRY_MISSING_VALUE.equals(segments[0]) ? "" : segments[0];
+    String namespace = ARCHIVE_ENTRY_MISSING_VALUE.equals(segments[1]) ? "" : segments[1];
+    return resolveDownloadPath(downloadPathTemplate, language, namespace);
+  }
+
+  private static Path createTemporaryFile(Path savePath) throws IOException
+  {
+    Path parentDirectory = savePath.toAbsolutePath().getParent();
+    Files.createDirectories(parentDirectory);
+    // created next to the target, so it can be moved into place atomically
+    return Files.createTempFile(parentDirectory, "." + savePath.getFileName() + "-", ".download");
+  }
+
+  private static boolean hasSameContent(Path firstPath, Path secondPath) throws IOException
+  {
+    if (Files.size(firstPath) != Files.size(secondPath))
+    {
+      return false;
+    }
+
+    try (InputStream firstInputStream = Files.newInputStream(firstPath);
+         InputStream secondInputStream = Files.newInputStream(secondPath))
+    {
+      byte[] firstBuffer = new byte[FILE_BUFFER_SIZE];
+      byte[] secondBuffer = new byte[FILE_BUFFER_SIZE];
+      int firstRead;
+      while ((firstRead = firstInputStream.readNBytes(firstBuffer, 0, FILE_BUFFER_SIZE)) > 0)
+      {
+        int secondRead = secondInputStream.readNBytes(secondBuffer, 0, FILE_BUFFER_SIZE);
+        if (firstRead != secondRead || !Arrays.equals(firstBuffer, 0, firstRead, secondBuffer, 0, secondRead))
+        {
+          return false;
+        }
+      }
+      return secondInputStream.read() == -1;
+    }
+  }
+
+  private void deleteTemporaryFile(Path temporaryPath)
+  {
+    try
+    {
+      Files.deleteIfExists(temporaryPath);
+    } catch (IOException e)
+    {
+      log.warn(" 🤔 Temporary file could not be deleted: {}", temporaryPath, e);
+    }
+  }
+
+  /**
+   * Streams the response body into the temporary file through the configured transforms and returns
+   * the SHA-256 of the transforms and of the body as it was sent by the server.
+   * <p>
+   * The body is read as an input stream by the stage which completes the response future instead of using
+   * {@link HttpResponse.BodySubscribers#mapping}, whose mapper must not block on an input stream body.
+   */
+  private static String writeDownloadedFile(InputStream body, Path temporaryPath, List<JsonTransform> transforms) throws IOException
+  {
+    MessageDigest messageDigest = newSha256Digest();
+    if (!transforms.isEmpty())
+    {
+      messageDigest.update(transforms.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    // the body is owned by the caller, archive entries share one stream
+    InputStream digestInputStream = new DigestInputStream(body, messageDigest);
+    try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(temporaryPath)))
+    {
+      if (transforms.isEmpty())
+      {
+        digestInputStream.transferTo(outputStream);
+      } else
+      {
+        JsonUtil.transform(digestInputStream, outputStream, transforms);
+        // the digest covers the whole body, including anything the JSON parser did not need to read
+        digestInputStream.transferTo(OutputStream.nullOutputStream());
+      }
+    }
+
+    byte[] digest = messageDigest.digest();
+    StringBuilder hex = new StringBuilder(digest.length * 2);
+    for (byte digestByte : digest)
+    {
+      hex.append(Character.forDigit((digestByte >> 4) & 0xF, 16)).append(Character.forDigit(digestByte & 0xF, 16));
+    }
+    return hex.toString();
+  }
+
+  private static MessageDigest newSha256Digest()
+  {
+    try
+    {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e)
+    {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static final class ClientThreadFactory implements ThreadFactory
+  {
+    private final String namePrefix;
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    private ClientThreadFactory(String namePrefix)
+    {
+      this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable)
+    {
+      Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+      // the pool must not keep the JVM of a finished command alive
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  public static final class SimpleLocalizeClientBuilder
+  {
+    private String baseUrl = PRODUCTION_BASE_URL;
+    private String apiKey;
+    private RetryPolicy retryPolicy = aRetryPolicy().build();
+    private RateLimiter rateLimiter = RateLimiter.unlimited();
+    private ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.unlimited();
+    private ConcurrencyLimiter sharedConcurrencyLimiter = ConcurrencyLimiter.unlimited();
+    private HedgingPolicy hedgingPolicy = HedgingPolicy.disabled();
+    private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private Duration requestTimeout;
+    private SSLContext sslContext;
+    private Executor executor;
+    private HttpClient httpClient;
+
+    private SimpleLocalizeClientBuilder()
+    {
+    }
+
+    public SimpleLocalizeClientBuilder withBaseUrl(String baseUrl)
+    {
+      this.baseUrl = baseUrl;
+      return this;
+    }
+
+    public SimpleLocalizeClientBuilder withApiKey(String apiKey)
+    {
+      this.apiKey = apiKey;
+      return this;
+    }
+
+    public SimpleLocalizeClientBuilder withRetryPolicy(RetryPolicy retryPolicy)
+    {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    public SimpleLocalizeClientBuilder withRateLimiter(RateLimiter rateLimiter)
+    {
+      this.rateLimiter = rateLimiter;
+      return this;
+    }
+
+    public SimpleLocalizeClientBuilder withConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter)
+    {
+      this.concurrencyLimiter = concurrencyLimiter;
+      return this;
+    }
+
+    /**
+     * Limit shared with other clients, a request waits for a permit of both limiters.
+     */
+    public SimpleLocalizeClientBuilder withSharedConcurrencyLimiter(ConcurrencyLimiter sharedConcurrencyLimiter)
+    {
+      this.sharedConcurrencyLimiter = sharedConcurrencyLimiter;
+      return this;
+    }
+
+    public SimpleLocalizeClientBuilder withHedgingPolicy(HedgingPolicy hedgingPolicy)
+    {
+      this.hedgingPolicy = hedgingPolicy;
+      return this;
+    }
+
+    public SimpleLocalizeClientBuilder withConnectTimeout(Duration connectTimeout)
+    {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    public SimpleLocalizeClientBuilder withRequestTimeout(Duration requestTimeout)
+    {
+      this.requestTimeout = requestTimeout;
+      return this;
+    }
+
+    public SimpleLocalizeClientBuilder withSslContext(SSLContext sslContext)
+    {
+      this.sslContext = sslContext;
+      return this;
+    }
+
+    /**
+     * Runs responses, delayed retries and the dependent stages of returned futures on the given executor instead
+     * of a pool owned by the client. Blocking body reads and file writes run on a separate pool owned by the client,
+     * so the executor may be bounded, even to a single thread, whatever the download concurrency.
+     */
+    public SimpleLocalizeClientBuilder withExecutor(Executor executor)
+    {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sends requests over the connection pool of the given client, which may be shared by clients of other projects.
+     * Its connect timeout and SSL context apply instead of the ones set on this builder.
+     */
+    public SimpleLocalizeClientBuilder withHttpClient(HttpClient httpClient)
+    {
+      this.httpClient = httpClient;
+      return this;
+    }
+
+    public SimpleLocalizeClient build()
+    {
+      return new SimpleLocalizeClient(this);
     }
   }
 }
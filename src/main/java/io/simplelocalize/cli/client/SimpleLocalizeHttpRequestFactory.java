@@ -1,7 +1,7 @@
 package io.simplelocalize.cli.client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import io.simplelocalize.cli.Version;
+import io.simplelocalize.cli.client.dto.UploadArchiveRequest;
 import io.simplelocalize.cli.client.dto.UploadRequest;
 
 import java.io.IOException;
@@ -9,6 +9,7 @@ import java.net.URI;
 import java.net.http.HttpRequest;
 import java.nio.file.Path;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -18,17 +19,28 @@ public class SimpleLocalizeHttpRequestFactory
   private static final String TOKEN_HEADER_NAME = "X-SimpleLocalize-Token";
   private static final String CLI_VERSION_HEADER_NAME = "X-SimpleLocalize-Cli-Version";
   private static final String CONTENT_TYPE_HEADER_NAME = "Content-Type";
+  private static final String ACCEPT_ENCODING_HEADER_NAME = "Accept-Encoding";
   private final String apiKey;
+  private final Duration requestTimeout;
   private final SecureRandom random;
 
 
   public SimpleLocalizeHttpRequestFactory(String apiKey)
+  {
+    this(apiKey, null);
+  }
+
+  /**
+   * @param requestTimeout time until the response headers have to arrive, and once more to receive the body, null to wait without a limit
+   */
+  public SimpleLocalizeHttpRequestFactory(String apiKey, Duration requestTimeout)
   {
     this.apiKey = apiKey;
+    this.requestTimeout = requestTimeout;
     this.random = new SecureRandom();
   }
 
-  HttpRequest createSendKeysRequest(URI uri, Collection<String> keys) throws JsonProcessingException
+  HttpRequest createSendKeysRequest(URI uri, Collection<String> keys)
   {
     return createBaseRequest(uri)
             .POST(ClientBodyBuilders.ofKeysBody(keys))
@@ -38,8 +50,7 @@ public class SimpleLocalizeHttpRequestFactory
 
   HttpRequest createUploadFileRequest(URI uri, UploadRequest uploadRequest) throws IOException
   {
-    int pseudoRandomNumber = (int) (random.nextDouble() * 1_000_000_000);
-    String boundary = "simplelocalize-" + pseudoRandomNumber;
+    String boundary = nextBoundary();
     Map<Object, Object> formData = new HashMap<>();
     Path uploadPath = uploadRequest.getPath();
     formData.put("file", uploadPath);
@@ -50,17 +61,48 @@ public class SimpleLocalizeHttpRequestFactory
 
   }
 
+  HttpRequest createUploadArchiveRequest(URI uri, UploadArchiveRequest uploadArchiveRequest)
+  {
+    String boundary = nextBoundary();
+    return createBaseRequest(uri)
+            .POST(ClientBodyBuilders.ofMimeMultipartArchive(uploadArchiveRequest.getFiles(), boundary))
+            .header(CONTENT_TYPE_HEADER_NAME, "multipart/form-data; boundary=" + boundary)
+            .build();
+  }
+
+  HttpRequest createWarmUpRequest(URI uri)
+  {
+    return HttpRequest.newBuilder()
+            .uri(uri)
+            .header(CLI_VERSION_HEADER_NAME, Version.NUMBER)
+            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+            .build();
+  }
+
   HttpRequest.Builder createGetRequest(URI uri)
   {
-    return createBaseRequest(uri).GET();
+    return createBaseRequest(uri)
+            .header(ACCEPT_ENCODING_HEADER_NAME, DecompressingBodyHandlers.ACCEPT_ENCODING)
+            .GET();
   }
 
   HttpRequest.Builder createBaseRequest(URI uri)
   {
-    return HttpRequest.newBuilder()
+    HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
             .uri(uri)
             .header(CLI_VERSION_HEADER_NAME, Version.NUMBER)
             .header(TOKEN_HEADER_NAME, apiKey);
+    if (requestTimeout != null)
+    {
+      requestBuilder.timeout(requestTimeout);
+    }
+    return requestBuilder;
+  }
+
+  private String nextBoundary()
+  {
+    int pseudoRandomNumber = (int) (random.nextDouble() * 1_000_000_000);
+    return "simplelocalize-" + pseudoRandomNumber;
   }
 
 }
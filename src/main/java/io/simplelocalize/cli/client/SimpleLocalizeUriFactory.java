@@ -1,6 +1,7 @@
 package io.simplelocalize.cli.client;
 
 import io.simplelocalize.cli.client.dto.DownloadRequest;
+import io.simplelocalize.cli.client.dto.UploadArchiveRequest;
 import io.simplelocalize.cli.client.dto.UploadRequest;
 import org.apache.commons.lang3.StringUtils;
 
@@ -18,6 +19,11 @@ public class SimpleLocalizeUriFactory
     this.baseUrl = baseUrl;
   }
 
+  URI buildBaseUri()
+  {
+    return URI.create(baseUrl + "/");
+  }
+
   URI buildSendKeysURI()
   {
     return URI.create(baseUrl + CLI_VERSION_1_API + "/keys");
@@ -25,7 +31,18 @@ public class SimpleLocalizeUriFactory
 
   URI buildDownloadUri(DownloadRequest downloadRequest)
   {
-    String endpointUrl = baseUrl + CLI_VERSION_2_API + "/download?downloadFormat=" + downloadRequest.getFormat();
+    return buildDownloadUri("/download", downloadRequest);
+  }
+
+  // assumed endpoint, only tested against a local stand-in server so far
+  URI buildDownloadArchiveUri(DownloadRequest downloadRequest)
+  {
+    return buildDownloadUri("/download/archive", downloadRequest);
+  }
+
+  private URI buildDownloadUri(String endpointPath, DownloadRequest downloadRequest)
+  {
+    String endpointUrl = baseUrl + CLI_VERSION_2_API + endpointPath + "?downloadFormat=" + downloadRequest.getFormat();
     String languageKey = downloadRequest.getLanguageKey();
     boolean isRequestedTranslationsForSpecificLanguage = StringUtils.isNotEmpty(languageKey);
     if (isRequestedTranslationsForSpecificLanguage)
@@ -66,6 +83,18 @@ public class SimpleLocalizeUriFactory
     return URI.create(endpointUrl);
   }
 
+  // assumed endpoint, only tested against a local stand-in server so far
+  URI buildUploadArchiveUri(UploadArchiveRequest uploadArchiveRequest)
+  {
+    String endpointUrl = baseUrl + CLI_VERSION_2_API + "/upload/archive?uploadFormat=" + uploadArchiveRequest.getFormat();
+    List<String> uploadOptions = uploadArchiveRequest.getOptions();
+    if (!uploadOptions.isEmpty())
+    {
+      endpointUrl += "&uploadOptions=" + String.join(",", uploadOptions);
+    }
+    return URI.create(endpointUrl);
+  }
+
   URI buildValidateGateUri()
   {
     return URI.create(baseUrl + CLI_VERSION_1_API + "/validate/gate");
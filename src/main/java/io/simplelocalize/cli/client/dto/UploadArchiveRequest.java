@@ -0,0 +1,87 @@
+package io.simplelocalize.cli.client.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+public class UploadArchiveRequest
+{
+
+  private List<FileToUpload> files;
+  private String format;
+  private List<String> options;
+
+  public List<FileToUpload> getFiles()
+  {
+    return files;
+  }
+
+  public String getFormat()
+  {
+    return format;
+  }
+
+  public List<String> getOptions()
+  {
+    return options;
+  }
+
+  @Override
+  public boolean equals(Object o)
+  {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    UploadArchiveRequest that = (UploadArchiveRequest) o;
+    return Objects.equals(files, that.files) &&
+            Objects.equals(format, that.format) &&
+            Objects.equals(options, that.options);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(files, format, options);
+  }
+
+  public static final class UploadArchiveRequestBuilder
+  {
+    private List<FileToUpload> files;
+    private String format;
+    private List<String> options;
+
+    private UploadArchiveRequestBuilder()
+    {
+    }
+
+    public static UploadArchiveRequestBuilder anUploadArchiveRequest()
+    {
+      return new UploadArchiveRequestBuilder();
+    }
+
+    public UploadArchiveRequestBuilder withFiles(List<FileToUpload> files)
+    {
+      this.files = files;
+      return this;
+    }
+
+    public UploadArchiveRequestBuilder withFormat(String uploadFormat)
+    {
+      this.format = uploadFormat;
+      return this;
+    }
+
+    public UploadArchiveRequestBuilder withOptions(List<String> uploadOptions)
+    {
+      this.options = uploadOptions;
+      return this;
+    }
+
+    public UploadArchiveRequest build()
+    {
+      UploadArchiveRequest uploadArchiveRequest = new UploadArchiveRequest();
+      uploadArchiveRequest.files = this.files;
+      uploadArchiveRequest.format = this.format;
+      uploadArchiveRequest.options = this.options;
+      return uploadArchiveRequest;
+    }
+  }
+}
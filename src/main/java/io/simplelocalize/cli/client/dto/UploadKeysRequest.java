@@ -0,0 +1,91 @@
+package io.simplelocalize.cli.client.dto;
+
+import java.util.Collection;
+import java.util.Objects;
+
+public class UploadKeysRequest
+{
+
+  private Collection<String> keys;
+  private int batchSize;
+  private int concurrency;
+
+  public Collection<String> getKeys()
+  {
+    return keys;
+  }
+
+  public int getBatchSize()
+  {
+    return batchSize;
+  }
+
+  public int getConcurrency()
+  {
+    return concurrency;
+  }
+
+  @Override
+  public boolean equals(Object o)
+  {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    UploadKeysRequest that = (UploadKeysRequest) o;
+    return batchSize == that.batchSize &&
+            concurrency == that.concurrency &&
+            Objects.equals(keys, that.keys);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(keys, batchSize, concurrency);
+  }
+
+  public static final class UploadKeysRequestBuilder
+  {
+    private Collection<String> keys;
+    private int batchSize;
+    private int concurrency = 1;
+
+    private UploadKeysRequestBuilder()
+    {
+    }
+
+    public static UploadKeysRequestBuilder anUploadKeysRequest()
+    {
+      return new UploadKeysRequestBuilder();
+    }
+
+    public UploadKeysRequestBuilder withKeys(Collection<String> keys)
+    {
+      this.keys = keys;
+      return this;
+    }
+
+    /**
+     * Zero or less sends all keys in one request, which is the default as long as the API is not known to add
+     * the keys of a request to the ones sent before instead of replacing them.
+     */
+    public UploadKeysRequestBuilder withBatchSize(int batchSize)
+    {
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    public UploadKeysRequestBuilder withConcurrency(int concurrency)
+    {
+      this.concurrency = concurrency;
+      return this;
+    }
+
+    public UploadKeysRequest build()
+    {
+      UploadKeysRequest uploadKeysRequest = new UploadKeysRequest();
+      uploadKeysRequest.keys = this.keys;
+      uploadKeysRequest.batchSize = this.batchSize > 0 ? this.batchSize : Integer.MAX_VALUE;
+      uploadKeysRequest.concurrency = Math.max(1, this.concurrency);
+      return uploadKeysRequest;
+    }
+  }
+}
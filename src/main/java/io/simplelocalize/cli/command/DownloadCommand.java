@@ -1,21 +1,39 @@
 package io.simplelocalize.cli.command;
 
 import io.simplelocalize.cli.TemplateKeys;
+import io.simplelocalize.cli.client.DownloadManifest;
 import io.simplelocalize.cli.client.SimpleLocalizeClient;
 import io.simplelocalize.cli.client.dto.DownloadRequest;
 import io.simplelocalize.cli.client.dto.DownloadableFile;
 import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.exception.CommandException;
+import io.simplelocalize.cli.exception.DownloadException;
+import io.simplelocalize.cli.util.JsonTransform;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.simplelocalize.cli.client.dto.DownloadRequest.DownloadRequestBuilder.aDownloadRequest;
 
 public class DownloadCommand implements CliCommand
 {
   private static final Logger log = LoggerFactory.getLogger(DownloadCommand.class);
+  private static final String JSON_FORMAT_NAME = "json";
 
   private final SimpleLocalizeClient client;
   private final Configuration configuration;
@@ -38,7 +56,7 @@ public class DownloadCommand implements CliCommand
     String downloadFormat = configuration.getDownloadFormat();
     String languageKey = configuration.getLanguageKey();
     List<String> downloadOptions = configuration.getDownloadOptions();
-    boolean removeEmptyKeys = configuration.getRemoveEmptyKeys();
+    List<JsonTransform> transforms = getTransforms(downloadFormat);
 
     if (downloadPath.contains(TemplateKeys.NAMESPACE_TEMPLATE_KEY))
     {
@@ -57,22 +75,197 @@ public class DownloadCommand implements CliCommand
             .withLanguageKey(languageKey)
             .build();
 
+    DownloadManifest downloadManifest = loadDownloadManifest();
+    DownloadQueue downloadQueue = new DownloadQueue(maxConcurrency(configuration.getDownloadConcurrency()), downloadPath, transforms, downloadManifest);
+    Map<String, Throwable> failedDownloads = downloadQueue.failedDownloads;
+    List<CompletableFuture<?>> downloads = downloadQueue.downloads;
     try
     {
-      List<DownloadableFile> downloadableFiles = client.fetchDownloadableFiles(downloadRequest);
-      downloadableFiles
-              .parallelStream()
-              .forEach(downloadableFile -> client.downloadFile(downloadableFile, downloadPath, removeEmptyKeys));
-      log.info(" 🎉 Download success!");
+      // downloads start while the rest of the listing is still being read
+      client.fetchDownloadableFiles(downloadRequest, downloadQueue::submit);
     } catch (InterruptedException e)
     {
       log.error(" 😝 Translations could not be downloaded", e);
       Thread.currentThread().interrupt();
+      return;
     } catch (IOException e)
     {
-      log.error(" 😝 Translations could not be downloaded", e);
-      System.exit(1);
+      awaitDownloads(downloads);
+      saveDownloadManifest(downloadManifest);
+      throw new CommandException("Translations could not be downloaded", e);
+    }
+
+    awaitDownloads(downloads);
+    saveDownloadManifest(downloadManifest);
+    if (!failedDownloads.isEmpty())
+    {
+      failedDownloads.forEach((file, failure) -> log.error(" 😝 Download failed: {} ({})", file, failure.getMessage()));
+      String message = failedDownloads.size() + " of " + downloads.size() + " files could not be downloaded";
+      log.error(" 😝 {}", message);
+      throw new DownloadException(message, failedDownloads);
+    }
+    log.info(" 🎉 Download success!");
+  }
+
+  /**
+   * Transforms parse the downloaded files as JSON, so files in other formats are saved as they were sent.
+   */
+  private List<JsonTransform> getTransforms(String downloadFormat)
+  {
+    List<JsonTransform> transforms = new ArrayList<>();
+    if (configuration.getRemoveEmptyKeys())
+    {
+      transforms.add(JsonTransform.REMOVE_EMPTY);
+    }
+    configuration.getDownloadTransforms().stream()
+            .map(JsonTransform::valueOf)
+            .forEach(transforms::add);
+
+    boolean isJsonFormat = StringUtils.containsIgnoreCase(downloadFormat, JSON_FORMAT_NAME);
+    if (!transforms.isEmpty() && !isJsonFormat)
+    {
+      log.warn(" 🤔 Skipping {}, transforms only apply to JSON download formats, not to '{}'", transforms, downloadFormat);
+      return List.of();
+    }
+    return transforms;
+  }
+
+  /**
+   * With adaptive concurrency the client decides how many requests are in flight, up to its maximum.
+   */
+  private int maxConcurrency(int concurrency)
+  {
+    if (configuration.getAdaptiveConcurrency())
+    {
+      return Math.max(1, configuration.getAdaptiveConcurrencyMax());
+    }
+    return Math.max(1, concurrency);
+  }
+
+  private DownloadManifest loadDownloadManifest()
+  {
+    String downloadManifestPath = configuration.getDownloadManifestPath();
+    if (StringUtils.isBlank(downloadManifestPath))
+    {
+      return DownloadManifest.disabled();
+    }
+    return DownloadManifest.load(Path.of(downloadManifestPath));
+  }
+
+  private void saveDownloadManifest(DownloadManifest downloadManifest)
+  {
+    try
+    {
+      downloadManifest.save();
+    } catch (IOException e)
+    {
+      log.warn(" 🤔 Download manifest could not be saved: {}", configuration.getDownloadManifestPath(), e);
     }
   }
 
+  private void awaitDownloads(List<CompletableFuture<?>> downloads)
+  {
+    try
+    {
+      CompletableFuture.allOf(downloads.toArray(CompletableFuture[]::new))
+              .exceptionally(throwable -> null)
+              .get();
+    } catch (InterruptedException e)
+    {
+      log.error(" 😝 Download interrupted", e);
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e)
+    {
+      // failures are collected per file
+    }
+  }
+
+  private String describe(DownloadableFile downloadableFile)
+  {
+    String fileDescription = Stream.of(downloadableFile.getLanguage(), downloadableFile.getNamespace())
+            .filter(StringUtils::isNotEmpty)
+            .collect(Collectors.joining("/"));
+    return StringUtils.defaultIfEmpty(fileDescription, downloadableFile.getUrl());
+  }
+
+  /**
+   * Starts a queued download whenever a running one finishes, so neither the listing nor the download stages
+   * ever wait for a free slot on a client thread.
+   */
+  private final class DownloadQueue
+  {
+    private final int maxInFlight;
+    private final String downloadPath;
+    private final List<JsonTransform> transforms;
+    private final DownloadManifest downloadManifest;
+    private final Map<String, Throwable> failedDownloads = new ConcurrentSkipListMap<>();
+    private final List<CompletableFuture<?>> downloads = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<QueuedDownload> queuedDownloads = new ArrayDeque<>();
+    private int inFlight;
+
+    private DownloadQueue(int maxInFlight, String downloadPath, List<JsonTransform> transforms, DownloadManifest downloadManifest)
+    {
+      this.maxInFlight = maxInFlight;
+      this.downloadPath = downloadPath;
+      this.transforms = transforms;
+      this.downloadManifest = downloadManifest;
+    }
+
+    private void submit(DownloadableFile downloadableFile)
+    {
+      QueuedDownload queuedDownload = new QueuedDownload(downloadableFile);
+      downloads.add(queuedDownload.completion);
+      synchronized (this)
+      {
+        if (inFlight >= maxInFlight)
+        {
+          queuedDownloads.add(queuedDownload);
+          return;
+        }
+        inFlight++;
+      }
+      start(queuedDownload);
+    }
+
+    private void start(QueuedDownload queuedDownload)
+    {
+      DownloadableFile downloadableFile = queuedDownload.downloadableFile;
+      client.downloadFileAsync(downloadableFile, downloadPath, transforms, downloadManifest)
+              .whenComplete((savePath, throwable) -> {
+                if (throwable != null)
+                {
+                  Throwable failure = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                  failedDownloads.put(describe(downloadableFile), failure);
+                }
+                queuedDownload.completion.complete(null);
+                startNext();
+              });
+    }
+
+    private void startNext()
+    {
+      QueuedDownload nextDownload;
+      synchronized (this)
+      {
+        nextDownload = queuedDownloads.poll();
+        if (nextDownload == null)
+        {
+          inFlight--;
+          return;
+        }
+      }
+      start(nextDownload);
+    }
+  }
+
+  private static final class QueuedDownload
+  {
+    private final DownloadableFile downloadableFile;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private QueuedDownload(DownloadableFile downloadableFile)
+    {
+      this.downloadableFile = downloadableFile;
+    }
+  }
 }
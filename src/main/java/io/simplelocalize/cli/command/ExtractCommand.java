@@ -1,30 +1,46 @@
 package io.simplelocalize.cli.command;
 
 import io.simplelocalize.cli.client.SimpleLocalizeClient;
+import io.simplelocalize.cli.client.dto.UploadKeysRequest;
 import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.exception.CommandException;
+import io.simplelocalize.cli.extraction.ExtractionCache;
 import io.simplelocalize.cli.extraction.ExtractionResult;
 import io.simplelocalize.cli.extraction.ProjectProcessorFactory;
+import io.simplelocalize.cli.extraction.files.DirectoryWalks;
 import io.simplelocalize.cli.extraction.processor.ExtractionProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import static io.simplelocalize.cli.client.dto.UploadKeysRequest.UploadKeysRequestBuilder.anUploadKeysRequest;
+
 public class ExtractCommand implements CliCommand
 {
   private static final Logger log = LoggerFactory.getLogger(ExtractCommand.class);
 
   private final SimpleLocalizeClient client;
   private final Configuration configuration;
+  private final ExtractionCache extractionCache;
+  private final DirectoryWalks directoryWalks;
 
   public ExtractCommand(SimpleLocalizeClient client, Configuration configuration)
+  {
+    this(client, configuration, ExtractionCache.disabled(), DirectoryWalks.none());
+  }
+
+  public ExtractCommand(SimpleLocalizeClient client, Configuration configuration, ExtractionCache extractionCache, DirectoryWalks directoryWalks)
   {
     this.configuration = configuration;
     this.client = client;
+    this.extractionCache = extractionCache;
+    this.directoryWalks = directoryWalks;
   }
 
   public void invoke()
@@ -35,7 +51,7 @@ public class ExtractCommand implements CliCommand
     log.info(" 🕵️‍♂️ Running keys extraction");
     ProjectProcessorFactory processorFactory = new ProjectProcessorFactory();
     ExtractionProcessor extractionProcessor = processorFactory.createForType(projectType);
-    ExtractionResult result = extractionProcessor.process(Paths.get(searchDir));
+    ExtractionResult result = extractionCache.process(extractionProcessor, directoryWalks.walk(Paths.get(searchDir)));
 
     Set<String> keys = result.getKeys();
     List<Path> processedFiles = result.getProcessedFiles();
@@ -46,11 +62,19 @@ public class ExtractCommand implements CliCommand
 
     try
     {
-      client.uploadKeys(keys);
-    } catch (Exception e)
+      UploadKeysRequest uploadKeysRequest = anUploadKeysRequest()
+              .withKeys(keys)
+              .withBatchSize(configuration.getUploadKeysBatchSize())
+              .withConcurrency(configuration.getUploadKeysConcurrency())
+              .build();
+      client.uploadKeys(uploadKeysRequest);
+    } catch (InterruptedException e)
     {
-      log.error(" 😝 Keys upload failed. Contact support: contact@simplelocalize.io", e);
       Thread.currentThread().interrupt();
+      throw new CommandException("Keys upload was interrupted", e);
+    } catch (IOException e)
+    {
+      throw new CommandException("Keys upload failed. Contact support: contact@simplelocalize.io", e);
     }
   }
 }
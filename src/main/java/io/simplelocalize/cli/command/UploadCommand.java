@@ -5,30 +5,49 @@ import io.simplelocalize.cli.client.dto.FileToUpload;
 import io.simplelocalize.cli.client.dto.UploadRequest;
 import io.simplelocalize.cli.configuration.Configuration;
 import io.simplelocalize.cli.configuration.ConfigurationValidator;
+import io.simplelocalize.cli.exception.CommandException;
 import io.simplelocalize.cli.io.FileListReader;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static io.simplelocalize.cli.client.dto.FileToUpload.FileToUploadBuilder.aFileToUpload;
 import static io.simplelocalize.cli.client.dto.UploadRequest.UploadFileRequestBuilder.anUploadFileRequest;
 
 public class UploadCommand implements CliCommand
 {
   private static final Logger log = LoggerFactory.getLogger(UploadCommand.class);
+
+  private static final int QUEUED_FILES_PER_WORKER = 16;
+  private static final FileToUpload END_OF_FILES = aFileToUpload().build();
+
   private final FileListReader fileListReader;
   private final SimpleLocalizeClient client;
   private final Configuration configuration;
   private final ConfigurationValidator configurationValidator;
 
   public UploadCommand(SimpleLocalizeClient client, Configuration configuration)
+  {
+    this(client, configuration, new FileListReader());
+  }
+
+  UploadCommand(SimpleLocalizeClient client, Configuration configuration, FileListReader fileListReader)
   {
     this.configuration = configuration;
     this.client = client;
-    this.fileListReader = new FileListReader();
+    this.fileListReader = fileListReader;
     this.configurationValidator = new ConfigurationValidator();
   }
 
@@ -44,57 +63,155 @@ public class UploadCommand implements CliCommand
   {
     configurationValidator.validateUploadConfiguration(configuration);
 
-    List<FileToUpload> filesToUpload = List.of();
+    int workers = maxConcurrency(configuration.getUploadConcurrency());
+    BlockingQueue<FileToUpload> filesToUpload = new ArrayBlockingQueue<>(workers * QUEUED_FILES_PER_WORKER);
+    AtomicReference<RuntimeException> uploadFailure = new AtomicReference<>();
+    ExecutorService uploadExecutor = Executors.newFixedThreadPool(workers);
+    for (int i = 0; i < workers; i++)
+    {
+      uploadExecutor.execute(() -> uploadQueuedFiles(filesToUpload, uploadFailure));
+    }
+
+    AtomicInteger foundFiles = new AtomicInteger();
     try
     {
-      filesToUpload = fileListReader.findFilesToUpload(configuration.getUploadPath());
-    } catch (IOException e)
+      fileListReader.findFilesToUpload(configuration.getUploadPath(), fileToUpload -> {
+        foundFiles.incrementAndGet();
+        if (shouldUpload(fileToUpload))
+        {
+          enqueue(filesToUpload, fileToUpload);
+        }
+      });
+    } catch (IOException | UncheckedIOException e)
+    {
+      // queued uploads are skipped and the failure is thrown once the workers stopped
+      uploadFailure.compareAndSet(null, new CommandException("Matching files could not be found", e));
+    } catch (RuntimeException e)
+    {
+      uploadFailure.compareAndSet(null, e);
+    } finally
+    {
+      for (int i = 0; i < workers; i++)
+      {
+        enqueue(filesToUpload, END_OF_FILES);
+      }
+      log.info(" 📄  Found {} files to upload", foundFiles.get());
+      // uploads already started must not outlive the command, whatever stopped the discovery
+      awaitUploads(uploadExecutor);
+    }
+
+    RuntimeException failure = uploadFailure.get();
+    if (failure != null)
     {
-      log.error(" 😝 Matching files could not be found", e);
-      System.exit(1);
+      throw failure;
     }
+  }
 
-    log.info(" 📄  Found {} files to upload", filesToUpload.size());
+  private int maxConcurrency(int concurrency)
+  {
+    if (configuration.getAdaptiveConcurrency())
+    {
+      return Math.max(1, configuration.getAdaptiveConcurrencyMax());
+    }
+    return Math.max(1, concurrency);
+  }
+
+  private boolean shouldUpload(FileToUpload fileToUpload)
+  {
     String languageKey = configuration.getLanguageKey();
-    for (FileToUpload fileToUpload : filesToUpload)
+    String fileLanguageKey = Optional.of(fileToUpload).map(FileToUpload::getLanguage).orElse("");
+    boolean hasLanguageKey = StringUtils.isNotBlank(languageKey);
+    boolean isLanguageMatching = fileLanguageKey.equals(languageKey);
+    if (!isLanguageMatching && hasLanguageKey)
     {
-      try
-      {
-        String fileLanguageKey = Optional.of(fileToUpload).map(FileToUpload::getLanguage).orElse("");
-        boolean hasLanguageKey = StringUtils.isNotBlank(languageKey);
-        boolean isLanguageMatching = fileLanguageKey.equals(languageKey);
-        if (!isLanguageMatching && hasLanguageKey)
-        {
-          log.info(" 🤔 Skipping '{}' language file: {}", fileToUpload.getLanguage(), fileToUpload.getPath());
-          continue;
-        }
+      log.info(" 🤔 Skipping '{}' language file: {}", fileToUpload.getLanguage(), fileToUpload.getPath());
+      return false;
+    }
 
-        long length = fileToUpload.getPath().toFile().length();
-        if (length == 0)
-        {
-          log.warn(" 🤔 Skipping empty file: {}", fileToUpload.getPath());
-          continue;
-        }
+    long length = fileToUpload.getPath().toFile().length();
+    if (length == 0)
+    {
+      log.warn(" 🤔 Skipping empty file: {}", fileToUpload.getPath());
+      return false;
+    }
+    return true;
+  }
 
-        String uploadFormat = configuration.getUploadFormat();
-        List<String> uploadOptions = configuration.getUploadOptions();
-        UploadRequest uploadRequest = anUploadFileRequest()
-                .withPath(fileToUpload.getPath())
-                .withLanguageKey(fileLanguageKey)
-                .withNamespace(fileToUpload.getNamespace())
-                .withFormat(uploadFormat)
-                .withOptions(uploadOptions)
-                .build();
-
-        client.uploadFile(uploadRequest);
-      } catch (IOException e)
+  private void enqueue(BlockingQueue<FileToUpload> filesToUpload, FileToUpload fileToUpload)
+  {
+    try
+    {
+      filesToUpload.put(fileToUpload);
+    } catch (InterruptedException e)
+    {
+      log.error(" 😝 Upload interrupted: {}", fileToUpload.getPath(), e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void awaitUploads(ExecutorService uploadExecutor)
+  {
+    uploadExecutor.shutdown();
+    try
+    {
+      while (!uploadExecutor.awaitTermination(1, TimeUnit.MINUTES))
       {
-        log.warn(" 😝 Upload failed: {}", fileToUpload.getPath(), e);
-      } catch (InterruptedException e)
+        log.info(" ⏳ Waiting for uploads to finish");
+      }
+    } catch (InterruptedException e)
+    {
+      uploadExecutor.shutdownNow();
+      log.error(" 😝 Upload interrupted", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void uploadQueuedFiles(BlockingQueue<FileToUpload> filesToUpload, AtomicReference<RuntimeException> uploadFailure)
+  {
+    try
+    {
+      FileToUpload fileToUpload = filesToUpload.take();
+      while (fileToUpload != END_OF_FILES)
       {
-        log.error(" 😝 Upload interrupted: {}", fileToUpload.getPath(), e);
-        Thread.currentThread().interrupt();
+        // after the first fatal failure the queue is only drained, so discovery never blocks on a full queue
+        if (uploadFailure.get() == null)
+        {
+          uploadFile(fileToUpload, uploadFailure);
+        }
+        fileToUpload = filesToUpload.take();
       }
+    } catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void uploadFile(FileToUpload fileToUpload, AtomicReference<RuntimeException> uploadFailure)
+  {
+    try
+    {
+      String fileLanguageKey = Optional.of(fileToUpload).map(FileToUpload::getLanguage).orElse("");
+      String uploadFormat = configuration.getUploadFormat();
+      List<String> uploadOptions = configuration.getUploadOptions();
+      UploadRequest uploadRequest = anUploadFileRequest()
+              .withPath(fileToUpload.getPath())
+              .withLanguageKey(fileLanguageKey)
+              .withNamespace(fileToUpload.getNamespace())
+              .withFormat(uploadFormat)
+              .withOptions(uploadOptions)
+              .build();
+
+      client.uploadFile(uploadRequest);
+    } catch (IOException e)
+    {
+      log.warn(" 😝 Upload failed: {}", fileToUpload.getPath(), e);
+    } catch (InterruptedException e)
+    {
+      log.error(" 😝 Upload interrupted: {}", fileToUpload.getPath(), e);
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e)
+    {
+      uploadFailure.compareAndSet(null, e);
     }
   }
 }
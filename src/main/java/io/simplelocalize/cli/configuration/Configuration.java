@@ -10,23 +10,48 @@ public class Configuration
 {
 
   private String apiKey;
+  private String baseUrl;
 
   private String projectType;
   private String searchDir;
   private List<String> ignoreKeys = new ArrayList<>();
+  private int uploadKeysBatchSize;
+  private int uploadKeysConcurrency = 1;
 
   private String uploadPath;
   private String uploadFormat;
   private List<String> uploadOptions = new ArrayList<>();
+  private int uploadConcurrency = 4;
 
   private String downloadPath;
   private String downloadFormat;
   private List<String> downloadOptions = new ArrayList<>();
+  private int downloadConcurrency = 4;
+  private String downloadManifestPath;
+  private List<String> downloadTransforms = new ArrayList<>();
 
   private String languageKey;
 
   private boolean removeEmptyKeys;
 
+  private int retryMaxAttempts = 4;
+  private int retryMaxBackoffSeconds = 30;
+
+  private double rateLimitPerSecond;
+  private int rateLimitBurst = 1;
+
+  private boolean adaptiveConcurrency;
+  private int adaptiveConcurrencyMax = 16;
+
+  private int connectTimeoutSeconds = 30;
+  private int requestTimeoutSeconds;
+
+  private double hedgeLatencyPercentile;
+  private double hedgeBudgetPercent = 10;
+
+  private String name;
+  private int projectConcurrency = 4;
+
   public String getSearchDir()
   {
     return searchDir;
@@ -47,6 +72,16 @@ public class Configuration
     this.apiKey = apiKey;
   }
 
+  public String getBaseUrl()
+  {
+    return baseUrl;
+  }
+
+  public void setBaseUrl(String baseUrl)
+  {
+    this.baseUrl = baseUrl;
+  }
+
   public String getProjectType()
   {
     return projectType;
@@ -67,6 +102,26 @@ public class Configuration
     this.ignoreKeys = ignoreKeys;
   }
 
+  public int getUploadKeysBatchSize()
+  {
+    return uploadKeysBatchSize;
+  }
+
+  public void setUploadKeysBatchSize(int uploadKeysBatchSize)
+  {
+    this.uploadKeysBatchSize = uploadKeysBatchSize;
+  }
+
+  public int getUploadKeysConcurrency()
+  {
+    return uploadKeysConcurrency;
+  }
+
+  public void setUploadKeysConcurrency(int uploadKeysConcurrency)
+  {
+    this.uploadKeysConcurrency = uploadKeysConcurrency;
+  }
+
   public String getUploadPath()
   {
     return uploadPath;
@@ -137,6 +192,46 @@ public class Configuration
     this.uploadOptions = uploadOptions;
   }
 
+  public int getUploadConcurrency()
+  {
+    return uploadConcurrency;
+  }
+
+  public void setUploadConcurrency(int uploadConcurrency)
+  {
+    this.uploadConcurrency = uploadConcurrency;
+  }
+
+  public int getDownloadConcurrency()
+  {
+    return downloadConcurrency;
+  }
+
+  public void setDownloadConcurrency(int downloadConcurrency)
+  {
+    this.downloadConcurrency = downloadConcurrency;
+  }
+
+  public String getDownloadManifestPath()
+  {
+    return downloadManifestPath;
+  }
+
+  public void setDownloadManifestPath(String downloadManifestPath)
+  {
+    this.downloadManifestPath = downloadManifestPath;
+  }
+
+  public List<String> getDownloadTransforms()
+  {
+    return downloadTransforms;
+  }
+
+  public void setDownloadTransforms(List<String> downloadTransforms)
+  {
+    this.downloadTransforms = downloadTransforms;
+  }
+
   public boolean getRemoveEmptyKeys()
   {
     return removeEmptyKeys;
@@ -147,4 +242,124 @@ public class Configuration
     this.removeEmptyKeys = removeEmptyKeys;
   }
 
+  public int getRetryMaxAttempts()
+  {
+    return retryMaxAttempts;
+  }
+
+  public void setRetryMaxAttempts(int retryMaxAttempts)
+  {
+    this.retryMaxAttempts = retryMaxAttempts;
+  }
+
+  public int getRetryMaxBackoffSeconds()
+  {
+    return retryMaxBackoffSeconds;
+  }
+
+  public void setRetryMaxBackoffSeconds(int retryMaxBackoffSeconds)
+  {
+    this.retryMaxBackoffSeconds = retryMaxBackoffSeconds;
+  }
+
+  public double getRateLimitPerSecond()
+  {
+    return rateLimitPerSecond;
+  }
+
+  public void setRateLimitPerSecond(double rateLimitPerSecond)
+  {
+    this.rateLimitPerSecond = rateLimitPerSecond;
+  }
+
+  public int getRateLimitBurst()
+  {
+    return rateLimitBurst;
+  }
+
+  public void setRateLimitBurst(int rateLimitBurst)
+  {
+    this.rateLimitBurst = rateLimitBurst;
+  }
+
+  public boolean getAdaptiveConcurrency()
+  {
+    return adaptiveConcurrency;
+  }
+
+  public void setAdaptiveConcurrency(boolean adaptiveConcurrency)
+  {
+    this.adaptiveConcurrency = adaptiveConcurrency;
+  }
+
+  public int getAdaptiveConcurrencyMax()
+  {
+    return adaptiveConcurrencyMax;
+  }
+
+  public void setAdaptiveConcurrencyMax(int adaptiveConcurrencyMax)
+  {
+    this.adaptiveConcurrencyMax = adaptiveConcurrencyMax;
+  }
+
+  public int getConnectTimeoutSeconds()
+  {
+    return connectTimeoutSeconds;
+  }
+
+  public void setConnectTimeoutSeconds(int connectTimeoutSeconds)
+  {
+    this.connectTimeoutSeconds = connectTimeoutSeconds;
+  }
+
+  public int getRequestTimeoutSeconds()
+  {
+    return requestTimeoutSeconds;
+  }
+
+  public void setRequestTimeoutSeconds(int requestTimeoutSeconds)
+  {
+    this.requestTimeoutSeconds = requestTimeoutSeconds;
+  }
+
+  public double getHedgeLatencyPercentile()
+  {
+    return hedgeLatencyPercentile;
+  }
+
+  public void setHedgeLatencyPercentile(double hedgeLatencyPercentile)
+  {
+    this.hedgeLatencyPercentile = hedgeLatencyPercentile;
+  }
+
+  public double getHedgeBudgetPercent()
+  {
+    return hedgeBudgetPercent;
+  }
+
+  public void setHedgeBudgetPercent(double hedgeBudgetPercent)
+  {
+    this.hedgeBudgetPercent = hedgeBudgetPercent;
+  }
+
+  public String getName()
+  {
+    return name;
+  }
+
+  public void setName(String name)
+  {
+    this.name = name;
+  }
+
+  public int getProjectConcurrency()
+  {
+    return projectConcurrency;
+  }
+
+  public void setProjectConcurrency(int projectConcurrency)
+  {
+    this.projectConcurrency = projectConcurrency;
+  }
+
 }
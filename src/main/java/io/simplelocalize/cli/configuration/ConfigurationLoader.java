@@ -5,7 +5,6 @@ import io.simplelocalize.cli.util.YamlConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.env.EnvScalarConstructor;
 
 import java.io.File;
@@ -15,6 +14,10 @@ import java.io.InputStream;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.yaml.snakeyaml.env.EnvScalarConstructor.ENV_FORMAT;
 
@@ -22,45 +25,127 @@ public final class ConfigurationLoader
 {
 
   private static final Path DEFAULT_CONFIG_FILE_NAME = Path.of("simplelocalize.yml");
+  private static final String PROJECTS_KEY = "projects";
 
   private final Logger log = LoggerFactory.getLogger(ConfigurationLoader.class);
+  private final Map<String, String> environment;
+
+  public ConfigurationLoader()
+  {
+    this(System.getenv());
+  }
+
+  public ConfigurationLoader(Map<String, String> environment)
+  {
+    this.environment = environment;
+  }
 
   public Configuration loadOrGetDefault(Path configurationFilePath)
   {
-    ConfigurationLoader configurationLoader = new ConfigurationLoader();
+    List<Configuration> projects = loadProjectsOrGetDefault(configurationFilePath);
+    if (projects.size() > 1)
+    {
+      log.error(" 😝 Configuration file defines {} projects, run them with the CLI or use one configuration file per project", projects.size());
+      throw new ConfigurationException();
+    }
+    return projects.get(0);
+  }
 
+  /**
+   * Returns one configuration for every entry of 'projects', with the values of the entry applied over the
+   * values outside of 'projects'. Files without 'projects' have a single project.
+   */
+  public List<Configuration> loadProjectsOrGetDefault(Path configurationFilePath)
+  {
     if (configurationFilePath == null)
     {
       configurationFilePath = DEFAULT_CONFIG_FILE_NAME;
     }
 
-    return configurationLoader.load(configurationFilePath);
+    Map<String, Object> values = loadValues(configurationFilePath);
+    if (values == null)
+    {
+      return List.of(new Configuration());
+    }
+
+    Object projectEntries = values.remove(PROJECTS_KEY);
+    if (projectEntries == null)
+    {
+      return List.of(toConfiguration(values));
+    }
+    if (!(projectEntries instanceof List) || ((List<?>) projectEntries).isEmpty())
+    {
+      log.error(" 😝 Unable to load configuration: '{}' must be a list of project entries", PROJECTS_KEY);
+      throw new ConfigurationException();
+    }
+
+    List<Configuration> projects = new ArrayList<>();
+    for (Object projectEntry : (List<?>) projectEntries)
+    {
+      if (!(projectEntry instanceof Map))
+      {
+        log.error(" 😝 Unable to load configuration: every entry of '{}' must be a map of configuration values", PROJECTS_KEY);
+        throw new ConfigurationException();
+      }
+      Map<String, Object> projectValues = new LinkedHashMap<>(values);
+      ((Map<?, ?>) projectEntry).forEach((key, value) -> projectValues.put(String.valueOf(key), value));
+      projects.add(toConfiguration(projectValues));
+    }
+    log.info(" 🗂  Found {} projects in the configuration file", projects.size());
+    return projects;
   }
 
-  private Configuration load(Path configurationFilePath)
+  private Map<String, Object> loadValues(Path configurationFilePath)
   {
     File file = new File(URLDecoder.decode(String.valueOf(configurationFilePath.toFile()), StandardCharsets.UTF_8));
-    Constructor yamlTargetClass = new YamlConstructor(Configuration.class);
-    Yaml yaml = new Yaml(yamlTargetClass);
+    Yaml yaml = new Yaml(new YamlConstructor(Object.class, environment));
     yaml.addImplicitResolver(EnvScalarConstructor.ENV_TAG, ENV_FORMAT, "$");
 
-    Configuration configuration;
-    try
+    try (InputStream inputStream = new FileInputStream(file))
     {
-      InputStream inputStream = new FileInputStream(file);
-      configuration = yaml.load(inputStream);
+      Object values = yaml.load(inputStream);
       log.info(" 🗄  Loaded configuration file from: {}", configurationFilePath);
+      if (values == null)
+      {
+        return new LinkedHashMap<>();
+      }
+      if (!(values instanceof Map))
+      {
+        log.error(" 😝 Unable to load configuration: expected a map of configuration values");
+        throw new ConfigurationException();
+      }
+      Map<String, Object> configurationValues = new LinkedHashMap<>();
+      ((Map<?, ?>) values).forEach((key, value) -> configurationValues.put(String.valueOf(key), value));
+      return configurationValues;
     } catch (FileNotFoundException e)
     {
       log.info(" 🗄  No default configuration file at ./simplelocalize.yml");
-      return new Configuration();
+      return null;
+    } catch (ConfigurationException e)
+    {
+      throw e;
     } catch (Exception e)
     {
       log.error(" 😝 Unable to load configuration: {}", e.getMessage());
       throw new ConfigurationException();
     }
-    return configuration;
+  }
 
+  /**
+   * Environment variables were resolved while loading the values, so they are bound without the env constructor.
+   */
+  private Configuration toConfiguration(Map<String, Object> values)
+  {
+    Yaml yaml = new Yaml(new YamlConstructor(Configuration.class, environment));
+    try
+    {
+      Configuration configuration = yaml.load(yaml.dump(values));
+      return configuration != null ? configuration : new Configuration();
+    } catch (Exception e)
+    {
+      log.error(" 😝 Unable to load configuration: {}", e.getMessage());
+      throw new ConfigurationException();
+    }
   }
 
 }
@@ -1,6 +1,8 @@
 package io.simplelocalize.cli.configuration;
 
 import io.simplelocalize.cli.exception.ConfigurationException;
+import io.simplelocalize.cli.util.JsonTransform;
+import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +23,14 @@ public final class ConfigurationValidator
     validateIsNotEmptyOrNull(configuration.getApiKey(), "apiKey");
     validateIsNotEmptyOrNull(configuration.getDownloadFormat(), "downloadFormat");
     validateIsNotEmptyOrNull(configuration.getDownloadPath(), "downloadPath");
+    for (String downloadTransform : configuration.getDownloadTransforms())
+    {
+      if (!EnumUtils.isValidEnum(JsonTransform.class, downloadTransform))
+      {
+        log.error("Unknown 'downloadTransforms' value '{}'", downloadTransform);
+        throw new ConfigurationException();
+      }
+    }
   }
 
   private void validateIsNotEmptyOrNull(String format, String argumentName)
@@ -0,0 +1,180 @@
+package io.simplelocalize.cli.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sends commands to a running daemon instead of running them in this process.
+ */
+public final class DaemonClient
+{
+  private static final String DAEMON_ENVIRONMENT_VARIABLE = "SIMPLELOCALIZE_DAEMON";
+  private static final int CONNECT_TIMEOUT_MILLIS = 1_000;
+
+  private final DaemonFile daemonFile;
+
+  public DaemonClient(DaemonFile daemonFile)
+  {
+    this.daemonFile = daemonFile;
+  }
+
+  public static boolean isEnabled()
+  {
+    return "true".equalsIgnoreCase(System.getenv(DAEMON_ENVIRONMENT_VARIABLE));
+  }
+
+  /**
+   * Returns the exit code of the command, or empty when no daemon is running and the command has to run locally.
+   * The daemon resolves environment variables in configuration files from the given environment, not from its own.
+   */
+  public Optional<Integer> run(List<String> arguments, Path workingDirectory, Map<String, String> environment, OutputStream out, OutputStream err)
+  {
+    Optional<Connection> daemonConnection = connect(DaemonProtocol.RUN_REQUEST);
+    if (daemonConnection.isEmpty())
+    {
+      return Optional.empty();
+    }
+
+    try (Connection connection = daemonConnection.get())
+    {
+      connection.output.writeUTF(workingDirectory.toAbsolutePath().toString());
+      connection.output.writeInt(arguments.size());
+      for (String argument : arguments)
+      {
+        connection.output.writeUTF(argument);
+      }
+      DaemonProtocol.writeEnvironment(connection.output, environment);
+      connection.output.flush();
+      return Optional.of(readOutput(connection.input, out, err));
+    } catch (IOException e)
+    {
+      writeLine(err, " 😝 Connection to the daemon was lost: " + e.getMessage());
+      return Optional.of(1);
+    }
+  }
+
+  public boolean ping()
+  {
+    return send(DaemonProtocol.PING_REQUEST);
+  }
+
+  public boolean stop()
+  {
+    return send(DaemonProtocol.STOP_REQUEST);
+  }
+
+  private boolean send(byte requestKind)
+  {
+    Optional<Connection> daemonConnection = connect(requestKind);
+    if (daemonConnection.isEmpty())
+    {
+      return false;
+    }
+    try (Connection connection = daemonConnection.get())
+    {
+      return readOutput(connection.input, OutputStream.nullOutputStream(), OutputStream.nullOutputStream()) == 0;
+    } catch (IOException e)
+    {
+      return false;
+    }
+  }
+
+  private int readOutput(DataInputStream input, OutputStream out, OutputStream err) throws IOException
+  {
+    while (true)
+    {
+      byte frameType = input.readByte();
+      if (frameType == DaemonProtocol.EXIT_FRAME)
+      {
+        return input.readInt();
+      }
+      byte[] frame = new byte[input.readInt()];
+      input.readFully(frame);
+      OutputStream target = frameType == DaemonProtocol.STDERR_FRAME ? err : out;
+      target.write(frame);
+      target.flush();
+    }
+  }
+
+  private Optional<Connection> connect(byte requestKind)
+  {
+    Optional<DaemonFile.Endpoint> daemonEndpoint = daemonFile.read();
+    if (daemonEndpoint.isEmpty())
+    {
+      return Optional.empty();
+    }
+
+    DaemonFile.Endpoint endpoint = daemonEndpoint.get();
+    Socket socket = new Socket();
+    try
+    {
+      socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), endpoint.getPort()), CONNECT_TIMEOUT_MILLIS);
+      Connection connection = new Connection(socket);
+      connection.output.writeUTF(endpoint.getToken());
+      connection.output.writeByte(requestKind);
+      connection.output.flush();
+      return Optional.of(connection);
+    } catch (IOException e)
+    {
+      // the daemon stopped without removing its file
+      closeQuietly(socket);
+      return Optional.empty();
+    }
+  }
+
+  private static void writeLine(OutputStream outputStream, String line)
+  {
+    try
+    {
+      outputStream.write((line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+      outputStream.flush();
+    } catch (IOException e)
+    {
+      // nothing left to report to
+    }
+  }
+
+  private static void closeQuietly(Socket socket)
+  {
+    try
+    {
+      socket.close();
+    } catch (IOException e)
+    {
+      // already closed
+    }
+  }
+
+  private static final class Connection implements AutoCloseable
+  {
+    private final Socket socket;
+    private final DataInputStream input;
+    private final DataOutputStream output;
+
+    private Connection(Socket socket) throws IOException
+    {
+      this.socket = socket;
+      this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+      socket.close();
+    }
+  }
+}
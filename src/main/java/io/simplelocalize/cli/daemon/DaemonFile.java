@@ -0,0 +1,132 @@
+package io.simplelocalize.cli.daemon;
+
+import io.simplelocalize.cli.Version;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Tells clients where the daemon listens. The file holds the token every request has to present, so it is only
+ * readable by its owner where the file system supports that.
+ */
+public final class DaemonFile
+{
+  private static final String PORT_PROPERTY = "port";
+  private static final String TOKEN_PROPERTY = "token";
+
+  private final Path path;
+
+  public DaemonFile(Path path)
+  {
+    this.path = path;
+  }
+
+  /**
+   * One daemon per user and CLI version, so a daemon never runs commands for a newer or older client.
+   */
+  public static DaemonFile userDefault()
+  {
+    return new DaemonFile(Path.of(System.getProperty("user.home"), ".simplelocalize", "daemon-" + Version.NUMBER + ".properties"));
+  }
+
+  public Path getPath()
+  {
+    return path;
+  }
+
+  Optional<Endpoint> read()
+  {
+    Properties properties = new Properties();
+    try (InputStream inputStream = Files.newInputStream(path))
+    {
+      properties.load(inputStream);
+      int port = Integer.parseInt(properties.getProperty(PORT_PROPERTY));
+      return Optional.of(new Endpoint(port, properties.getProperty(TOKEN_PROPERTY)));
+    } catch (IOException | NumberFormatException e)
+    {
+      return Optional.empty();
+    }
+  }
+
+  void write(Endpoint endpoint) throws IOException
+  {
+    Files.createDirectories(path.getParent());
+    Path temporaryFile = createOwnerOnlyFile();
+    Properties properties = new Properties();
+    properties.setProperty(PORT_PROPERTY, String.valueOf(endpoint.getPort()));
+    properties.setProperty(TOKEN_PROPERTY, endpoint.getToken());
+    try (OutputStream outputStream = Files.newOutputStream(temporaryFile))
+    {
+      properties.store(outputStream, "SimpleLocalize CLI daemon");
+    }
+    Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Deletes the file unless another daemon replaced it in the meantime.
+   */
+  void delete(Endpoint endpoint)
+  {
+    boolean isOwnFile = read().map(Endpoint::getToken).filter(endpoint.getToken()::equals).isPresent();
+    if (!isOwnFile)
+    {
+      return;
+    }
+    try
+    {
+      Files.deleteIfExists(path);
+    } catch (IOException e)
+    {
+      // a stale file is ignored by clients which cannot connect
+    }
+  }
+
+  private Path createOwnerOnlyFile() throws IOException
+  {
+    Path temporaryFile = path.resolveSibling(path.getFileName() + ".tmp");
+    Files.deleteIfExists(temporaryFile);
+    try
+    {
+      Set<PosixFilePermission> ownerOnly = PosixFilePermissions.fromString("rw-------");
+      return Files.createFile(temporaryFile, PosixFilePermissions.asFileAttribute(ownerOnly));
+    } catch (UnsupportedOperationException e)
+    {
+      return Files.createFile(temporaryFile);
+    } catch (FileAlreadyExistsException e)
+    {
+      throw new IOException("Another daemon is starting", e);
+    }
+  }
+
+  static final class Endpoint
+  {
+    private final int port;
+    private final String token;
+
+    Endpoint(int port, String token)
+    {
+      this.port = port;
+      this.token = token;
+    }
+
+    int getPort()
+    {
+      return port;
+    }
+
+    String getToken()
+    {
+      return token;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package io.simplelocalize.cli.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Requests start with the token and their kind. A command request carries the working directory, the arguments and
+ * the environment of the client, and is answered with output frames followed by one frame with the exit code.
+ */
+final class DaemonProtocol
+{
+  static final byte RUN_REQUEST = 1;
+  static final byte PING_REQUEST = 2;
+  static final byte STOP_REQUEST = 3;
+
+  static final byte STDOUT_FRAME = 1;
+  static final byte STDERR_FRAME = 2;
+  static final byte EXIT_FRAME = 3;
+
+  private DaemonProtocol()
+  {
+  }
+
+  static void writeEnvironment(DataOutputStream output, Map<String, String> environment) throws IOException
+  {
+    output.writeInt(environment.size());
+    for (Map.Entry<String, String> variable : environment.entrySet())
+    {
+      writeString(output, variable.getKey());
+      writeString(output, variable.getValue());
+    }
+  }
+
+  static Map<String, String> readEnvironment(DataInputStream input) throws IOException
+  {
+    int variableCount = input.readInt();
+    Map<String, String> environment = new HashMap<>(variableCount * 2);
+    for (int i = 0; i < variableCount; i++)
+    {
+      environment.put(readString(input), readString(input));
+    }
+    return environment;
+  }
+
+  // unlike writeUTF, not limited to 64 KB, which long variables like PATH may exceed
+  private static void writeString(DataOutputStream output, String value) throws IOException
+  {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static String readString(DataInputStream input) throws IOException
+  {
+    byte[] bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  static void writeExit(DataOutputStream output, int exitCode) throws IOException
+  {
+    synchronized (output)
+    {
+      output.writeByte(EXIT_FRAME);
+      output.writeInt(exitCode);
+      output.flush();
+    }
+  }
+
+  /**
+   * Output written during a command, sent as frames of one stream type.
+   */
+  static final class FrameOutputStream extends OutputStream
+  {
+    private final DataOutputStream output;
+    private final byte frameType;
+
+    FrameOutputStream(DataOutputStream output, byte frameType)
+    {
+      this.output = output;
+      this.frameType = frameType;
+    }
+
+    @Override
+    public void write(int value) throws IOException
+    {
+      write(new byte[]{(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException
+    {
+      if (length == 0)
+      {
+        return;
+      }
+      synchronized (output)
+      {
+        output.writeByte(frameType);
+        output.writeInt(length);
+        output.write(buffer, offset, length);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+      synchronized (output)
+      {
+        output.flush();
+      }
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package io.simplelocalize.cli.daemon;
+
+import io.simplelocalize.cli.CliResources;
+import io.simplelocalize.cli.SimplelocalizeCliCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs CLI commands sent by clients in one warm JVM. It listens on the loopback interface only and runs one command
+ * at a time, because commands print to the process-wide standard output which is sent to the client.
+ */
+public final class DaemonServer
+{
+  private static final Logger log = LoggerFactory.getLogger(DaemonServer.class);
+
+  private static final int REQUEST_READ_TIMEOUT_MILLIS = 10_000;
+  private static final int TOKEN_BYTES = 32;
+
+  private final DaemonFile daemonFile;
+  private final Duration idleTimeout;
+  private final CliResources resources;
+
+  public DaemonServer(DaemonFile daemonFile, Duration idleTimeout, CliResources resources)
+  {
+    this.daemonFile = daemonFile;
+    this.idleTimeout = idleTimeout;
+    this.resources = resources;
+  }
+
+  /**
+   * Serves commands until a client stops the daemon or no command arrived within the idle timeout.
+   */
+  public int run()
+  {
+    DaemonFile.Endpoint endpoint = null;
+    try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress()))
+    {
+      serverSocket.setSoTimeout((int) Math.max(1, idleTimeout.toMillis()));
+      endpoint = new DaemonFile.Endpoint(serverSocket.getLocalPort(), createToken());
+      daemonFile.write(endpoint);
+      log.info(" 👂 Daemon listening on port {}, it stops after {} seconds without commands", endpoint.getPort(), idleTimeout.toSeconds());
+
+      boolean isRunning = true;
+      while (isRunning)
+      {
+        try (Socket socket = serverSocket.accept())
+        {
+          isRunning = serve(socket, endpoint);
+        } catch (SocketTimeoutException e)
+        {
+          log.info(" 💤 Daemon stopped after {} seconds without commands", idleTimeout.toSeconds());
+          isRunning = false;
+        } catch (IOException e)
+        {
+          log.warn(" 😝 Daemon request failed: {}", e.getMessage());
+        }
+      }
+      return 0;
+    } catch (IOException e)
+    {
+      log.error(" 😝 Daemon could not be started: {}", e.getMessage());
+      return 1;
+    } finally
+    {
+      if (endpoint != null)
+      {
+        daemonFile.delete(endpoint);
+      }
+    }
+  }
+
+  /**
+   * Returns false once the daemon should stop.
+   */
+  private boolean serve(Socket socket, DaemonFile.Endpoint endpoint) throws IOException
+  {
+    socket.setSoTimeout(REQUEST_READ_TIMEOUT_MILLIS);
+    DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+    byte[] requestToken = input.readUTF().getBytes(StandardCharsets.UTF_8);
+    if (!MessageDigest.isEqual(requestToken, endpoint.getToken().getBytes(StandardCharsets.UTF_8)))
+    {
+      log.warn(" 🚫 Rejected a daemon request with a wrong token");
+      return true;
+    }
+
+    byte requestKind = input.readByte();
+    if (requestKind == DaemonProtocol.STOP_REQUEST)
+    {
+      DaemonProtocol.writeExit(output, 0);
+      log.info(" 👋 Daemon stopped by a client");
+      return false;
+    }
+    if (requestKind == DaemonProtocol.PING_REQUEST)
+    {
+      DaemonProtocol.writeExit(output, 0);
+      return true;
+    }
+
+    Path workingDirectory = Path.of(input.readUTF());
+    int argumentCount = input.readInt();
+    List<String> arguments = new ArrayList<>(argumentCount);
+    for (int i = 0; i < argumentCount; i++)
+    {
+      arguments.add(input.readUTF());
+    }
+    Map<String, String> environment = DaemonProtocol.readEnvironment(input);
+    // commands may run for minutes, the timeout only guards reading the request
+    socket.setSoTimeout(0);
+
+    int exitCode = runCommand(arguments, workingDirectory, environment, output);
+    DaemonProtocol.writeExit(output, exitCode);
+    return true;
+  }
+
+  private int runCommand(List<String> arguments, Path workingDirectory, Map<String, String> environment, DataOutputStream output)
+  {
+    PrintStream originalOut = System.out;
+    PrintStream originalErr = System.err;
+    PrintStream out = new PrintStream(new DaemonProtocol.FrameOutputStream(output, DaemonProtocol.STDOUT_FRAME), true, StandardCharsets.UTF_8);
+    PrintStream err = new PrintStream(new DaemonProtocol.FrameOutputStream(output, DaemonProtocol.STDERR_FRAME), true, StandardCharsets.UTF_8);
+    System.setOut(out);
+    System.setErr(err);
+    try
+    {
+      CommandLine commandLine = new CommandLine(SimplelocalizeCliCommand.forWorkingDirectory(resources, workingDirectory, environment));
+      commandLine.setOut(new PrintWriter(out, true));
+      commandLine.setErr(new PrintWriter(err, true));
+      return commandLine.execute(arguments.toArray(String[]::new));
+    } finally
+    {
+      out.flush();
+      err.flush();
+      System.setOut(originalOut);
+      System.setErr(originalErr);
+    }
+  }
+
+  private static String createToken()
+  {
+    byte[] token = new byte[TOKEN_BYTES];
+    new SecureRandom().nextBytes(token);
+    StringBuilder hex = new StringBuilder();
+    for (byte value : token)
+    {
+      hex.append(String.format("%02x", value));
+    }
+    return hex.toString();
+  }
+}
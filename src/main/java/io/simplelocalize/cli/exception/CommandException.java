@@ -0,0 +1,10 @@
+package io.simplelocalize.cli.exception;
+
+public class CommandException extends RuntimeException
+{
+
+  public CommandException(String message, Throwable cause)
+  {
+    super(message, cause);
+  }
+}
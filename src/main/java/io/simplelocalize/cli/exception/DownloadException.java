@@ -0,0 +1,20 @@
+package io.simplelocalize.cli.exception;
+
+import java.util.Map;
+
+public class DownloadException extends RuntimeException
+{
+
+  private final transient Map<String, Throwable> failedDownloads;
+
+  public DownloadException(String message, Map<String, Throwable> failedDownloads)
+  {
+    super(message);
+    this.failedDownloads = failedDownloads;
+  }
+
+  public Map<String, Throwable> getFailedDownloads()
+  {
+    return failedDownloads;
+  }
+}
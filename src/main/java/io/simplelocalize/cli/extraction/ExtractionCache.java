@@ -0,0 +1,102 @@
+package io.simplelocalize.cli.extraction;
+
+import io.simplelocalize.cli.extraction.files.DirectoryWalk;
+import io.simplelocalize.cli.extraction.processor.ExtractionProcessor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps extraction results while the files in the search directory keep their paths, sizes and modification times.
+ * Checking that reuses the directory walk of the extraction, while extracting reads and parses every file again.
+ */
+public final class ExtractionCache
+{
+  private static final ExtractionCache DISABLED = new ExtractionCache(false);
+
+  private final boolean enabled;
+  private final Map<String, CachedResult> results = new ConcurrentHashMap<>();
+
+  private ExtractionCache(boolean enabled)
+  {
+    this.enabled = enabled;
+  }
+
+  public static ExtractionCache disabled()
+  {
+    return DISABLED;
+  }
+
+  public static ExtractionCache enabled()
+  {
+    return new ExtractionCache(true);
+  }
+
+  public ExtractionResult process(ExtractionProcessor processor, Path searchDirectory)
+  {
+    return process(processor, DirectoryWalk.of(searchDirectory));
+  }
+
+  public ExtractionResult process(ExtractionProcessor processor, DirectoryWalk directoryWalk)
+  {
+    if (!enabled)
+    {
+      return processor.process(directoryWalk);
+    }
+
+    Path searchDirectory = directoryWalk.getDirectory();
+    String key = processor.getProjectTypeSupport() + "|" + searchDirectory.toAbsolutePath().normalize();
+    List<String> snapshot = snapshot(directoryWalk);
+    CachedResult cachedResult = results.get(key);
+    if (cachedResult != null && cachedResult.snapshot.equals(snapshot))
+    {
+      return cachedResult.result;
+    }
+    ExtractionResult result = processor.process(directoryWalk);
+    results.put(key, new CachedResult(snapshot, result));
+    return result;
+  }
+
+  private static List<String> snapshot(DirectoryWalk directoryWalk)
+  {
+    if (Files.notExists(directoryWalk.getDirectory()))
+    {
+      return List.of();
+    }
+    return directoryWalk.getFiles().stream()
+            .sorted()
+            .map(ExtractionCache::fileSnapshot)
+            .collect(Collectors.toList());
+  }
+
+  private static String fileSnapshot(Path path)
+  {
+    try
+    {
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      return path + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+    } catch (IOException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static final class CachedResult
+  {
+    private final List<String> snapshot;
+    private final ExtractionResult result;
+
+    private CachedResult(List<String> snapshot, ExtractionResult result)
+    {
+      this.snapshot = snapshot;
+      this.result = result;
+    }
+  }
+}
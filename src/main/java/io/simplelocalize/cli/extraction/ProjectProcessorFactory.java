@@ -3,40 +3,48 @@ package io.simplelocalize.cli.extraction;
 import io.simplelocalize.cli.exception.NoProcessorMatchException;
 import io.simplelocalize.cli.extraction.processor.*;
 
-import java.util.List;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 public final class ProjectProcessorFactory
 {
+  /**
+   * Keyed by the lower-cased project type, so only the processor of the requested type is created.
+   */
+  private static final Map<String, Supplier<ExtractionProcessor>> PROCESSORS = createProcessors();
+
   public ExtractionProcessor createForType(String projectType)
   {
     Objects.requireNonNull(projectType, "Could not create ProjectProcessor for null project type");
 
-    Set<ExtractionProcessor> processors = Set.of(
-            new YahooReactIntlProcessor(),
-            new AndroidProcessor(),
-            new iOSProcessor(),
-            new EjsProcessor(),
-            new IEighteenNextProcessor()
-    );
-
-    List<String> supportedProjectTypesList = processors.stream().map(ExtractionProcessor::getProjectTypeSupport).collect(Collectors.toList());
-    String supportedProjectTypes = String.join(",", supportedProjectTypesList);
-
-    for (ExtractionProcessor processor : processors)
+    Supplier<ExtractionProcessor> processor = PROCESSORS.get(projectType.toLowerCase(Locale.ROOT));
+    if (processor == null)
     {
-      String projectTypeSupport = processor.getProjectTypeSupport();
-      boolean isSupportsProjectType = projectTypeSupport.equalsIgnoreCase(projectType);
-      if (isSupportsProjectType)
-      {
-        return processor;
-      }
+      String supportedProjectTypes = String.join(",", getSupportedProjectTypes());
+      throw new NoProcessorMatchException("Could not find matching project processor for type: " + projectType + " please use on of these: " + supportedProjectTypes);
     }
+    return processor.get();
+  }
 
-    throw new NoProcessorMatchException("Could not find matching project processor for type: " + projectType + " please use on of these: " + supportedProjectTypes);
+  public Set<String> getSupportedProjectTypes()
+  {
+    return PROCESSORS.keySet();
   }
 
+  private static Map<String, Supplier<ExtractionProcessor>> createProcessors()
+  {
+    Map<String, Supplier<ExtractionProcessor>> processors = new LinkedHashMap<>();
+    processors.put("yahoo/react-intl", YahooReactIntlProcessor::new);
+    processors.put("google/android", AndroidProcessor::new);
+    processors.put("apple/ios-macos", iOSProcessor::new);
+    processors.put("mde/ejs", EjsProcessor::new);
+    processors.put("i18next/i18next", IEighteenNextProcessor::new);
+    return Collections.unmodifiableMap(processors);
+  }
 
 }
@@ -0,0 +1,113 @@
+package io.simplelocalize.cli.extraction.files;
+
+import io.simplelocalize.cli.exception.ProjectProcessException;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Regular files below a directory. The directory is walked on first use only, so finders of several processors
+ * can filter the same walk.
+ */
+public final class DirectoryWalk
+{
+  private static final Set<String> NO_SKIPPED_DIRECTORY_NAMES = Set.of();
+
+  private final Path directory;
+  private final Supplier<List<Path>> walker;
+  private List<Path> files;
+
+  private DirectoryWalk(Path directory, Supplier<List<Path>> walker)
+  {
+    this.directory = directory;
+    this.walker = walker;
+  }
+
+  public static DirectoryWalk of(Path directory)
+  {
+    return new DirectoryWalk(directory, () -> walk(directory, NO_SKIPPED_DIRECTORY_NAMES));
+  }
+
+  /**
+   * Walk which does not descend into directories with the given names, for walks shared between projects.
+   */
+  static DirectoryWalk skipping(Path directory, Set<String> skippedDirectoryNames)
+  {
+    return new DirectoryWalk(directory, () -> walk(directory, skippedDirectoryNames));
+  }
+
+  public Path getDirectory()
+  {
+    return directory;
+  }
+
+  public synchronized List<Path> getFiles()
+  {
+    if (files == null)
+    {
+      files = walker.get();
+    }
+    return files;
+  }
+
+  /**
+   * Files below a subdirectory, taken from this walk instead of walking the subdirectory again as long as this
+   * walk found at most the given number of files. Subdirectories of larger walks are walked on their own.
+   * Files are returned below the search directory as given, like a walk of the search directory would return them.
+   */
+  public DirectoryWalk within(Path subdirectory, Path searchDirectory, int maxSharedFiles)
+  {
+    return new DirectoryWalk(searchDirectory, () -> {
+      List<Path> sharedFiles = getFiles();
+      if (sharedFiles.size() > maxSharedFiles)
+      {
+        return walk(searchDirectory, NO_SKIPPED_DIRECTORY_NAMES);
+      }
+      return sharedFiles.stream()
+              .filter(file -> file.startsWith(subdirectory))
+              .map(file -> searchDirectory.resolve(subdirectory.relativize(file)))
+              .collect(Collectors.toList());
+    });
+  }
+
+  private static List<Path> walk(Path directory, Set<String> skippedDirectoryNames)
+  {
+    List<Path> files = new ArrayList<>();
+    try
+    {
+      Files.walkFileTree(directory, new SimpleFileVisitor<>()
+      {
+        @Override
+        public FileVisitResult preVisitDirectory(Path visitedDirectory, BasicFileAttributes attributes)
+        {
+          boolean isSkipped = !visitedDirectory.equals(directory) && skippedDirectoryNames.contains(String.valueOf(visitedDirectory.getFileName()));
+          return isSkipped ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes)
+        {
+          // links are not followed, but linked files are found like by Files.isRegularFile
+          if (attributes.isRegularFile() || (attributes.isSymbolicLink() && Files.isRegularFile(file)))
+          {
+            files.add(file);
+          }
+          return FileVisitResult.CONTINUE;
+        }
+      });
+      return files;
+    } catch (IOException e)
+    {
+      throw new ProjectProcessException("Could not process files in path: " + directory, e);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package io.simplelocalize.cli.extraction.files;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Shares directory walks between projects whose search directories overlap. Each search directory which is not
+ * inside another one is walked once, and the walks of the directories inside it are served from that walk unless
+ * it found more than {@value #MAX_SHARED_FILES} files. Shared walks skip .git and node_modules directories, so
+ * they do not hold every file of a repository in memory. Search directories which do not overlap are walked like
+ * for a single project.
+ */
+public final class DirectoryWalks
+{
+  static final int MAX_SHARED_FILES = 100_000;
+  private static final Set<String> SKIPPED_DIRECTORY_NAMES = Set.of(".git", "node_modules");
+
+  private static final DirectoryWalks NONE = new DirectoryWalks(Map.of());
+
+  private final Map<Path, DirectoryWalk> rootWalks;
+
+  private DirectoryWalks(Map<Path, DirectoryWalk> rootWalks)
+  {
+    this.rootWalks = rootWalks;
+  }
+
+  public static DirectoryWalks none()
+  {
+    return NONE;
+  }
+
+  public static DirectoryWalks sharedBetween(Collection<Path> searchDirectories)
+  {
+    List<Path> directories = searchDirectories.stream()
+            .map(DirectoryWalks::normalize)
+            .distinct()
+            .collect(Collectors.toList());
+    Map<Path, DirectoryWalk> rootWalks = new LinkedHashMap<>();
+    for (Path directory : directories)
+    {
+      boolean isInsideOtherDirectory = directories.stream()
+              .anyMatch(otherDirectory -> !otherDirectory.equals(directory) && directory.startsWith(otherDirectory));
+      boolean containsOtherDirectory = directories.stream()
+              .anyMatch(otherDirectory -> !otherDirectory.equals(directory) && otherDirectory.startsWith(directory));
+      if (!isInsideOtherDirectory && containsOtherDirectory)
+      {
+        rootWalks.put(directory, DirectoryWalk.skipping(directory, SKIPPED_DIRECTORY_NAMES));
+      }
+    }
+    return new DirectoryWalks(rootWalks);
+  }
+
+  public DirectoryWalk walk(Path searchDirectory)
+  {
+    if (rootWalks.isEmpty())
+    {
+      return DirectoryWalk.of(searchDirectory);
+    }
+
+    Path directory = normalize(searchDirectory);
+    for (Map.Entry<Path, DirectoryWalk> rootWalk : rootWalks.entrySet())
+    {
+      if (directory.startsWith(rootWalk.getKey()))
+      {
+        return rootWalk.getValue().within(directory, searchDirectory, MAX_SHARED_FILES);
+      }
+    }
+    return DirectoryWalk.of(searchDirectory);
+  }
+
+  private static Path normalize(Path directory)
+  {
+    return directory.toAbsolutePath().normalize();
+  }
+}
@@ -1,14 +1,9 @@
 package io.simplelocalize.cli.extraction.files;
 
-import io.simplelocalize.cli.exception.ProjectProcessException;
-
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class JavaScriptAndTypeScriptFilesFinder implements FilesFinder
 {
@@ -18,17 +13,15 @@ public class JavaScriptAndTypeScriptFilesFinder implements FilesFinder
   @Override
   public List<Path> findFilesToProcess(Path path)
   {
-    try (Stream<Path> walk = Files.walk(path))
-    {
-      return walk
-              .filter(Files::isRegularFile)
-              .filter(isNotNodeModule())
-              .filter(isJavaScriptOrTypeScriptFile())
-              .collect(Collectors.toList());
-    } catch (IOException e)
-    {
-      throw new ProjectProcessException("Could not process files in path: " + path, e);
-    }
+    return findFilesToProcess(DirectoryWalk.of(path));
+  }
+
+  public List<Path> findFilesToProcess(DirectoryWalk directoryWalk)
+  {
+    return directoryWalk.getFiles().stream()
+            .filter(isNotNodeModule())
+            .filter(isJavaScriptOrTypeScriptFile())
+            .collect(Collectors.toList());
   }
 
 
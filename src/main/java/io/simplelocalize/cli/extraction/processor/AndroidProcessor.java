@@ -1,6 +1,7 @@
 package io.simplelocalize.cli.extraction.processor;
 
 import io.simplelocalize.cli.extraction.ExtractionResult;
+import io.simplelocalize.cli.extraction.files.DirectoryWalk;
 import io.simplelocalize.cli.extraction.files.GenericExtensionFilesFinder;
 import io.simplelocalize.cli.extraction.keys.AndroidRStringKeyExtractor;
 import io.simplelocalize.cli.extraction.keys.AndroidXmlKeysExtractor;
@@ -18,14 +19,20 @@ public class AndroidProcessor implements ExtractionProcessor
 
   @Override
   public ExtractionResult process(Path searchDirectory)
+  {
+    return process(DirectoryWalk.of(searchDirectory));
+  }
+
+  @Override
+  public ExtractionResult process(DirectoryWalk directoryWalk)
   {
 
     Set<String> foundKeys = new LinkedHashSet<>();
     List<Path> foundFiles = new ArrayList<>();
 
     GenericExtensionFilesFinder filesFinder = new GenericExtensionFilesFinder();
-    List<Path> javaFiles = filesFinder.findFilesToProcess(searchDirectory, ".java");
-    List<Path> kotlinFiles = filesFinder.findFilesToProcess(searchDirectory, ".kt");
+    List<Path> javaFiles = filesFinder.findFilesToProcess(directoryWalk, ".java");
+    List<Path> kotlinFiles = filesFinder.findFilesToProcess(directoryWalk, ".kt");
     List<Path> combinedLists = ListsUtil.combine(javaFiles, kotlinFiles);
     foundFiles.addAll(combinedLists);
 
@@ -36,7 +43,7 @@ public class AndroidProcessor implements ExtractionProcessor
       foundKeys.addAll(chunk);
     }
 
-    List<Path> xmlFiles = filesFinder.findFilesToProcess(searchDirectory, ".xml");
+    List<Path> xmlFiles = filesFinder.findFilesToProcess(directoryWalk, ".xml");
     foundFiles.addAll(xmlFiles);
     AndroidXmlKeysExtractor xmlKeysExtractor = new AndroidXmlKeysExtractor();
     for (Path xmlFile : xmlFiles)
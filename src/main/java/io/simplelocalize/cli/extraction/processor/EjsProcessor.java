@@ -1,6 +1,7 @@
 package io.simplelocalize.cli.extraction.processor;
 
 import io.simplelocalize.cli.extraction.ExtractionResult;
+import io.simplelocalize.cli.extraction.files.DirectoryWalk;
 import io.simplelocalize.cli.extraction.files.GenericExtensionFilesFinder;
 import io.simplelocalize.cli.extraction.keys.EjsKeyExtractor;
 
@@ -14,11 +15,17 @@ public class EjsProcessor implements ExtractionProcessor
 
   @Override
   public ExtractionResult process(Path searchDirectory)
+  {
+    return process(DirectoryWalk.of(searchDirectory));
+  }
+
+  @Override
+  public ExtractionResult process(DirectoryWalk directoryWalk)
   {
     GenericExtensionFilesFinder genericExtensionFilesFinder = new GenericExtensionFilesFinder();
     EjsKeyExtractor keyExtractor = new EjsKeyExtractor();
 
-    List<Path> foundFiles = genericExtensionFilesFinder.findFilesToProcess(searchDirectory, ".ejs");
+    List<Path> foundFiles = genericExtensionFilesFinder.findFilesToProcess(directoryWalk, ".ejs");
 
     Set<String> keys = new HashSet<>();
     for (Path file : foundFiles)
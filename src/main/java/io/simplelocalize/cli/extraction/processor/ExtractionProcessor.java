@@ -1,6 +1,7 @@
 package io.simplelocalize.cli.extraction.processor;
 
 import io.simplelocalize.cli.extraction.ExtractionResult;
+import io.simplelocalize.cli.extraction.files.DirectoryWalk;
 
 import java.nio.file.Path;
 
@@ -9,5 +10,13 @@ public interface ExtractionProcessor
 
   ExtractionResult process(Path searchDirectory);
 
+  /**
+   * Extracts keys from the files of a walk, which may be shared with processors of other projects.
+   */
+  default ExtractionResult process(DirectoryWalk directoryWalk)
+  {
+    return process(directoryWalk.getDirectory());
+  }
+
   String getProjectTypeSupport();
 }
@@ -1,6 +1,7 @@
 package io.simplelocalize.cli.extraction.processor;
 
 import io.simplelocalize.cli.extraction.ExtractionResult;
+import io.simplelocalize.cli.extraction.files.DirectoryWalk;
 import io.simplelocalize.cli.extraction.files.JavaScriptAndTypeScriptFilesFinder;
 import io.simplelocalize.cli.extraction.keys.IEighteenNextKeyExtractor;
 
@@ -14,11 +15,17 @@ public class IEighteenNextProcessor implements ExtractionProcessor
 
   @Override
   public ExtractionResult process(Path searchDirectory)
+  {
+    return process(DirectoryWalk.of(searchDirectory));
+  }
+
+  @Override
+  public ExtractionResult process(DirectoryWalk directoryWalk)
   {
     JavaScriptAndTypeScriptFilesFinder filesFinder = new JavaScriptAndTypeScriptFilesFinder();
     IEighteenNextKeyExtractor keyExtractor = new IEighteenNextKeyExtractor();
 
-    List<Path> foundFiles = filesFinder.findFilesToProcess(searchDirectory);
+    List<Path> foundFiles = filesFinder.findFilesToProcess(directoryWalk);
 
     Set<String> keys = new HashSet<>();
     for (Path file : foundFiles)
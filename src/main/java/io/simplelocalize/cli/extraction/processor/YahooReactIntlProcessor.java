@@ -1,6 +1,7 @@
 package io.simplelocalize.cli.extraction.processor;
 
 import io.simplelocalize.cli.extraction.ExtractionResult;
+import io.simplelocalize.cli.extraction.files.DirectoryWalk;
 import io.simplelocalize.cli.extraction.files.JavaScriptAndTypeScriptFilesFinder;
 import io.simplelocalize.cli.extraction.keys.ReactIntlKeyExtractor;
 
@@ -15,11 +16,17 @@ public class YahooReactIntlProcessor implements ExtractionProcessor
 
   @Override
   public ExtractionResult process(Path searchDirectory)
+  {
+    return process(DirectoryWalk.of(searchDirectory));
+  }
+
+  @Override
+  public ExtractionResult process(DirectoryWalk directoryWalk)
   {
     JavaScriptAndTypeScriptFilesFinder javaScriptAndTypeScriptFilesFinder = new JavaScriptAndTypeScriptFilesFinder();
     ReactIntlKeyExtractor reactIntlKeyExtractor = new ReactIntlKeyExtractor();
 
-    List<Path> foundFiles = javaScriptAndTypeScriptFilesFinder.findFilesToProcess(searchDirectory);
+    List<Path> foundFiles = javaScriptAndTypeScriptFilesFinder.findFilesToProcess(directoryWalk);
 
     Set<String> keys = new HashSet<>();
     for (Path file : foundFiles)
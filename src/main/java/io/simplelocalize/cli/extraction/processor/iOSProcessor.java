@@ -1,6 +1,7 @@
 package io.simplelocalize.cli.extraction.processor;
 
 import io.simplelocalize.cli.extraction.ExtractionResult;
+import io.simplelocalize.cli.extraction.files.DirectoryWalk;
 import io.simplelocalize.cli.extraction.files.GenericExtensionFilesFinder;
 import io.simplelocalize.cli.extraction.keys.SwiftStringKeyExtractor;
 
@@ -16,11 +17,17 @@ public class iOSProcessor implements ExtractionProcessor
 
   @Override
   public ExtractionResult process(Path searchDirectory)
+  {
+    return process(DirectoryWalk.of(searchDirectory));
+  }
+
+  @Override
+  public ExtractionResult process(DirectoryWalk directoryWalk)
   {
     Set<String> foundKeys = new HashSet<>();
 
     GenericExtensionFilesFinder filesFinder = new GenericExtensionFilesFinder();
-    List<Path> swiftFiles = filesFinder.findFilesToProcess(searchDirectory, ".swift");
+    List<Path> swiftFiles = filesFinder.findFilesToProcess(directoryWalk, ".swift");
     List<Path> foundFiles = new ArrayList<>(swiftFiles);
 
     SwiftStringKeyExtractor extractor = new SwiftStringKeyExtractor();
@@ -12,9 +12,9 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static io.simplelocalize.cli.TemplateKeys.LANGUAGE_TEMPLATE_KEY;
@@ -26,7 +26,16 @@ public class FileListReader
   public List<FileToUpload> findFilesToUpload(String uploadPath) throws IOException
   {
     List<FileToUpload> output = new ArrayList<>();
+    findFilesToUpload(uploadPath, output::add);
+    return output;
+  }
 
+  /**
+   * Walks the upload path and passes every matching file to the consumer as soon as it is found.
+   * A blocking consumer slows down the directory walk, which is used by upload to apply backpressure.
+   */
+  public void findFilesToUpload(String uploadPath, Consumer<FileToUpload> consumer) throws IOException
+  {
     String beforeTemplatePart = getParentDirectory(uploadPath);
     Path parentDir = Path.of(beforeTemplatePart);
 
@@ -44,25 +53,26 @@ public class FileListReader
               .substring(uploadPath.equals(beforeTemplatePart) ? 0 : beforeTemplatePart.length())
               .replace(LANGUAGE_TEMPLATE_KEY, "**")
               .replace(NAMESPACE_TEMPLATE_KEY, "**");
-      var foundFiles = foundFilesStream
+      foundFilesStream
               .filter(Files::isRegularFile)
-              .filter(path -> antPathMatcher.matches(uploadPathPattern, path.toString())) // .replace('\\', '/') !!!!!!!!!!!!!!!!!!!!!!!!
-              .collect(Collectors.toList());
-      for (Path foundFile : foundFiles)
-      {
-        Map<String, String> templateValues = extractTemplateValues(uploadPath, foundFile);
+              // the pattern is relative, so the root of an absolute upload path must not be part of the matched path
+              .filter(path -> antPathMatcher.matches(uploadPathPattern, StringUtils.removeStart(path.toString(), "/"))) // .replace('\\', '/') !!!!!!!!!!!!!!!!!!!!!!!!
+              .map(foundFile -> toFileToUpload(uploadPath, foundFile))
+              .forEach(consumer);
+    }
+  }
 
-        String languageKey = templateValues.get(LANGUAGE_TEMPLATE_KEY.replaceAll("^.|.$", ""));
-        String namespace = templateValues.get(NAMESPACE_TEMPLATE_KEY.replaceAll("^.|.$", ""));
+  private FileToUpload toFileToUpload(String uploadPath, Path foundFile)
+  {
+    Map<String, String> templateValues = extractTemplateValues(uploadPath, foundFile);
 
-        FileToUpload fileToUpload = FileToUpload.FileToUploadBuilder.aFileToUpload()
-                .withLanguage(StringUtils.trimToNull(languageKey))
-                .withNamespace(StringUtils.trimToNull(namespace))
-                .withPath(foundFile).build();
-        output.add(fileToUpload);
-      }
-      return output;
-    }
+    String languageKey = templateValues.get(LANGUAGE_TEMPLATE_KEY.replaceAll("^.|.$", ""));
+    String namespace = templateValues.get(NAMESPACE_TEMPLATE_KEY.replaceAll("^.|.$", ""));
+
+    return FileToUpload.FileToUploadBuilder.aFileToUpload()
+            .withLanguage(StringUtils.trimToNull(languageKey))
+            .withNamespace(StringUtils.trimToNull(namespace))
+            .withPath(foundFile).build();
   }
 
   private String getParentDirectory(String uploadPath)
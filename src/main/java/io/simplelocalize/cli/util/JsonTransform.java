@@ -0,0 +1,13 @@
+package io.simplelocalize.cli.util;
+
+/**
+ * Transformations applied to downloaded JSON files. The order of REMOVE_EMPTY and SORT_KEYS does not matter.
+ * MINIFY and PRETTY_PRINT only choose the output format, the last one of them in the list wins.
+ */
+public enum JsonTransform
+{
+  REMOVE_EMPTY,
+  SORT_KEYS,
+  MINIFY,
+  PRETTY_PRINT
+}
@@ -1,93 +1,163 @@
 package io.simplelocalize.cli.util;
 
-import net.minidev.json.JSONStyle;
-import org.apache.commons.lang3.StringUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import java.io.IOException;
-import java.util.*;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class JsonUtil {
 
+  private static final JsonFactory JSON_FACTORY = new JsonFactory()
+          .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
   private JsonUtil() {
   }
 
-  public static void removeEmptyFields(HashMap map) {
-    map.values().removeIf(e->e instanceof String && ((String) e).isEmpty());
-    for (Object value: map.values()) {
-      if (value instanceof HashMap) {
-        // Apply a recursion on inner maps
-        removeEmptyFields((HashMap) value);
+  /**
+   * Copies JSON token by token through the given transforms, so the document is parsed once and written once.
+   * The transforms are independent of each other, whatever their order: SORT_KEYS reorders what the parser reads
+   * and REMOVE_EMPTY filters what the generator writes. The output is pretty-printed unless MINIFY comes after
+   * the last PRETTY_PRINT, so the last printer in the list wins.
+   */
+  public static void transform(InputStream inputStream, OutputStream outputStream, List<JsonTransform> transforms) throws IOException {
+    RootTokenRecorder sourceParser = new RootTokenRecorder(JSON_FACTORY.createParser(inputStream));
+    JsonParser parser = transforms.contains(JsonTransform.SORT_KEYS) ? sortKeys(sourceParser) : sourceParser;
+    int lastMinify = transforms.lastIndexOf(JsonTransform.MINIFY);
+    int lastPrettyPrint = transforms.lastIndexOf(JsonTransform.PRETTY_PRINT);
+
+    try (JsonGenerator outputGenerator = JSON_FACTORY.createGenerator(outputStream)) {
+      if (lastMinify <= lastPrettyPrint) {
+        outputGenerator.setPrettyPrinter(new PrettyPrinter());
+      }
+      JsonGenerator generator = outputGenerator;
+      if (transforms.contains(JsonTransform.REMOVE_EMPTY)) {
+        generator = new FilteringGeneratorDelegate(outputGenerator, RemoveEmptyFilter.INSTANCE, true, true);
       }
-    }
-  }
 
-  public static class PrettyJSONStyle extends JSONStyle {
-    private int level = 0;
-    private String indentString = "  ";
+      while (parser.nextToken() != null) {
+        generator.copyCurrentEvent(parser);
+      }
+      generator.flush();
 
-    public PrettyJSONStyle() {
+      // REMOVE_EMPTY drops the root object as well when nothing is left in it
+      boolean isOutputEmpty = outputGenerator.getOutputContext().getEntryCount() == 0;
+      if (isOutputEmpty && sourceParser.rootToken == JsonToken.START_OBJECT) {
+        outputGenerator.writeStartObject();
+        outputGenerator.writeEndObject();
+      }
+    } finally {
+      parser.close();
+      sourceParser.close();
     }
+  }
 
-    private void indent(Appendable out) throws IOException, IOException {
-      out.append('\n');
-      out.append(StringUtils.repeat(indentString, level));
+  /**
+   * Sorting needs all keys of an object before the first one can be written, so the whole document is buffered
+   * before anything is written.
+   */
+  private static JsonParser sortKeys(JsonParser parser) throws IOException {
+    TokenBuffer sortedTokens = new TokenBuffer(parser, null);
+    while (parser.nextToken() != null) {
+      copySorted(parser, sortedTokens);
     }
+    return sortedTokens.asParser();
+  }
 
-    @Override
-    public void objectStart(Appendable out) throws IOException {
-      super.objectStart(out);
-      level++;
+  private static void copySorted(JsonParser parser, JsonGenerator generator) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      Map<String, TokenBuffer> members = new TreeMap<>();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        TokenBuffer value = new TokenBuffer(parser, null);
+        copySorted(parser, value);
+        members.put(fieldName, value);
+      }
+      generator.writeStartObject();
+      for (Map.Entry<String, TokenBuffer> member : members.entrySet()) {
+        generator.writeFieldName(member.getKey());
+        member.getValue().serialize(generator);
+      }
+      generator.writeEndObject();
+    } else if (token == JsonToken.START_ARRAY) {
+      generator.writeStartArray();
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        copySorted(parser, generator);
+      }
+      generator.writeEndArray();
+    } else {
+      generator.copyCurrentEvent(parser);
     }
+  }
 
-    @Override
-    public void objectStop(Appendable out) throws IOException {
-      level--;
-      indent(out);
-      super.objectStop(out);
-    }
+  /**
+   * Drops empty string values. Objects are only opened in the output once they get a value, so objects left
+   * without values are dropped as well. Arrays are copied as-is.
+   */
+  private static class RemoveEmptyFilter extends TokenFilter {
+
+    private static final RemoveEmptyFilter INSTANCE = new RemoveEmptyFilter();
 
     @Override
-    public void objectNext(Appendable out) throws IOException {
-      super.objectNext(out);
-      indent(out);
+    public TokenFilter includeProperty(String name) {
+      return this;
     }
 
     @Override
-    public void objectEndOfKey(Appendable out) throws IOException {
-      super.objectEndOfKey(out);
-      out.append(' ');
+    public TokenFilter filterStartArray() {
+      return TokenFilter.INCLUDE_ALL;
     }
 
     @Override
-    public void objectFirstStart(Appendable out) throws IOException {
-      indent(out);
-      super.objectFirstStart(out);
+    public boolean includeString(String value) {
+      return !value.isEmpty();
     }
+  }
 
-    @Override
-    public void arrayfirstObject(Appendable out) throws IOException {
-      indent(out);
-      super.arrayfirstObject(out);
+  private static class RootTokenRecorder extends JsonParserDelegate {
+
+    private JsonToken rootToken;
+
+    private RootTokenRecorder(JsonParser parser) {
+      super(parser);
     }
 
     @Override
-    public void arrayNextElm(Appendable out) throws IOException {
-      super.arrayNextElm(out);
-      indent(out);
+    public JsonToken nextToken() throws IOException {
+      JsonToken token = super.nextToken();
+      if (rootToken == null) {
+        rootToken = token;
+      }
+      return token;
     }
+  }
 
-    @Override
-    public void arrayStart(Appendable out) throws IOException {
-      super.arrayStart(out);
-      level++;
+  private static class PrettyPrinter extends DefaultPrettyPrinter {
+
+    private PrettyPrinter() {
+      DefaultIndenter indenter = new DefaultIndenter("  ", "\n");
+      indentObjectsWith(indenter);
+      indentArraysWith(indenter);
     }
 
     @Override
-    public void arrayStop(Appendable out) throws IOException {
-      level--;
-      indent(out);
-      super.arrayStop(out);
+    public void writeObjectFieldValueSeparator(JsonGenerator generator) throws IOException {
+      generator.writeRaw(": ");
     }
-
   }
 }
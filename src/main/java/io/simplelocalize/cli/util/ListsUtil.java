@@ -1,7 +1,10 @@
 package io.simplelocalize.cli.util;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 public class ListsUtil {
 
@@ -17,4 +20,33 @@ public class ListsUtil {
     return output;
   }
 
+  /**
+   * Splits items into consecutive batches lazily, so only the current batch is copied.
+   */
+  public static <T> Iterable<List<T>> batches(Collection<T> items, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+    return () -> new Iterator<>() {
+      private final Iterator<T> itemsIterator = items.iterator();
+
+      @Override
+      public boolean hasNext() {
+        return itemsIterator.hasNext();
+      }
+
+      @Override
+      public List<T> next() {
+        if (!itemsIterator.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        List<T> batch = new ArrayList<>(Math.min(batchSize, items.size()));
+        while (itemsIterator.hasNext() && batch.size() < batchSize) {
+          batch.add(itemsIterator.next());
+        }
+        return batch;
+      }
+    };
+  }
+
 }
@@ -7,11 +7,23 @@ import org.yaml.snakeyaml.error.MissingEnvironmentVariableException;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 
+import java.util.Map;
 import java.util.regex.Matcher;
 
 public class YamlConstructor extends Constructor {
+    private final Map<String, String> environment;
+
     public YamlConstructor(Class<? extends Object> theRoot) {
+        this(theRoot, System.getenv());
+    }
+
+    /**
+     * Resolves environment variables from the given environment, which is the one of the client for commands
+     * sent to a daemon.
+     */
+    public YamlConstructor(Class<? extends Object> theRoot, Map<String, String> environment) {
         super(theRoot);
+        this.environment = environment;
         this.yamlConstructors.put(EnvScalarConstructor.ENV_TAG, new YamlConstructor.ConstructEnv());
     }
 
@@ -48,7 +60,7 @@ public class YamlConstructor extends Constructor {
     }
 
     public String getEnv(String key) {
-        return System.getenv(key);
+        return environment.get(key);
     }
 
     private class ConstructEnv extends AbstractConstruct {
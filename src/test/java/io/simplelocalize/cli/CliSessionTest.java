@@ -0,0 +1,39 @@
+package io.simplelocalize.cli;
+
+import io.simplelocalize.cli.client.SimpleLocalizeClient;
+import io.simplelocalize.cli.configuration.Configuration;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CliSessionTest
+{
+
+  @Test
+  void shouldShareOneClientBetweenCommands()
+  {
+    //given
+    Configuration configuration = new Configuration();
+    configuration.setApiKey("5c6ba2b2bb1e4be0b4b0ac85b2cd5d1e");
+    CliSession session = new CliSession(configuration);
+
+    //when
+    SimpleLocalizeClient uploadClient = session.getClient();
+    SimpleLocalizeClient downloadClient = session.getClient();
+
+    //then
+    Assertions.assertThat(uploadClient).isSameAs(downloadClient);
+  }
+
+  @Test
+  void shouldCreateClientWithApiKeyAppliedAfterLoading()
+  {
+    //given
+    CliSession session = new CliSession(new Configuration());
+
+    //when
+    session.getConfiguration().setApiKey("5c6ba2b2bb1e4be0b4b0ac85b2cd5d1e");
+
+    //then
+    Assertions.assertThat(session.getClient()).isNotNull();
+  }
+}
@@ -0,0 +1,76 @@
+package io.simplelocalize.cli;
+
+import io.simplelocalize.cli.batch.BatchFile;
+import io.simplelocalize.cli.client.DownloadManifest;
+import io.simplelocalize.cli.client.dto.DownloadableFile;
+import io.simplelocalize.cli.configuration.Configuration;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+class NativeImageMetadataTest
+{
+
+  private static final String NATIVE_IMAGE_DIRECTORY = "META-INF/native-image/io.simplelocalize.cli/";
+
+  @Test
+  void shouldGenerateReflectionMetadataForClassesBoundByJacksonAndSnakeYaml() throws IOException
+  {
+    //when
+    String reflectionConfig = readResource(NATIVE_IMAGE_DIRECTORY + "simplelocalize-cli/reflection-config.json");
+
+    //then
+    Assertions.assertThat(reflectionConfig).contains(
+            "\"" + Configuration.class.getName() + "\"",
+            "\"" + DownloadableFile.class.getName() + "\"",
+            "\"" + DownloadManifest.Entry.class.getName() + "\"",
+            "\"" + BatchFile.class.getName() + "\"",
+            "\"" + BatchFile.Operation.class.getName() + "\""
+    );
+  }
+
+  @Test
+  void shouldGenerateReflectionMetadataForCommands() throws IOException
+  {
+    //when
+    String reflectionConfig = readResource("META-INF/native-image/picocli-generated/io.simplelocalize.cli/simplelocalize-cli/reflect-config.json");
+
+    //then
+    Assertions.assertThat(reflectionConfig).contains("\"" + SimplelocalizeCliCommand.class.getName() + "\"");
+  }
+
+  @Test
+  void shouldBuildImageForCliCommand() throws IOException
+  {
+    //given
+    Properties properties = new Properties();
+
+    //when
+    try (InputStream inputStream = getResource(NATIVE_IMAGE_DIRECTORY + "simplelocalize-cli-build/native-image.properties"))
+    {
+      properties.load(inputStream);
+    }
+
+    //then
+    Assertions.assertThat(properties.getProperty("Args")).contains("-H:Class=" + SimplelocalizeCliCommand.class.getName());
+  }
+
+  private static String readResource(String name) throws IOException
+  {
+    try (InputStream inputStream = getResource(name))
+    {
+      return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static InputStream getResource(String name)
+  {
+    InputStream inputStream = NativeImageMetadataTest.class.getClassLoader().getResourceAsStream(name);
+    Assertions.assertThat(inputStream).as(name).isNotNull();
+    return inputStream;
+  }
+}
@@ -0,0 +1,97 @@
+package io.simplelocalize.cli;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.verify.VerificationTimes;
+import picocli.CommandLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+class SimplelocalizeCliCommandTest
+{
+
+  @TempDir
+  Path temporaryDirectory;
+
+  private ClientAndServer mockServer;
+
+  @BeforeEach
+  void startMockServer() throws Exception
+  {
+    mockServer = startClientAndServer(1080);
+    mockServer.when(request().withMethod("GET").withPath("/cli/v2/download"))
+            .respond(response().withStatusCode(200).withBody("{\"files\": [{\"language\": \"en\", \"url\": \"http://localhost:1080/s3/en.json\"}]}"));
+    mockServer.when(request().withMethod("GET").withPath("/s3/en.json"))
+            .respond(response().withStatusCode(200).withBody("{\"HELLO\": \"Hello\"}"));
+    Files.writeString(temporaryDirectory.resolve("simplelocalize.yml"), String.join("\n",
+            "baseUrl: http://localhost:1080",
+            "downloadFormat: single-language-json",
+            "projects:",
+            "  - name: web",
+            "    apiKey: web-api-key",
+            "    downloadPath: ./web/{lang}.json",
+            "  - name: mobile",
+            "    apiKey: mobile-api-key",
+            "    downloadPath: ./mobile/{lang}.json"));
+  }
+
+  @AfterEach
+  void stopMockServer()
+  {
+    mockServer.stop();
+  }
+
+  @Test
+  void shouldRefuseOptionsForMoreThanOneProject()
+  {
+    //when
+    int exitCode = execute("download", "--downloadPath", "./override/{lang}.json");
+
+    //then
+    Assertions.assertThat(exitCode).isEqualTo(1);
+    Assertions.assertThat(temporaryDirectory.resolve("override")).doesNotExist();
+    mockServer.verify(request().withPath("/cli/v2/download"), VerificationTimes.exactly(0));
+  }
+
+  @Test
+  void shouldApplyOptionsToSelectedProjectOnly()
+  {
+    //when
+    int exitCode = execute("--project", "web", "download", "--downloadPath", "./override/{lang}.json");
+
+    //then
+    Assertions.assertThat(exitCode).isZero();
+    Assertions.assertThat(temporaryDirectory.resolve("override/en.json")).hasContent("{\"HELLO\": \"Hello\"}");
+    Assertions.assertThat(temporaryDirectory.resolve("mobile")).doesNotExist();
+    mockServer.verify(request().withPath("/cli/v2/download").withHeader("X-SimpleLocalize-Token", "web-api-key"), VerificationTimes.exactly(1));
+    mockServer.verify(request().withPath("/cli/v2/download").withHeader("X-SimpleLocalize-Token", "mobile-api-key"), VerificationTimes.exactly(0));
+  }
+
+  @Test
+  void shouldRunAllProjectsWithoutOptions()
+  {
+    //when
+    int exitCode = execute("download");
+
+    //then
+    Assertions.assertThat(exitCode).isZero();
+    Assertions.assertThat(temporaryDirectory.resolve("web/en.json")).exists();
+    Assertions.assertThat(temporaryDirectory.resolve("mobile/en.json")).exists();
+  }
+
+  private int execute(String... arguments)
+  {
+    SimplelocalizeCliCommand command = SimplelocalizeCliCommand.forWorkingDirectory(CliResources.perInvocation(), temporaryDirectory, Map.of());
+    return new CommandLine(command).execute(arguments);
+  }
+}
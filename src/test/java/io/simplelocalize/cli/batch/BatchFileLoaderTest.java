@@ -0,0 +1,95 @@
+package io.simplelocalize.cli.batch;
+
+import io.simplelocalize.cli.exception.ConfigurationException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class BatchFileLoaderTest
+{
+
+  private final BatchFileLoader loader = new BatchFileLoader();
+
+  @TempDir
+  Path temporaryDirectory;
+
+  @Test
+  void shouldLoadBatchFile() throws IOException
+  {
+    //given
+    createConfigurationFile("web/simplelocalize.yml");
+    createConfigurationFile("mobile/simplelocalize.yml");
+    Path batchFilePath = temporaryDirectory.resolve("simplelocalize-batch.yml");
+    Files.writeString(batchFilePath, String.join("\n",
+            "concurrency: 8",
+            "operations:",
+            "  - name: web",
+            "    config: web/simplelocalize.yml",
+            "    commands: [extract, upload]",
+            "  - config: mobile/simplelocalize.yml",
+            "    commands: [download]"
+    ));
+
+    //when
+    BatchFile batchFile = loader.load(batchFilePath);
+
+    //then
+    Assertions.assertThat(batchFile.getConcurrency()).isEqualTo(8);
+    Assertions.assertThat(batchFile.getOperations()).hasSize(2);
+    Assertions.assertThat(batchFile.getOperations().get(0).getName()).isEqualTo("web");
+    Assertions.assertThat(batchFile.getOperations().get(0).getCommands()).containsExactly("extract", "upload");
+    Assertions.assertThat(batchFile.getOperations().get(1).getConfig()).isEqualTo("mobile/simplelocalize.yml");
+  }
+
+  @Test
+  void shouldThrowWhenCommandIsNotSupported() throws IOException
+  {
+    //given
+    createConfigurationFile("web/simplelocalize.yml");
+    Path batchFilePath = temporaryDirectory.resolve("simplelocalize-batch.yml");
+    Files.writeString(batchFilePath, String.join("\n",
+            "operations:",
+            "  - config: web/simplelocalize.yml",
+            "    commands: [daemon]"
+    ));
+
+    //when & then
+    Assertions.assertThatThrownBy(() -> loader.load(batchFilePath)).isInstanceOf(ConfigurationException.class);
+  }
+
+  @Test
+  void shouldThrowWhenConfigurationFileDoesNotExist() throws IOException
+  {
+    //given
+    Path batchFilePath = temporaryDirectory.resolve("simplelocalize-batch.yml");
+    Files.writeString(batchFilePath, String.join("\n",
+            "operations:",
+            "  - config: missing/simplelocalize.yml",
+            "    commands: [upload]"
+    ));
+
+    //when & then
+    Assertions.assertThatThrownBy(() -> loader.load(batchFilePath)).isInstanceOf(ConfigurationException.class);
+  }
+
+  @Test
+  void shouldThrowWhenBatchFileDoesNotExist()
+  {
+    //given
+    Path batchFilePath = temporaryDirectory.resolve("missing.yml");
+
+    //when & then
+    Assertions.assertThatThrownBy(() -> loader.load(batchFilePath)).isInstanceOf(ConfigurationException.class);
+  }
+
+  private void createConfigurationFile(String path) throws IOException
+  {
+    Path configurationFilePath = temporaryDirectory.resolve(path);
+    Files.createDirectories(configurationFilePath.getParent());
+    Files.writeString(configurationFilePath, "apiKey: my-api-key");
+  }
+}
@@ -0,0 +1,117 @@
+package io.simplelocalize.cli.batch;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+class BatchRunnerTest
+{
+
+  @Test
+  void shouldRunOperationsConcurrentlyUpToConcurrency()
+  {
+    //given
+    AtomicInteger runningCommands = new AtomicInteger();
+    AtomicInteger maxRunningCommands = new AtomicInteger();
+    BatchRunner batchRunner = new BatchRunner(2, (workingDirectory, configurationFilePath, command) -> {
+      maxRunningCommands.accumulateAndGet(runningCommands.incrementAndGet(), Math::max);
+      sleep(100);
+      runningCommands.decrementAndGet();
+      return 0;
+    });
+    List<BatchFile.Operation> operations = List.of(
+            operation("web/simplelocalize.yml", "upload"),
+            operation("mobile/simplelocalize.yml", "upload"),
+            operation("admin/simplelocalize.yml", "upload"),
+            operation("landing/simplelocalize.yml", "upload")
+    );
+
+    //when
+    BatchReport batchReport = batchRunner.run(operations, Path.of("projects"));
+
+    //then
+    Assertions.assertThat(maxRunningCommands).hasValue(2);
+    Assertions.assertThat(batchReport.hasFailures()).isFalse();
+    Assertions.assertThat(batchReport.getOperationResults()).hasSize(4);
+  }
+
+  @Test
+  void shouldRunCommandsOfOperationInConfigurationDirectory()
+  {
+    //given
+    Map<String, Path> workingDirectories = new ConcurrentHashMap<>();
+    BatchRunner batchRunner = new BatchRunner(4, (workingDirectory, configurationFilePath, command) -> {
+      workingDirectories.put(command, workingDirectory);
+      Assertions.assertThat(configurationFilePath).isEqualTo(Path.of("projects/web/simplelocalize.yml").toAbsolutePath());
+      return 0;
+    });
+
+    //when
+    batchRunner.run(List.of(operation("web/simplelocalize.yml", "extract", "download")), Path.of("projects"));
+
+    //then
+    Assertions.assertThat(workingDirectories).containsOnlyKeys("extract", "download");
+    Assertions.assertThat(workingDirectories.values()).containsOnly(Path.of("projects/web").toAbsolutePath());
+  }
+
+  @Test
+  void shouldSkipRemainingCommandsOfOperationAfterFailedCommand()
+  {
+    //given
+    BatchRunner batchRunner = new BatchRunner(4, (workingDirectory, configurationFilePath, command) -> command.equals("upload") ? 1 : 0);
+    BatchFile.Operation operation = operation("web/simplelocalize.yml", "extract", "upload", "download");
+    operation.setName("web");
+
+    //when
+    BatchReport batchReport = batchRunner.run(List.of(operation), Path.of("projects"));
+
+    //then
+    Assertions.assertThat(batchReport.hasFailures()).isTrue();
+    BatchReport.OperationResult operationResult = batchReport.getOperationResults().get(0);
+    Assertions.assertThat(operationResult.getName()).isEqualTo("web");
+    Assertions.assertThat(operationResult.getCommandResults().stream().map(BatchReport.CommandResult::toString).collect(Collectors.toList()))
+            .hasSize(3)
+            .element(2).isEqualTo("download skipped");
+    Assertions.assertThat(operationResult.getCommandResults().get(1).isFailed()).isTrue();
+  }
+
+  @Test
+  void shouldReportCommandThrowingExceptionAsFailed()
+  {
+    //given
+    BatchRunner batchRunner = new BatchRunner(4, (workingDirectory, configurationFilePath, command) -> {
+      throw new IllegalStateException("unexpected");
+    });
+
+    //when
+    BatchReport batchReport = batchRunner.run(List.of(operation("web/simplelocalize.yml", "download")), Path.of("projects"));
+
+    //then
+    Assertions.assertThat(batchReport.hasFailures()).isTrue();
+  }
+
+  private static BatchFile.Operation operation(String config, String... commands)
+  {
+    BatchFile.Operation operation = new BatchFile.Operation();
+    operation.setConfig(config);
+    operation.setCommands(List.of(commands));
+    return operation;
+  }
+
+  private static void sleep(long millis)
+  {
+    try
+    {
+      Thread.sleep(millis);
+    } catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
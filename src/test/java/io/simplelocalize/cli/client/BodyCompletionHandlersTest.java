@@ -0,0 +1,131 @@
+package io.simplelocalize.cli.client;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+
+class BodyCompletionHandlersTest
+{
+
+  private final List<String> completions = new CopyOnWriteArrayList<>();
+  private volatile boolean isCancelled;
+
+  @Test
+  void shouldReportCompletionOnceBodyWasReceived() throws Exception
+  {
+    //given
+    HttpResponse.BodySubscriber<InputStream> bodySubscriber = subscribe(HttpResponse.BodyHandlers.ofInputStream(), 503, null);
+    InputStream body = bodySubscriber.getBody().toCompletableFuture().get();
+
+    //when
+    bodySubscriber.onNext(List.of(ByteBuffer.wrap("{}".getBytes(StandardCharsets.UTF_8))));
+
+    //then
+    Assertions.assertThat(completions).isEmpty();
+    bodySubscriber.onComplete();
+    Assertions.assertThat(completions).containsExactly("503 failed=false");
+    Assertions.assertThat(body.readAllBytes()).isEqualTo("{}".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldReportCompletionOnceWhenBodyWasClosedEarly() throws Exception
+  {
+    //given
+    HttpResponse.BodySubscriber<InputStream> bodySubscriber = subscribe(HttpResponse.BodyHandlers.ofInputStream(), 200, null);
+    InputStream body = bodySubscriber.getBody().toCompletableFuture().get();
+
+    //when
+    body.close();
+    bodySubscriber.onError(new IllegalStateException("late failure"));
+
+    //then
+    Assertions.assertThat(completions).containsExactly("200 failed=false");
+  }
+
+  @Test
+  void shouldReportFailedBody()
+  {
+    //given
+    HttpResponse.BodySubscriber<String> bodySubscriber = subscribe(HttpResponse.BodyHandlers.ofString(), 200, null);
+
+    //when
+    bodySubscriber.onError(new IllegalStateException("connection reset"));
+
+    //then
+    Assertions.assertThat(completions).containsExactly("200 failed=true");
+    Assertions.assertThat(bodySubscriber.getBody().toCompletableFuture()).isCompletedExceptionally();
+  }
+
+  @Test
+  void shouldFailBodyWhichWasNotReceivedInTime() throws Exception
+  {
+    //given
+    HttpResponse.BodySubscriber<InputStream> bodySubscriber = subscribe(HttpResponse.BodyHandlers.ofInputStream(), 200, Duration.ofMillis(50));
+    InputStream body = bodySubscriber.getBody().toCompletableFuture().get();
+
+    //when
+    Throwable throwable = Assertions.catchThrowable(body::readAllBytes);
+
+    //then
+    Assertions.assertThat(throwable).hasCauseInstanceOf(HttpTimeoutException.class);
+    Assertions.assertThat(completions).containsExactly("200 failed=true");
+    Assertions.assertThat(isCancelled).isTrue();
+  }
+
+  private <T> HttpResponse.BodySubscriber<T> subscribe(HttpResponse.BodyHandler<T> bodyHandler, int statusCode, Duration bodyTimeout)
+  {
+    HttpResponse.BodyHandler<T> completionBodyHandler = BodyCompletionHandlers.onBodyCompletion(bodyHandler, bodyTimeout,
+            (completedStatusCode, isFailed) -> completions.add(completedStatusCode + " failed=" + isFailed));
+    HttpResponse.BodySubscriber<T> bodySubscriber = completionBodyHandler.apply(responseInfo(statusCode));
+    bodySubscriber.onSubscribe(new Flow.Subscription()
+    {
+      @Override
+      public void request(long n)
+      {
+      }
+
+      @Override
+      public void cancel()
+      {
+        isCancelled = true;
+      }
+    });
+    return bodySubscriber;
+  }
+
+  private static HttpResponse.ResponseInfo responseInfo(int statusCode)
+  {
+    return new HttpResponse.ResponseInfo()
+    {
+      @Override
+      public int statusCode()
+      {
+        return statusCode;
+      }
+
+      @Override
+      public HttpHeaders headers()
+      {
+        return HttpHeaders.of(Map.of(), (name, value) -> true);
+      }
+
+      @Override
+      public HttpClient.Version version()
+      {
+        return HttpClient.Version.HTTP_1_1;
+      }
+    };
+  }
+}
@@ -1,20 +1,40 @@
 package io.simplelocalize.cli.client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import io.simplelocalize.cli.TestResourcesUtility;
+import io.simplelocalize.cli.client.dto.FileToUpload;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static io.simplelocalize.cli.client.dto.FileToUpload.FileToUploadBuilder.aFileToUpload;
 
 class ClientBodyBuildersTest
 {
 
   @Test
-  void ofKeysBody() throws JsonProcessingException
+  void ofKeysBody() throws Exception
   {
     //given
     List<String> input = List.of("key1", "key2");
@@ -23,7 +43,44 @@ class ClientBodyBuildersTest
     HttpRequest.BodyPublisher result = ClientBodyBuilders.ofKeysBody(input);
 
     //then
-    Assertions.assertThat(result).isNotNull();
+    Assertions.assertThat(new String(readBody(result), StandardCharsets.UTF_8))
+            .isEqualTo("{\"content\":[{\"key\":\"key1\"},{\"key\":\"key2\"}]}");
+  }
+
+  @Test
+  void shouldFailKeysBodyWhenKeysCouldNotBeWrittenCompletely()
+  {
+    //given
+    Collection<String> input = new AbstractCollection<>()
+    {
+      @Override
+      public Iterator<String> iterator()
+      {
+        return List.of("key1", "key2").stream()
+                .map(key -> {
+                  if (key.equals("key2"))
+                  {
+                    throw new IllegalStateException("key2 could not be read");
+                  }
+                  return key;
+                })
+                .iterator();
+      }
+
+      @Override
+      public int size()
+      {
+        return 2;
+      }
+    };
+
+    //when
+    HttpRequest.BodyPublisher result = ClientBodyBuilders.ofKeysBody(input);
+
+    //then
+    Assertions.assertThatThrownBy(() -> readBody(result))
+            .isInstanceOf(ExecutionException.class)
+            .hasRootCauseMessage("key2 could not be read");
   }
 
   @Test
@@ -42,4 +99,150 @@ class ClientBodyBuildersTest
     //then
     Assertions.assertThat(result).isNotNull();
   }
+
+  @Test
+  void ofMimeMultipartArchive() throws Exception
+  {
+    //given
+    String boundary = "894758275029";
+    List<FileToUpload> files = List.of(
+            aFileToUpload().withPath(TestResourcesUtility.read("zip-test/input/file-1.txt")).withLanguage("en").build(),
+            aFileToUpload().withPath(TestResourcesUtility.read("zip-test/input/file-2.txt")).withLanguage("de").withNamespace("common").build()
+    );
+
+    //when
+    HttpRequest.BodyPublisher result = ClientBodyBuilders.ofMimeMultipartArchive(files, boundary);
+
+    //then
+    byte[] body = readBody(result);
+    String bodyAsText = new String(body, StandardCharsets.ISO_8859_1);
+    Assertions.assertThat(bodyAsText)
+            .startsWith("--894758275029\r\n")
+            .contains("{\"entry\":\"0/file-1.txt\",\"language\":\"en\",\"namespace\":null}")
+            .contains("{\"entry\":\"1/file-2.txt\",\"language\":\"de\",\"namespace\":\"common\"}")
+            .endsWith("\r\n--894758275029--");
+
+    Map<String, String> expectedEntries = readZipEntries(Files.readAllBytes(TestResourcesUtility.read("zip-test/input/Archive.zip")));
+    byte[] zip = Arrays.copyOfRange(body, bodyAsText.indexOf("PK"), bodyAsText.lastIndexOf("\r\n--"));
+    Map<String, String> actualEntries = readZipEntries(zip);
+    Assertions.assertThat(actualEntries).containsOnlyKeys("0/file-1.txt", "1/file-2.txt");
+    Assertions.assertThat(actualEntries.get("0/file-1.txt")).isEqualTo(expectedEntries.get("file-1.txt"));
+    Assertions.assertThat(actualEntries.get("1/file-2.txt")).isEqualTo(expectedEntries.get("file-2.txt"));
+  }
+
+  @Test
+  void shouldFailArchiveBodyWhenFileCouldNotBeRead()
+  {
+    //given
+    List<FileToUpload> files = List.of(
+            aFileToUpload().withPath(TestResourcesUtility.read("zip-test/input/file-1.txt")).withLanguage("en").build(),
+            aFileToUpload().withPath(Path.of("./junit/non-existing-file.json")).withLanguage("de").build()
+    );
+
+    //when
+    HttpRequest.BodyPublisher result = ClientBodyBuilders.ofMimeMultipartArchive(files, "894758275029");
+
+    //then
+    Assertions.assertThatThrownBy(() -> readBody(result))
+            .isInstanceOf(ExecutionException.class)
+            .hasRootCauseInstanceOf(NoSuchFileException.class);
+  }
+
+  @Test
+  void shouldStopWriterWhenSubscriptionIsCancelled() throws Exception
+  {
+    //given
+    CompletableFuture<Throwable> writerResult = new CompletableFuture<>();
+    HttpRequest.BodyPublisher bodyPublisher = ClientBodyBuilders.ofOutputStream(outputStream -> {
+      try
+      {
+        while (true)
+        {
+          outputStream.write(new byte[1024]);
+        }
+      } catch (IOException e)
+      {
+        writerResult.complete(e);
+        throw e;
+      }
+    });
+
+    //when
+    bodyPublisher.subscribe(new Flow.Subscriber<>()
+    {
+      @Override
+      public void onSubscribe(Flow.Subscription subscription)
+      {
+        subscription.request(1);
+        subscription.cancel();
+      }
+
+      @Override
+      public void onNext(ByteBuffer item)
+      {
+      }
+
+      @Override
+      public void onError(Throwable throwable)
+      {
+      }
+
+      @Override
+      public void onComplete()
+      {
+      }
+    });
+
+    //then
+    Assertions.assertThat(writerResult.get(10, TimeUnit.SECONDS)).isInstanceOf(IOException.class);
+  }
+
+  private static byte[] readBody(HttpRequest.BodyPublisher bodyPublisher) throws Exception
+  {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    CompletableFuture<byte[]> result = new CompletableFuture<>();
+    bodyPublisher.subscribe(new Flow.Subscriber<>()
+    {
+      @Override
+      public void onSubscribe(Flow.Subscription subscription)
+      {
+        subscription.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(ByteBuffer item)
+      {
+        byte[] bytes = new byte[item.remaining()];
+        item.get(bytes);
+        output.writeBytes(bytes);
+      }
+
+      @Override
+      public void onError(Throwable throwable)
+      {
+        result.completeExceptionally(throwable);
+      }
+
+      @Override
+      public void onComplete()
+      {
+        result.complete(output.toByteArray());
+      }
+    });
+    return result.get(10, TimeUnit.SECONDS);
+  }
+
+  private static Map<String, String> readZipEntries(byte[] zip) throws IOException
+  {
+    Map<String, String> entries = new HashMap<>();
+    try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip)))
+    {
+      ZipEntry entry;
+      while ((entry = zipInputStream.getNextEntry()) != null)
+      {
+        entries.put(entry.getName(), new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    }
+    return entries;
+  }
 }
@@ -0,0 +1,51 @@
+package io.simplelocalize.cli.client;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class ClientMetricsTest
+{
+
+  @Test
+  void shouldReadLatencyPercentiles()
+  {
+    //given
+    ClientMetrics metrics = new ClientMetrics();
+    for (int i = 100; i >= 1; i--)
+    {
+      metrics.recordLatency(Duration.ofMillis(i));
+    }
+
+    //when
+    Duration medianLatency = metrics.getLatencyPercentile(50);
+    Duration maxLatency = metrics.getLatencyPercentile(100);
+
+    //then
+    Assertions.assertThat(medianLatency).isEqualTo(Duration.ofMillis(50));
+    Assertions.assertThat(maxLatency).isEqualTo(Duration.ofMillis(100));
+  }
+
+  @Test
+  void shouldKeepOnlyMostRecentLatencies()
+  {
+    //given
+    ClientMetrics metrics = new ClientMetrics();
+    for (int i = 0; i < ClientMetrics.LATENCY_WINDOW_SIZE; i++)
+    {
+      metrics.recordLatency(Duration.ofSeconds(10));
+    }
+
+    //when
+    for (int i = 0; i < ClientMetrics.LATENCY_WINDOW_SIZE; i++)
+    {
+      metrics.recordLatency(Duration.ofMillis(100 + i % 3));
+    }
+
+    //then
+    Assertions.assertThat(metrics.getLatencySamples()).isEqualTo(ClientMetrics.LATENCY_WINDOW_SIZE);
+    Assertions.assertThat(metrics.getLatencyPercentile(100)).isEqualTo(Duration.ofMillis(102));
+    Assertions.assertThat(metrics.getLatencyPercentile(0)).isEqualTo(Duration.ofMillis(100));
+  }
+}
@@ -0,0 +1,122 @@
+package io.simplelocalize.cli.client;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+class ConcurrencyLimiterTest
+{
+
+  private static final Duration LATENCY = Duration.ofMillis(100);
+
+  @Test
+  void shouldQueueRequestsOverLimit()
+  {
+    //given
+    ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.adaptive(2, 8);
+    CompletableFuture<ConcurrencyLimiter.Permit> first = concurrencyLimiter.acquire();
+    concurrencyLimiter.acquire();
+
+    //when
+    CompletableFuture<ConcurrencyLimiter.Permit> third = concurrencyLimiter.acquire();
+
+    //then
+    Assertions.assertThat(third).isNotDone();
+    concurrencyLimiter.release(first.join(), LATENCY, false);
+    Assertions.assertThat(third).isDone();
+  }
+
+  @Test
+  void shouldRaiseLimitWhileHealthy()
+  {
+    //given
+    ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.adaptive(2, 8);
+
+    //when
+    for (int i = 0; i < 20; i++)
+    {
+      List<ConcurrencyLimiter.Permit> permits = acquireLimit(concurrencyLimiter);
+      permits.forEach(permit -> concurrencyLimiter.release(permit, LATENCY, false));
+    }
+
+    //then
+    Assertions.assertThat(concurrencyLimiter.getLimit()).isEqualTo(8);
+  }
+
+  @Test
+  void shouldHalveLimitOnceForConcurrentOverloadedResponses()
+  {
+    //given
+    ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.adaptive(8, 8);
+    List<ConcurrencyLimiter.Permit> permits = acquireLimit(concurrencyLimiter);
+
+    //when
+    permits.forEach(permit -> concurrencyLimiter.release(permit, LATENCY, true));
+
+    //then
+    Assertions.assertThat(concurrencyLimiter.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  void shouldBackOffOnLatencySpike()
+  {
+    //given
+    ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.adaptive(4, 8);
+    concurrencyLimiter.release(concurrencyLimiter.acquire().join(), LATENCY, false);
+
+    //when
+    concurrencyLimiter.release(concurrencyLimiter.acquire().join(), LATENCY.multipliedBy(10), false);
+
+    //then
+    Assertions.assertThat(concurrencyLimiter.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldKeepFixedLimitOnOverloadedResponses()
+  {
+    //given
+    ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.fixed(4);
+
+    //when
+    for (int i = 0; i < 20; i++)
+    {
+      List<ConcurrencyLimiter.Permit> permits = acquireLimit(concurrencyLimiter);
+      boolean overloaded = i % 2 == 0;
+      permits.forEach(permit -> concurrencyLimiter.release(permit, LATENCY, overloaded));
+    }
+
+    //then
+    Assertions.assertThat(concurrencyLimiter.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  void shouldNeverQueueWhenUnlimited()
+  {
+    //given
+    ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.unlimited();
+
+    //when
+    List<CompletableFuture<ConcurrencyLimiter.Permit>> permits = new ArrayList<>();
+    for (int i = 0; i < 100; i++)
+    {
+      permits.add(concurrencyLimiter.acquire());
+    }
+
+    //then
+    Assertions.assertThat(permits).allMatch(CompletableFuture::isDone);
+  }
+
+  private static List<ConcurrencyLimiter.Permit> acquireLimit(ConcurrencyLimiter concurrencyLimiter)
+  {
+    List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < concurrencyLimiter.getLimit(); i++)
+    {
+      permits.add(concurrencyLimiter.acquire().join());
+    }
+    return permits;
+  }
+}
@@ -0,0 +1,59 @@
+package io.simplelocalize.cli.client;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class DownloadManifestTest
+{
+
+  @Test
+  void shouldSaveAndLoadEntries() throws Exception
+  {
+    //given
+    Path manifestPath = Files.createTempDirectory("simplelocalize-cli").resolve("cache/manifest.json");
+    DownloadManifest downloadManifest = DownloadManifest.load(manifestPath);
+    DownloadManifest.Entry entry = new DownloadManifest.Entry();
+    entry.setEtag("\"v1\"");
+    entry.setLastModified("Wed, 21 Oct 2015 07:28:00 GMT");
+    entry.setSha256("5891b5b522d5df086d0ff0b110fbd9d21bb4fc7163af34d08286a2e846f6be03");
+    downloadManifest.put(Path.of("./src/messages_en.json"), entry);
+
+    //when
+    downloadManifest.save();
+    DownloadManifest loadedManifest = DownloadManifest.load(manifestPath);
+
+    //then
+    Assertions.assertThat(loadedManifest.get(Path.of("src/messages_en.json"))).contains(entry);
+  }
+
+  @Test
+  void shouldIgnoreUnreadableManifest() throws Exception
+  {
+    //given
+    Path manifestPath = Files.createTempFile("manifest", ".json");
+    Files.writeString(manifestPath, "not a manifest");
+
+    //when
+    DownloadManifest downloadManifest = DownloadManifest.load(manifestPath);
+
+    //then
+    Assertions.assertThat(downloadManifest.isEnabled()).isTrue();
+    Assertions.assertThat(downloadManifest.get(Path.of("src/messages_en.json"))).isEmpty();
+  }
+
+  @Test
+  void shouldNotRememberEntriesWhenDisabled()
+  {
+    //given
+    DownloadManifest downloadManifest = DownloadManifest.disabled();
+
+    //when
+    downloadManifest.put(Path.of("src/messages_en.json"), new DownloadManifest.Entry());
+
+    //then
+    Assertions.assertThat(downloadManifest.get(Path.of("src/messages_en.json"))).isEmpty();
+  }
+}
@@ -0,0 +1,81 @@
+package io.simplelocalize.cli.client;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static io.simplelocalize.cli.client.HedgingPolicy.HedgingPolicyBuilder.aHedgingPolicy;
+
+class HedgingPolicyTest
+{
+
+  @Test
+  void shouldHedgeAfterLatencyPercentile()
+  {
+    //given
+    HedgingPolicy hedgingPolicy = aHedgingPolicy().withLatencyPercentile(90).withMinDelay(Duration.ofMillis(10)).build();
+    ClientMetrics metrics = new ClientMetrics();
+    for (int i = 1; i <= 10; i++)
+    {
+      metrics.recordLatency(Duration.ofMillis(i * 100));
+    }
+
+    //when
+    Optional<Duration> hedgeDelay = hedgingPolicy.hedgeDelay(metrics);
+
+    //then
+    Assertions.assertThat(hedgeDelay).contains(Duration.ofMillis(900));
+  }
+
+  @Test
+  void shouldNotHedgeWithoutEnoughLatencySamples()
+  {
+    //given
+    HedgingPolicy hedgingPolicy = aHedgingPolicy().withLatencyPercentile(90).build();
+    ClientMetrics metrics = new ClientMetrics();
+    metrics.recordLatency(Duration.ofMillis(100));
+
+    //when
+    Optional<Duration> hedgeDelay = hedgingPolicy.hedgeDelay(metrics);
+
+    //then
+    Assertions.assertThat(hedgeDelay).isEmpty();
+  }
+
+  @Test
+  void shouldLimitHedgesToBudget()
+  {
+    //given
+    HedgingPolicy hedgingPolicy = aHedgingPolicy().withBudgetRatio(0.1).build();
+
+    //when
+    boolean firstHedge = hedgingPolicy.tryAcquireHedge(20);
+    boolean secondHedge = hedgingPolicy.tryAcquireHedge(20);
+    boolean thirdHedge = hedgingPolicy.tryAcquireHedge(20);
+
+    //then
+    Assertions.assertThat(firstHedge).isTrue();
+    Assertions.assertThat(secondHedge).isTrue();
+    Assertions.assertThat(thirdHedge).isFalse();
+  }
+
+  @Test
+  void shouldNeverHedgeWhenDisabled()
+  {
+    //given
+    HedgingPolicy hedgingPolicy = HedgingPolicy.disabled();
+    ClientMetrics metrics = new ClientMetrics();
+    for (int i = 0; i < 100; i++)
+    {
+      metrics.recordLatency(Duration.ofMillis(100));
+    }
+
+    //when
+    Optional<Duration> hedgeDelay = hedgingPolicy.hedgeDelay(metrics);
+
+    //then
+    Assertions.assertThat(hedgeDelay).isEmpty();
+  }
+}
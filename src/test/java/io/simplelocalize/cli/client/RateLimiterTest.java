@@ -0,0 +1,97 @@
+package io.simplelocalize.cli.client;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+class RateLimiterTest
+{
+
+  @Test
+  void shouldAllowBurstWithoutWaiting()
+  {
+    //given
+    RateLimiter rateLimiter = RateLimiter.of(1, 3);
+
+    //when
+    List<Duration> waits = List.of(rateLimiter.reserve(), rateLimiter.reserve(), rateLimiter.reserve());
+
+    //then
+    Assertions.assertThat(waits).containsOnly(Duration.ZERO);
+  }
+
+  @Test
+  void shouldSpaceRequestsAfterBurst()
+  {
+    //given
+    RateLimiter rateLimiter = RateLimiter.of(10, 1);
+    rateLimiter.reserve();
+
+    //when
+    Duration secondWait = rateLimiter.reserve();
+    Duration thirdWait = rateLimiter.reserve();
+
+    //then
+    Assertions.assertThat(secondWait).isBetween(Duration.ofMillis(50), Duration.ofMillis(100));
+    Assertions.assertThat(thirdWait).isBetween(Duration.ofMillis(150), Duration.ofMillis(200));
+  }
+
+  @Test
+  void shouldNeverWaitWhenUnlimited()
+  {
+    //given
+    RateLimiter rateLimiter = RateLimiter.of(0, 0);
+
+    //when
+    Duration wait = rateLimiter.reserve();
+
+    //then
+    Assertions.assertThat(rateLimiter.isUnlimited()).isTrue();
+    Assertions.assertThat(wait).isZero();
+  }
+
+  @Test
+  void shouldHandOutDistinctSlotsToConcurrentCallers() throws Exception
+  {
+    //given
+    RateLimiter rateLimiter = RateLimiter.of(1000, 1);
+    ConcurrentLinkedQueue<Duration> waits = new ConcurrentLinkedQueue<>();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++)
+    {
+      Thread thread = new Thread(() -> {
+        try
+        {
+          start.await();
+          for (int j = 0; j < 100; j++)
+          {
+            waits.add(rateLimiter.reserve());
+          }
+        } catch (InterruptedException e)
+        {
+          Thread.currentThread().interrupt();
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    //when
+    start.countDown();
+    for (Thread thread : threads)
+    {
+      thread.join();
+    }
+
+    //then
+    Duration longestWait = waits.stream().max(Duration::compareTo).orElseThrow();
+    Assertions.assertThat(waits).hasSize(800);
+    Assertions.assertThat(longestWait).isGreaterThan(Duration.ofMillis(700));
+  }
+}
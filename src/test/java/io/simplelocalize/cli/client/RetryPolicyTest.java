@@ -0,0 +1,150 @@
+package io.simplelocalize.cli.client;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.simplelocalize.cli.client.RetryPolicy.RetryPolicyBuilder.aRetryPolicy;
+
+class RetryPolicyTest
+{
+
+  private final HttpRequest getRequest = HttpRequest.newBuilder(URI.create("https://simplelocalize.io")).GET().build();
+  private final HttpRequest postRequest = HttpRequest.newBuilder(URI.create("https://simplelocalize.io")).POST(HttpRequest.BodyPublishers.noBody()).build();
+
+  private final RetryPolicy sut = aRetryPolicy()
+          .withMaxAttempts(3)
+          .withInitialBackoff(Duration.ofMillis(100))
+          .withMaxBackoff(Duration.ofSeconds(1))
+          .build();
+
+  @Test
+  void shouldRetryTooManyRequestsForEveryMethod()
+  {
+    //given
+    HttpResponse<?> httpResponse = mockResponse(429, Map.of());
+
+    //when
+    Optional<Duration> getDelay = sut.nextDelay(1, getRequest, httpResponse, null);
+    Optional<Duration> postDelay = sut.nextDelay(1, postRequest, httpResponse, null);
+
+    //then
+    Assertions.assertThat(getDelay).isPresent();
+    Assertions.assertThat(postDelay).isPresent();
+  }
+
+  @Test
+  void shouldRetryServerErrorsOnlyForIdempotentRequests()
+  {
+    //given
+    HttpResponse<?> httpResponse = mockResponse(500, Map.of());
+
+    //when
+    Optional<Duration> getDelay = sut.nextDelay(1, getRequest, httpResponse, null);
+    Optional<Duration> postDelay = sut.nextDelay(1, postRequest, httpResponse, null);
+
+    //then
+    Assertions.assertThat(getDelay).isPresent();
+    Assertions.assertThat(postDelay).isEmpty();
+  }
+
+  @Test
+  void shouldRetryConnectFailuresForEveryMethod()
+  {
+    //when
+    Optional<Duration> connectDelay = sut.nextDelay(1, postRequest, null, new ConnectException("refused"));
+    Optional<Duration> ioDelay = sut.nextDelay(1, postRequest, null, new IOException("reset"));
+
+    //then
+    Assertions.assertThat(connectDelay).isPresent();
+    Assertions.assertThat(ioDelay).isEmpty();
+  }
+
+  @Test
+  void shouldStopAfterMaxAttempts()
+  {
+    //given
+    HttpResponse<?> httpResponse = mockResponse(503, Map.of());
+
+    //when
+    Optional<Duration> delay = sut.nextDelay(3, getRequest, httpResponse, null);
+
+    //then
+    Assertions.assertThat(delay).isEmpty();
+  }
+
+  @Test
+  void shouldCapJitteredBackoff()
+  {
+    for (int attempt = 1; attempt < 40; attempt++)
+    {
+      //when
+      Duration backoff = sut.jitteredBackoff(attempt);
+
+      //then
+      Assertions.assertThat(backoff).isBetween(Duration.ZERO, Duration.ofSeconds(1));
+    }
+  }
+
+  @Test
+  void shouldHonorRetryAfterSeconds()
+  {
+    //given
+    HttpResponse<?> httpResponse = mockResponse(429, Map.of("Retry-After", List.of("1")));
+
+    //when
+    Optional<Duration> delay = sut.nextDelay(1, getRequest, httpResponse, null);
+
+    //then
+    Assertions.assertThat(delay).contains(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void shouldHonorRetryAfterDate()
+  {
+    //given
+    String retryAt = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(5));
+    HttpResponse<?> httpResponse = mockResponse(503, Map.of("Retry-After", List.of(retryAt)));
+
+    //when
+    Optional<Duration> delay = sut.nextDelay(1, getRequest, httpResponse, null);
+
+    //then
+    Assertions.assertThat(delay).contains(Duration.ZERO);
+  }
+
+  @Test
+  void shouldGiveUpWhenRetryAfterExceedsMaxBackoff()
+  {
+    //given
+    HttpResponse<?> httpResponse = mockResponse(429, Map.of("Retry-After", List.of("120")));
+
+    //when
+    Optional<Duration> delay = sut.nextDelay(1, getRequest, httpResponse, null);
+
+    //then
+    Assertions.assertThat(delay).isEmpty();
+  }
+
+  private static HttpResponse<?> mockResponse(int statusCode, Map<String, List<String>> headers)
+  {
+    HttpResponse<?> httpResponse = Mockito.mock(HttpResponse.class);
+    Mockito.lenient().when(httpResponse.statusCode()).thenReturn(statusCode);
+    Mockito.lenient().when(httpResponse.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+    return httpResponse;
+  }
+}
@@ -3,23 +3,49 @@ package io.simplelocalize.cli.client;
 import com.google.common.net.HttpHeaders;
 import io.simplelocalize.cli.client.dto.DownloadRequest;
 import io.simplelocalize.cli.client.dto.DownloadableFile;
+import io.simplelocalize.cli.client.dto.UploadArchiveRequest;
 import io.simplelocalize.cli.client.dto.UploadRequest;
 import io.simplelocalize.cli.exception.ApiRequestException;
+import io.simplelocalize.cli.util.JsonTransform;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockserver.integration.ClientAndServer;
+import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.Times;
+import org.mockserver.model.BinaryBody;
 import org.mockserver.model.MediaType;
 import org.mockserver.model.StringBody;
+import org.mockserver.socket.tls.KeyStoreFactory;
+import org.mockserver.verify.VerificationTimes;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import static io.simplelocalize.cli.client.HedgingPolicy.HedgingPolicyBuilder.aHedgingPolicy;
+import static io.simplelocalize.cli.client.RetryPolicy.RetryPolicyBuilder.aRetryPolicy;
 import static io.simplelocalize.cli.client.dto.DownloadRequest.DownloadRequestBuilder.aDownloadRequest;
+import static io.simplelocalize.cli.client.dto.DownloadableFile.DownloadableFileBuilder.aDownloadableFile;
+import static io.simplelocalize.cli.client.dto.FileToUpload.FileToUploadBuilder.aFileToUpload;
+import static io.simplelocalize.cli.client.dto.UploadArchiveRequest.UploadArchiveRequestBuilder.anUploadArchiveRequest;
+import static io.simplelocalize.cli.client.dto.UploadKeysRequest.UploadKeysRequestBuilder.anUploadKeysRequest;
 import static io.simplelocalize.cli.client.dto.UploadRequest.UploadFileRequestBuilder.anUploadFileRequest;
 import static org.mockserver.integration.ClientAndServer.startClientAndServer;
 import static org.mockserver.model.HttpRequest.request;
@@ -72,6 +98,105 @@ public class SimpleLocalizeClientTest
     //then
   }
 
+  @Test
+  void shouldSendKeysInBatches() throws Exception
+  {
+    //given
+    List<String> givenKeys = List.of("batch-key-1", "batch-key-2", "batch-key-3");
+
+    mockServer.when(request()
+                            .withMethod("POST")
+                            .withPath("/cli/v1/keys")
+                            .withHeader("X-SimpleLocalize-Token", "d1b9dc5bd7c5a14d6a1bde10d32ccd3b"),
+                    Times.exactly(2))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody("{ 'msg': 'OK', data: { uniqueKeysProcessed: 2, processedWithWarnings: false } }")
+                            .withDelay(TimeUnit.MILLISECONDS, 200)
+            );
+
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "d1b9dc5bd7c5a14d6a1bde10d32ccd3b");
+
+    //when
+    client.uploadKeys(anUploadKeysRequest()
+            .withKeys(givenKeys)
+            .withBatchSize(2)
+            .withConcurrency(2)
+            .build());
+
+    //then
+    mockServer.verify(request()
+            .withPath("/cli/v1/keys")
+            .withBody(StringBody.exact("{\"content\":[{\"key\":\"batch-key-1\"},{\"key\":\"batch-key-2\"}]}")), VerificationTimes.once());
+    mockServer.verify(request()
+            .withPath("/cli/v1/keys")
+            .withBody(StringBody.exact("{\"content\":[{\"key\":\"batch-key-3\"}]}")), VerificationTimes.once());
+  }
+
+  @Test
+  void shouldSendKeysAsyncOnCallerExecutor() throws Exception
+  {
+    //given
+    ExecutorService callerExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "host-pool"));
+    SimpleLocalizeClient client = SimpleLocalizeClient.aSimpleLocalizeClient()
+            .withBaseUrl(MOCK_SERVER_BASE_URL)
+            .withApiKey("81707085c3f0dc3a0dfe4bdc9e0f3c2e")
+            .withExecutor(callerExecutor)
+            .build();
+    mockServer.when(request()
+                            .withMethod("POST")
+                            .withPath("/cli/v1/keys")
+                            .withHeader("X-SimpleLocalize-Token", "81707085c3f0dc3a0dfe4bdc9e0f3c2e"),
+                    Times.exactly(2))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody("{\"data\":{\"uniqueKeysProcessed\":2}}")
+            );
+
+    //when
+    CompletableFuture<String> completingThread = client.uploadKeysAsync(anUploadKeysRequest()
+                    .withKeys(List.of("async-key-1", "async-key-2", "async-key-3", "async-key-4"))
+                    .withBatchSize(2)
+                    .withConcurrency(2)
+                    .build())
+            .thenApply(keysProcessed -> keysProcessed + " keys on " + Thread.currentThread().getName());
+
+    //then
+    Assertions.assertThat(completingThread.get(10, TimeUnit.SECONDS)).isEqualTo("4 keys on host-pool");
+    callerExecutor.shutdown();
+  }
+
+  @Test
+  void shouldFailValidateGateAsyncWithoutThrowing()
+  {
+    //given
+    SimpleLocalizeClient client = SimpleLocalizeClient.aSimpleLocalizeClient()
+            .withBaseUrl(MOCK_SERVER_BASE_URL)
+            .withApiKey("2f5b7a3ce1a04bd5a3a42c7d0e1f0a6b")
+            .build();
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/cli/v1/validate/gate")
+                            .withHeader("X-SimpleLocalize-Token", "2f5b7a3ce1a04bd5a3a42c7d0e1f0a6b"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(403)
+                            .withBody("{\"msg\":\"Invalid API key\"}")
+            );
+
+    //when
+    CompletableFuture<Integer> validateGate = client.validateGateAsync();
+
+    //then
+    Assertions.assertThat(validateGate)
+            .failsWithin(Duration.ofSeconds(10))
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(ApiRequestException.class);
+  }
+
   @Test
   void shouldUploadFileWithLanguageKey() throws Exception
   {
@@ -169,6 +294,149 @@ public class SimpleLocalizeClientTest
             .hasMessage("failure message");
   }
 
+  @Test
+  void shouldUploadArchive() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "81707741b64e68427e1a2c20e75095b1");
+    mockServer.when(request()
+                            .withMethod("POST")
+                            .withPath("/cli/v2/upload/archive")
+                            .withQueryStringParameter("uploadFormat", "single-language-json")
+                            .withHeader("X-SimpleLocalize-Token", "81707741b64e68427e1a2c20e75095b1"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody("{ 'msg': 'OK' }")
+                            .withDelay(TimeUnit.MILLISECONDS, 200)
+            );
+
+    UploadArchiveRequest uploadArchiveRequest = anUploadArchiveRequest()
+            .withFiles(List.of(
+                    aFileToUpload().withPath(Path.of("./junit/locale-directory/en/common.json")).withLanguage("en").withNamespace("common").build(),
+                    aFileToUpload().withPath(Path.of("./junit/locale-directory/pl/common.json")).withLanguage("pl").withNamespace("common").build()
+            ))
+            .withFormat("single-language-json")
+            .withOptions(List.of())
+            .build();
+
+    //when
+    client.uploadArchive(uploadArchiveRequest);
+
+    //then
+    mockServer.verify(request()
+            .withPath("/cli/v2/upload/archive")
+            .withBody(StringBody.subString("\"entry\":\"1/common.json\",\"language\":\"pl\",\"namespace\":\"common\"")), VerificationTimes.once());
+  }
+
+  @Test
+  void shouldFailArchiveUploadWhenFileCouldNotBeRead()
+  {
+    //given
+    SimpleLocalizeClient client = SimpleLocalizeClient.aSimpleLocalizeClient()
+            .withBaseUrl(MOCK_SERVER_BASE_URL)
+            .withApiKey("0e8a5e1d8f7b4c0a9d6c3b2a1f0e9d8c")
+            .withRetryPolicy(RetryPolicy.noRetries())
+            .build();
+    mockServer.when(request()
+                            .withMethod("POST")
+                            .withPath("/cli/v2/upload/archive")
+                            .withHeader("X-SimpleLocalize-Token", "0e8a5e1d8f7b4c0a9d6c3b2a1f0e9d8c"))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody("{ 'msg': 'OK' }")
+            );
+
+    UploadArchiveRequest uploadArchiveRequest = anUploadArchiveRequest()
+            .withFiles(List.of(
+                    aFileToUpload().withPath(Path.of("./junit/locale-directory/en/common.json")).withLanguage("en").withNamespace("common").build(),
+                    aFileToUpload().withPath(Path.of("./junit/locale-directory/xx/missing.json")).withLanguage("xx").withNamespace("common").build()
+            ))
+            .withFormat("single-language-json")
+            .withOptions(List.of())
+            .build();
+
+    //when & then
+    Assertions
+            .assertThatThrownBy(() -> client.uploadArchive(uploadArchiveRequest))
+            .isInstanceOf(IOException.class);
+    mockServer.verify(request()
+            .withPath("/cli/v2/upload/archive")
+            .withHeader("X-SimpleLocalize-Token", "0e8a5e1d8f7b4c0a9d6c3b2a1f0e9d8c"), VerificationTimes.exactly(0));
+  }
+
+  @Test
+  void shouldRetryRejectedRequest() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = SimpleLocalizeClient.aSimpleLocalizeClient()
+            .withBaseUrl(MOCK_SERVER_BASE_URL)
+            .withApiKey("5c6ba2b2bb1e4be0b4b0ac85b2cd5d1e")
+            .withRetryPolicy(aRetryPolicy().withInitialBackoff(Duration.ofMillis(10)).build())
+            .build();
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/cli/v1/validate/gate")
+                            .withHeader("X-SimpleLocalize-Token", "5c6ba2b2bb1e4be0b4b0ac85b2cd5d1e"),
+                    Times.exactly(2))
+            .respond(
+                    response()
+                            .withStatusCode(429)
+                            .withHeader("Retry-After", "0")
+            );
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/cli/v1/validate/gate")
+                            .withHeader("X-SimpleLocalize-Token", "5c6ba2b2bb1e4be0b4b0ac85b2cd5d1e"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody("{'data':{'passed': true, 'message': 'ok', 'status': 200}}")
+            );
+
+    //when
+    int validateGate = client.validateGate();
+
+    //then
+    Assertions.assertThat(validateGate).isEqualTo(200);
+    Assertions.assertThat(client.getMetrics().getRetries()).isEqualTo(2);
+    Assertions.assertThat(client.getMetrics().getRequests()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldWarmUpTlsConnection() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = SimpleLocalizeClient.aSimpleLocalizeClient()
+            .withBaseUrl("https://localhost:1080")
+            .withApiKey("5c6ba2b2bb1e4be0b4b0ac85b2cd5d1e")
+            .withSslContext(new KeyStoreFactory(new MockServerLogger()).sslContext())
+            .build();
+    mockServer.when(request()
+                            .withMethod("HEAD")
+                            .withPath("/")
+                            .withSecure(true),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+            );
+
+    //when
+    Duration warmUpTime = client.warmUp().get(10, TimeUnit.SECONDS);
+
+    //then
+    Assertions.assertThat(warmUpTime).isPositive();
+    Assertions.assertThat(client.getMetrics().getRequests()).isZero();
+    mockServer.verify(request()
+            .withMethod("HEAD")
+            .withPath("/")
+            .withSecure(true), VerificationTimes.once());
+  }
+
   @Test
   void shouldGetDownloadableFiles() throws Exception
   {
@@ -199,6 +467,32 @@ public class SimpleLocalizeClientTest
     //then
   }
 
+  @Test
+  void shouldWaitForPermitOfSharedConcurrencyLimiter() throws Exception
+  {
+    //given
+    ConcurrencyLimiter sharedConcurrencyLimiter = ConcurrencyLimiter.fixed(1);
+    SimpleLocalizeClient client = SimpleLocalizeClient.aSimpleLocalizeClient()
+            .withBaseUrl(MOCK_SERVER_BASE_URL)
+            .withApiKey("shared-limiter-api-key")
+            .withSharedConcurrencyLimiter(sharedConcurrencyLimiter)
+            .build();
+    mockServer.when(request().withMethod("GET").withPath("/cli/v2/download").withHeader("X-SimpleLocalize-Token", "shared-limiter-api-key"), Times.exactly(1))
+            .respond(response().withStatusCode(200).withBody("{ \"files\": [] }"));
+    // held by a request of another client
+    ConcurrencyLimiter.Permit otherPermit = sharedConcurrencyLimiter.acquire().join();
+
+    //when
+    CompletableFuture<List<DownloadableFile>> downloadableFiles = client.fetchDownloadableFilesAsync(aDownloadRequest().withFormat("java-properties").withOptions(List.of()).build());
+
+    //then
+    Thread.sleep(300);
+    Assertions.assertThat(downloadableFiles).isNotDone();
+    mockServer.verify(request().withPath("/cli/v2/download").withHeader("X-SimpleLocalize-Token", "shared-limiter-api-key"), VerificationTimes.exactly(0));
+    sharedConcurrencyLimiter.release(otherPermit, Duration.ofMillis(100), false);
+    Assertions.assertThat(downloadableFiles).succeedsWithin(Duration.ofSeconds(5));
+  }
+
   @Test
   void shouldDownloadWithManyOptions() throws Exception
   {
@@ -251,12 +545,371 @@ public class SimpleLocalizeClientTest
     DownloadableFile downloadableFile = new DownloadableFile();
     downloadableFile.setUrl(MOCK_SERVER_BASE_URL + "/s3/file");
     downloadableFile.setNamespace("common");
-    String downloadPath = "file.json";
+    Path downloadPath = Files.createTempDirectory("simplelocalize-cli").resolve("file.json");
 
     //when
-    client.downloadFile(downloadableFile, downloadPath, false);
+    client.downloadFile(downloadableFile, downloadPath.toString(), false);
 
     //then
+    Assertions.assertThat(downloadPath).hasContent("{}");
+  }
+
+  @Test
+  void shouldHedgeStalledDownload() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = SimpleLocalizeClient.aSimpleLocalizeClient()
+            .withBaseUrl(MOCK_SERVER_BASE_URL)
+            .withApiKey("96a7b6ca75c79d4af4dfd5db2946fdd4")
+            .withHedgingPolicy(aHedgingPolicy().withLatencyPercentile(50).withMinDelay(Duration.ofMillis(50)).withBudgetRatio(1).build())
+            .build();
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/fast-file"),
+                    Times.exactly(10))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody("{}")
+            );
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/stalled-file"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody("{\"stalled\":\"true\"}")
+                            .withDelay(TimeUnit.SECONDS, 10)
+            );
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/stalled-file"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody("{\"stalled\":\"false\"}")
+            );
+    Path downloadDirectory = Files.createTempDirectory("simplelocalize-cli");
+    DownloadableFile fastFile = new DownloadableFile();
+    fastFile.setUrl(MOCK_SERVER_BASE_URL + "/s3/fast-file");
+    for (int i = 0; i < 10; i++)
+    {
+      client.downloadFile(fastFile, downloadDirectory.resolve("fast.json").toString(), false);
+    }
+    DownloadableFile stalledFile = new DownloadableFile();
+    stalledFile.setUrl(MOCK_SERVER_BASE_URL + "/s3/stalled-file");
+    Path downloadPath = downloadDirectory.resolve("stalled.json");
+
+    //when
+    long startNanos = System.nanoTime();
+    client.downloadFile(stalledFile, downloadPath.toString(), false);
+
+    //then
+    Assertions.assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(5));
+    Assertions.assertThat(downloadPath).hasContent("{\"stalled\":\"false\"}");
+    Assertions.assertThat(client.getMetrics().getHedgedRequests()).isEqualTo(1);
+    Assertions.assertThat(client.getMetrics().getHedgeWins()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldSendConditionalRequestForPreviouslyDownloadedFile() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "96a7b6ca75c79d4af4dfd5db2946fdd4");
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/conditional-file"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withHeader("ETag", "\"v1\"")
+                            .withBody("{\"HELLO\":\"Hello\"}".getBytes(StandardCharsets.UTF_8))
+            );
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/conditional-file")
+                            .withHeader("If-None-Match", "\"v1\""),
+                    Times.exactly(1))
+            .respond(response().withStatusCode(304));
+
+    DownloadableFile downloadableFile = new DownloadableFile();
+    downloadableFile.setUrl(MOCK_SERVER_BASE_URL + "/s3/conditional-file");
+    Path tempDirectory = Files.createTempDirectory("simplelocalize-cli");
+    Path downloadPath = tempDirectory.resolve("messages.json");
+    Path manifestPath = tempDirectory.resolve("manifest.json");
+    DownloadManifest downloadManifest = DownloadManifest.load(manifestPath);
+    client.downloadFileAsync(downloadableFile, downloadPath.toString(), List.of(), downloadManifest).get();
+    downloadManifest.save();
+
+    //when
+    client.downloadFileAsync(downloadableFile, downloadPath.toString(), List.of(), DownloadManifest.load(manifestPath)).get();
+
+    //then
+    mockServer.verify(request()
+                    .withPath("/s3/conditional-file")
+                    .withHeader("If-None-Match", "\"v1\""),
+            VerificationTimes.exactly(1));
+    Assertions.assertThat(downloadPath).hasContent("{\"HELLO\":\"Hello\"}");
+  }
+
+  @Test
+  void shouldDownloadWholeFileWhenTransformsChanged() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "96a7b6ca75c79d4af4dfd5db2946fdd4");
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/transformed-file")
+                            .withHeader("If-None-Match", "\"v1\""))
+            .respond(response().withStatusCode(304));
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/transformed-file"))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withHeader("ETag", "\"v1\"")
+                            .withBody("{\"HELLO\":\"Hello\",\"EMPTY\":\"\"}".getBytes(StandardCharsets.UTF_8))
+            );
+
+    DownloadableFile downloadableFile = new DownloadableFile();
+    downloadableFile.setUrl(MOCK_SERVER_BASE_URL + "/s3/transformed-file");
+    Path tempDirectory = Files.createTempDirectory("simplelocalize-cli");
+    Path downloadPath = tempDirectory.resolve("messages.json");
+    Path manifestPath = tempDirectory.resolve("manifest.json");
+    DownloadManifest downloadManifest = DownloadManifest.load(manifestPath);
+    client.downloadFileAsync(downloadableFile, downloadPath.toString(), List.of(), downloadManifest).get();
+    downloadManifest.save();
+
+    //when
+    client.downloadFileAsync(downloadableFile, downloadPath.toString(), List.of(JsonTransform.REMOVE_EMPTY), DownloadManifest.load(manifestPath)).get();
+
+    //then
+    mockServer.verify(request()
+                    .withPath("/s3/transformed-file")
+                    .withHeader("If-None-Match", "\"v1\""),
+            VerificationTimes.exactly(0));
+    Assertions.assertThat(downloadPath).hasContent("{\n  \"HELLO\": \"Hello\"\n}");
+  }
+
+  @Test
+  void shouldNotRewriteFileWithSameContent() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "96a7b6ca75c79d4af4dfd5db2946fdd4");
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/unchanged-file"),
+                    Times.exactly(1))
+            .respond(response().withStatusCode(200).withBody("{\"HELLO\":\"Hello\"}".getBytes(StandardCharsets.UTF_8)));
+
+    DownloadableFile downloadableFile = new DownloadableFile();
+    downloadableFile.setUrl(MOCK_SERVER_BASE_URL + "/s3/unchanged-file");
+    Path tempDirectory = Files.createTempDirectory("simplelocalize-cli");
+    Path downloadPath = tempDirectory.resolve("messages.json");
+    Files.writeString(downloadPath, "{\"HELLO\":\"Hello\"}");
+    FileTime lastModifiedTime = FileTime.fromMillis(1_000_000_000_000L);
+    Files.setLastModifiedTime(downloadPath, lastModifiedTime);
+
+    //when
+    client.downloadFile(downloadableFile, downloadPath.toString(), false);
+
+    //then
+    Assertions.assertThat(Files.getLastModifiedTime(downloadPath)).isEqualTo(lastModifiedTime);
+    Assertions.assertThat(tempDirectory.toFile().list()).containsExactly("messages.json");
+  }
+
+  @Test
+  void shouldKeepExistingFileWhenDownloadFailed() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "96a7b6ca75c79d4af4dfd5db2946fdd4");
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/missing-file"),
+                    Times.exactly(1))
+            .respond(response().withStatusCode(404).withBody("<Error>NoSuchKey</Error>"));
+
+    DownloadableFile downloadableFile = new DownloadableFile();
+    downloadableFile.setUrl(MOCK_SERVER_BASE_URL + "/s3/missing-file");
+    Path tempDirectory = Files.createTempDirectory("simplelocalize-cli");
+    Path downloadPath = tempDirectory.resolve("messages.json");
+    Files.writeString(downloadPath, "{\"HELLO\":\"Hello\"}");
+
+    //when
+    Throwable throwable = Assertions.catchThrowable(() -> client.downloadFile(downloadableFile, downloadPath.toString(), false));
+
+    //then
+    Assertions.assertThat(throwable).isInstanceOf(ApiRequestException.class);
+    Assertions.assertThat(downloadPath).hasContent("{\"HELLO\":\"Hello\"}");
+    Assertions.assertThat(tempDirectory.toFile().list()).containsExactly("messages.json");
+  }
+
+  @Test
+  void shouldRemoveEmptyValuesFromDownloadedFile() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "96a7b6ca75c79d4af4dfd5db2946fdd4");
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/file-with-empty-values"),
+                    Times.exactly(1))
+            .respond(response().withStatusCode(200).withBody("{\"HELLO\":\"Hello\",\"BYE\":\"\",\"home\":{\"TITLE\":\"\"}}".getBytes(StandardCharsets.UTF_8)));
+
+    DownloadableFile downloadableFile = new DownloadableFile();
+    downloadableFile.setUrl(MOCK_SERVER_BASE_URL + "/s3/file-with-empty-values");
+    Path downloadPath = Files.createTempDirectory("simplelocalize-cli").resolve("messages.json");
+
+    //when
+    client.downloadFile(downloadableFile, downloadPath.toString(), true);
+
+    //then
+    Assertions.assertThat(downloadPath).hasContent("{\n  \"HELLO\": \"Hello\"\n}");
+  }
+
+  @Test
+  void shouldDecompressGzipEncodedResponses() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "96a7b6ca75c79d4af4dfd5db2946fdd4");
+    String exportResponse = "{ \"files\": [{\"language\": \"en\", \"url\": \"" + MOCK_SERVER_BASE_URL + "/s3/gzip-file\"}] }";
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/cli/v2/download")
+                            .withHeader("Accept-Encoding", "gzip, deflate"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withHeader("Content-Encoding", "gzip")
+                            .withBody(BinaryBody.binary(gzip(exportResponse)))
+            );
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/s3/gzip-file")
+                            .withHeader("Accept-Encoding", "gzip, deflate"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withHeader("Content-Encoding", "gzip")
+                            .withBody(BinaryBody.binary(gzip("{\"HELLO\":\"Hello\"}")))
+            );
+
+    DownloadRequest downloadRequest = aDownloadRequest()
+            .withFormat("single-language-json")
+            .withOptions(List.of("SPLIT_BY_LANGUAGES"))
+            .build();
+    Path downloadPath = Files.createTempDirectory("simplelocalize-cli").resolve("{lang}.json");
+
+    //when
+    List<DownloadableFile> downloadableFiles = client.fetchDownloadableFiles(downloadRequest);
+    client.downloadFile(downloadableFiles.get(0), downloadPath.toString(), false);
+
+    //then
+    Assertions.assertThat(downloadableFiles).extracting(DownloadableFile::getLanguage).containsExactly("en");
+    Assertions.assertThat(downloadPath.resolveSibling("en.json")).hasContent("{\"HELLO\":\"Hello\"}");
+  }
+
+  @Test
+  void shouldUnpackDownloadedArchive() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "96a7b6ca75c79d4af4dfd5db2946fdd4");
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/cli/v2/download/archive")
+                            .withQueryStringParameter("downloadFormat", "single-language-json"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody(BinaryBody.binary(zip(Map.of(
+                                    "en/common", "{\"HELLO\":\"Hello\"}",
+                                    "de/common", "{\"HELLO\":\"Hallo\"}",
+                                    "en/_", "{\"TITLE\":\"Title\"}"))))
+            );
+
+    DownloadRequest downloadRequest = aDownloadRequest()
+            .withFormat("single-language-json")
+            .withOptions(List.of("SPLIT_BY_NAMESPACES", "SPLIT_BY_LANGUAGES"))
+            .build();
+    Path downloadDirectory = Files.createTempDirectory("simplelocalize-cli");
+
+    //when
+    List<Path> savedPaths = client.downloadArchive(downloadRequest, downloadDirectory + "/{lang}/messages{ns}.json", List.of());
+
+    //then
+    Assertions.assertThat(savedPaths).hasSize(3);
+    Assertions.assertThat(downloadDirectory.resolve("en/messagescommon.json")).hasContent("{\"HELLO\":\"Hello\"}");
+    Assertions.assertThat(downloadDirectory.resolve("de/messagescommon.json")).hasContent("{\"HELLO\":\"Hallo\"}");
+    Assertions.assertThat(downloadDirectory.resolve("en/messages.json")).hasContent("{\"TITLE\":\"Title\"}");
+  }
+
+  @Test
+  void shouldRejectArchiveEntryOutsideDownloadPath() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "96a7b6ca75c79d4af4dfd5db2946fdd4");
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/cli/v2/download/archive")
+                            .withQueryStringParameter("downloadFormat", "java-properties"),
+                    Times.exactly(1))
+            .respond(response().withStatusCode(200).withBody(BinaryBody.binary(zip(Map.of("../..", "evil=true")))));
+
+    DownloadRequest downloadRequest = aDownloadRequest()
+            .withFormat("java-properties")
+            .withOptions(List.of())
+            .build();
+    Path downloadDirectory = Files.createTempDirectory("simplelocalize-cli");
+
+    //when
+    Throwable throwable = Assertions.catchThrowable(() -> client.downloadArchive(downloadRequest, downloadDirectory + "/{lang}/{ns}/messages.properties", List.of()));
+
+    //then
+    Assertions.assertThat(throwable)
+            .isInstanceOf(IOException.class)
+            .hasMessage("Unexpected archive entry: ../..");
+    Assertions.assertThat(downloadDirectory.toFile().list()).isEmpty();
+  }
+
+  @Test
+  void shouldStreamDownloadableFilesToConsumer() throws Exception
+  {
+    //given
+    SimpleLocalizeClient client = new SimpleLocalizeClient(MOCK_SERVER_BASE_URL, "96a7b6ca75c79d4af4dfd5db2946fdd4");
+    mockServer.when(request()
+                            .withMethod("GET")
+                            .withPath("/cli/v2/download")
+                            .withQueryStringParameter("downloadFormat", "yaml"),
+                    Times.exactly(1))
+            .respond(
+                    response()
+                            .withStatusCode(200)
+                            .withBody("{ \"meta\": {\"total\": 2}, \"files\": [" +
+                                    "{\"language\": \"en\", \"namespace\": \"common\", \"url\": \"https://s3.simplelocalize.io/en.yml\"}," +
+                                    "{\"language\": \"de\", \"namespace\": \"common\", \"url\": \"https://s3.simplelocalize.io/de.yml\"}" +
+                                    "], \"status\": 200 }")
+            );
+
+    DownloadRequest downloadRequest = aDownloadRequest()
+            .withFormat("yaml")
+            .withOptions(List.of())
+            .build();
+    List<DownloadableFile> downloadableFiles = new ArrayList<>();
+
+    //when
+    client.fetchDownloadableFiles(downloadRequest, downloadableFiles::add);
+
+    //then
+    Assertions.assertThat(downloadableFiles).containsExactly(
+            aDownloadableFile().withLanguage("en").withNamespace("common").withUrl("https://s3.simplelocalize.io/en.yml").build(),
+            aDownloadableFile().withLanguage("de").withNamespace("common").withUrl("https://s3.simplelocalize.io/de.yml").build()
+    );
   }
 
   @Test
@@ -282,4 +935,29 @@ public class SimpleLocalizeClientTest
     //then
     Assertions.assertThat(validateGate).isEqualTo(200);
   }
+
+  private static byte[] gzip(String content) throws IOException
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream))
+    {
+      gzipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return outputStream.toByteArray();
+  }
+
+  private static byte[] zip(Map<String, String> entries) throws IOException
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream))
+    {
+      for (Map.Entry<String, String> entry : entries.entrySet())
+      {
+        zipOutputStream.putNextEntry(new ZipEntry(entry.getKey()));
+        zipOutputStream.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+        zipOutputStream.closeEntry();
+      }
+    }
+    return outputStream.toByteArray();
+  }
 }
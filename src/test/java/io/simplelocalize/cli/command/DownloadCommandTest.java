@@ -1,17 +1,35 @@
 package io.simplelocalize.cli.command;
 
 import io.simplelocalize.cli.client.SimpleLocalizeClient;
+import io.simplelocalize.cli.client.dto.DownloadableFile;
 import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.exception.CommandException;
+import io.simplelocalize.cli.exception.DownloadException;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockserver.integration.ClientAndServer;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static io.simplelocalize.cli.client.dto.DownloadRequest.DownloadRequestBuilder.aDownloadRequest;
 import static io.simplelocalize.cli.client.dto.DownloadableFile.DownloadableFileBuilder.aDownloadableFile;
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
 
 @ExtendWith(MockitoExtension.class)
 public class DownloadCommandTest
@@ -32,27 +50,163 @@ public class DownloadCommandTest
     configuration.setDownloadFormat("android");
 
     //when
-    Mockito.when(client.fetchDownloadableFiles(aDownloadRequest()
-                    .withFormat("android")
-                    .withLanguageKey("en")
-                    .withOptions(List.of("SPLIT_BY_NAMESPACES"))
-                    .build()))
-            .thenReturn(List.of(
-                    aDownloadableFile().withNamespace("common").withUrl("https://s3.simplelocalize.io/file1.xml").build(),
-                    aDownloadableFile().withNamespace("common").withUrl("https://s3.simplelocalize.io/file2.xml").build()
-            ));
+    Mockito.doAnswer(invocation -> {
+      Consumer<DownloadableFile> consumer = invocation.getArgument(1);
+      consumer.accept(aDownloadableFile().withNamespace("common").withUrl("https://s3.simplelocalize.io/file1.xml").build());
+      consumer.accept(aDownloadableFile().withNamespace("common").withUrl("https://s3.simplelocalize.io/file2.xml").build());
+      return null;
+    }).when(client).fetchDownloadableFiles(Mockito.eq(aDownloadRequest()
+            .withFormat("android")
+            .withLanguageKey("en")
+            .withOptions(List.of("SPLIT_BY_NAMESPACES"))
+            .build()), Mockito.any());
+
+    Mockito.when(client.downloadFileAsync(Mockito.any(), Mockito.eq("./my-project-path"), Mockito.eq(List.of()), Mockito.any()))
+            .thenReturn(CompletableFuture.completedFuture(Path.of("./my-project-path")));
 
     DownloadCommand downloadCommand = new DownloadCommand(client, configuration);
     downloadCommand.invoke();
 
     //then
     Mockito.verify(client, Mockito.times(1))
-            .downloadFile(
-                    aDownloadableFile().withNamespace("common").withUrl("https://s3.simplelocalize.io/file1.xml").build(),
-                    "./my-project-path", false);
+            .downloadFileAsync(
+                    Mockito.eq(aDownloadableFile().withNamespace("common").withUrl("https://s3.simplelocalize.io/file1.xml").build()),
+                    Mockito.eq("./my-project-path"), Mockito.eq(List.of()), Mockito.any());
     Mockito.verify(client, Mockito.times(1))
-            .downloadFile(
-                    aDownloadableFile().withNamespace("common").withUrl("https://s3.simplelocalize.io/file2.xml").build(),
-                    "./my-project-path", false);
+            .downloadFileAsync(
+                    Mockito.eq(aDownloadableFile().withNamespace("common").withUrl("https://s3.simplelocalize.io/file2.xml").build()),
+                    Mockito.eq("./my-project-path"), Mockito.eq(List.of()), Mockito.any());
+  }
+
+  @Test
+  public void shouldReportFailedDownloads() throws Exception
+  {
+    //given
+    Configuration configuration = new Configuration();
+    configuration.setApiKey("my-api-key");
+    configuration.setDownloadPath("./my-project-path/{lang}.xml");
+    configuration.setDownloadFormat("android");
+    configuration.setDownloadConcurrency(1);
+
+    DownloadableFile englishFile = aDownloadableFile().withLanguage("en").withUrl("https://s3.simplelocalize.io/en.xml").build();
+    DownloadableFile germanFile = aDownloadableFile().withLanguage("de").withUrl("https://s3.simplelocalize.io/de.xml").build();
+    Mockito.doAnswer(invocation -> {
+      Consumer<DownloadableFile> consumer = invocation.getArgument(1);
+      consumer.accept(englishFile);
+      consumer.accept(germanFile);
+      return null;
+    }).when(client).fetchDownloadableFiles(Mockito.any(), Mockito.any());
+    Mockito.when(client.downloadFileAsync(Mockito.eq(englishFile), Mockito.eq("./my-project-path/{lang}.xml"), Mockito.eq(List.of()), Mockito.any()))
+            .thenReturn(CompletableFuture.completedFuture(Path.of("./my-project-path/en.xml")));
+    Mockito.when(client.downloadFileAsync(Mockito.eq(germanFile), Mockito.eq("./my-project-path/{lang}.xml"), Mockito.eq(List.of()), Mockito.any()))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("Connection reset")));
+
+    DownloadCommand downloadCommand = new DownloadCommand(client, configuration);
+
+    //when
+    Throwable throwable = Assertions.catchThrowable(downloadCommand::invoke);
+
+    //then
+    Assertions.assertThat(throwable)
+            .isInstanceOf(DownloadException.class)
+            .hasMessage("1 of 2 files could not be downloaded");
+    Assertions.assertThat(((DownloadException) throwable).getFailedDownloads())
+            .containsOnlyKeys("de")
+            .extractingByKey("de")
+            .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void shouldThrowInsteadOfExitingWhenListingFailed() throws Exception
+  {
+    //given
+    Configuration configuration = new Configuration();
+    configuration.setApiKey("my-api-key");
+    configuration.setDownloadPath("./my-project-path");
+    configuration.setDownloadFormat("android");
+    Mockito.doThrow(new IOException("Connection reset"))
+            .when(client).fetchDownloadableFiles(Mockito.any(), Mockito.any());
+
+    //when
+    DownloadCommand downloadCommand = new DownloadCommand(client, configuration);
+
+    //then
+    Assertions.assertThatThrownBy(downloadCommand::invoke)
+            .isInstanceOf(CommandException.class)
+            .hasCauseInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void shouldSkipTransformsForNonJsonFormat() throws Exception
+  {
+    //given
+    Configuration configuration = new Configuration();
+    configuration.setApiKey("my-api-key");
+    configuration.setDownloadPath("./my-project-path/values-{lang}/strings.xml");
+    configuration.setDownloadFormat("android");
+    configuration.setRemoveEmptyKeys(true);
+    configuration.setDownloadTransforms(List.of("SORT_KEYS"));
+
+    DownloadableFile downloadableFile = aDownloadableFile().withLanguage("en").withUrl("https://s3.simplelocalize.io/en.xml").build();
+    Mockito.doAnswer(invocation -> {
+      Consumer<DownloadableFile> consumer = invocation.getArgument(1);
+      consumer.accept(downloadableFile);
+      return null;
+    }).when(client).fetchDownloadableFiles(Mockito.any(), Mockito.any());
+    Mockito.when(client.downloadFileAsync(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+    DownloadCommand downloadCommand = new DownloadCommand(client, configuration);
+
+    //when
+    downloadCommand.invoke();
+
+    //then
+    Mockito.verify(client).downloadFileAsync(Mockito.eq(downloadableFile), Mockito.eq("./my-project-path/values-{lang}/strings.xml"), Mockito.eq(List.of()), Mockito.any());
+  }
+
+  @Test
+  public void shouldDownloadMoreFilesThanConcurrencyOnSingleThreadExecutor(@TempDir Path downloadDirectory) throws Exception
+  {
+    //given
+    ClientAndServer mockServer = startClientAndServer(1080);
+    ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+    try
+    {
+      List<String> languages = List.of("en", "de", "pl", "fr", "es", "it");
+      String listedFiles = languages.stream()
+              .map(language -> "{\"language\": \"" + language + "\", \"url\": \"http://localhost:1080/s3/" + language + ".json\"}")
+              .collect(Collectors.joining(","));
+      mockServer.when(request().withMethod("GET").withPath("/cli/v2/download"))
+              .respond(response().withStatusCode(200).withBody("{\"files\": [" + listedFiles + "]}"));
+      mockServer.when(request().withMethod("GET").withPath("/s3/.*"))
+              .respond(response().withStatusCode(200).withBody("{\"HELLO\": \"Hello\"}").withDelay(TimeUnit.MILLISECONDS, 100));
+
+      SimpleLocalizeClient singleThreadClient = SimpleLocalizeClient.aSimpleLocalizeClient()
+              .withBaseUrl("http://localhost:1080")
+              .withApiKey("my-api-key")
+              .withExecutor(singleThreadExecutor)
+              .build();
+      Configuration configuration = new Configuration();
+      configuration.setApiKey("my-api-key");
+      configuration.setDownloadPath(downloadDirectory + "/{lang}.json");
+      configuration.setDownloadFormat("single-language-json");
+      configuration.setDownloadConcurrency(2);
+      DownloadCommand downloadCommand = new DownloadCommand(singleThreadClient, configuration);
+
+      //when
+      CompletableFuture<Void> download = CompletableFuture.runAsync(downloadCommand::invoke);
+
+      //then
+      Assertions.assertThat(download).succeedsWithin(Duration.ofSeconds(30));
+      for (String language : languages)
+      {
+        Assertions.assertThat(downloadDirectory.resolve(language + ".json")).hasContent("{\"HELLO\": \"Hello\"}");
+      }
+    } finally
+    {
+      singleThreadExecutor.shutdownNow();
+      mockServer.stop();
+    }
   }
 }
@@ -2,7 +2,10 @@ package io.simplelocalize.cli.command;
 
 import io.simplelocalize.cli.TestResourcesUtility;
 import io.simplelocalize.cli.client.SimpleLocalizeClient;
+import io.simplelocalize.cli.client.dto.UploadKeysRequest;
 import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.exception.CommandException;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -14,6 +17,8 @@ import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
 
+import static io.simplelocalize.cli.client.dto.UploadKeysRequest.UploadKeysRequestBuilder.anUploadKeysRequest;
+
 @ExtendWith(MockitoExtension.class)
 class ExtractCommandTest
 {
@@ -39,6 +44,28 @@ class ExtractCommandTest
     //then
     HashSet<String> keys = new HashSet<>();
     keys.addAll(List.of("DONATION", "FURTHER_WORK"));
-    Mockito.verify(client, Mockito.times(1)).uploadKeys(keys);
+    Mockito.verify(client, Mockito.times(1)).uploadKeys(anUploadKeysRequest()
+            .withKeys(keys)
+            .build());
+  }
+
+  @Test
+  void shouldThrowWhenKeysUploadFailed() throws IOException, InterruptedException
+  {
+    //given
+    Path path = TestResourcesUtility.read("react-intl-small-subset");
+    Configuration configuration = new Configuration();
+    configuration.setApiKey("my-api-key");
+    configuration.setSearchDir(path.toString());
+    configuration.setProjectType("yahoo/react-intl");
+    Mockito.doThrow(new IOException("Connection refused")).when(client).uploadKeys(Mockito.any(UploadKeysRequest.class));
+
+    //when
+    ExtractCommand extractCommand = new ExtractCommand(client, configuration);
+
+    //then
+    Assertions.assertThatThrownBy(extractCommand::invoke)
+            .isInstanceOf(CommandException.class)
+            .hasCauseInstanceOf(IOException.class);
   }
 }
@@ -1,16 +1,29 @@
 package io.simplelocalize.cli.command;
 
 import io.simplelocalize.cli.client.SimpleLocalizeClient;
+import io.simplelocalize.cli.client.dto.FileToUpload;
 import io.simplelocalize.cli.client.dto.UploadRequest;
 import io.simplelocalize.cli.configuration.Configuration;
+import io.simplelocalize.cli.exception.ApiRequestException;
+import io.simplelocalize.cli.exception.CommandException;
+import io.simplelocalize.cli.io.FileListReader;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static io.simplelocalize.cli.client.dto.FileToUpload.FileToUploadBuilder.aFileToUpload;
 
 @ExtendWith(MockitoExtension.class)
 class UploadCommandTest
@@ -45,6 +58,57 @@ class UploadCommandTest
     );
   }
 
+  @Test
+  public void shouldRethrowApiErrorAfterDiscoveryFinished() throws Exception
+  {
+    //given
+    Configuration configuration = new Configuration();
+    configuration.setApiKey("my-api-key");
+    configuration.setUploadPath("./junit/download-test/values-{lang}/strings.xml");
+    configuration.setUploadFormat("android");
+    configuration.setUploadConcurrency(2);
+    Mockito.doThrow(new ApiRequestException("failure message", null))
+            .when(client).uploadFile(Mockito.any());
+
+    //when & then
+    UploadCommand uploadCommand = new UploadCommand(client, configuration);
+    Assertions.assertThatThrownBy(uploadCommand::invoke)
+            .isInstanceOf(ApiRequestException.class)
+            .hasMessage("failure message");
+  }
+
+  @Test
+  public void shouldFinishStartedUploadsWhenDiscoveryFailed() throws Exception
+  {
+    //given
+    Configuration configuration = new Configuration();
+    configuration.setApiKey("my-api-key");
+    configuration.setUploadPath("./junit/download-test/values-{lang}/strings.xml");
+    configuration.setUploadFormat("android");
+    CountDownLatch uploadStarted = new CountDownLatch(1);
+    AtomicBoolean uploadFinished = new AtomicBoolean();
+    Mockito.doAnswer(invocation -> {
+      uploadStarted.countDown();
+      Thread.sleep(300);
+      uploadFinished.set(true);
+      return null;
+    }).when(client).uploadFile(Mockito.any());
+    FileListReader fileListReader = Mockito.mock(FileListReader.class);
+    Mockito.doAnswer(invocation -> {
+      Consumer<FileToUpload> consumer = invocation.getArgument(1);
+      consumer.accept(aFileToUpload().withPath(Path.of("./junit/download-test/values-en/strings.xml")).withLanguage("en").build());
+      uploadStarted.await(10, TimeUnit.SECONDS);
+      throw new UncheckedIOException(new IOException("Directory could not be read"));
+    }).when(fileListReader).findFilesToUpload(Mockito.anyString(), Mockito.any());
+
+    //when & then
+    UploadCommand uploadCommand = new UploadCommand(client, configuration, fileListReader);
+    Assertions.assertThatThrownBy(uploadCommand::invoke)
+            .isInstanceOf(CommandException.class)
+            .hasMessage("Matching files could not be found");
+    Assertions.assertThat(uploadFinished).isTrue();
+  }
+
   @Test
   public void shouldUploadZeroFiles() throws Exception
   {
@@ -5,6 +5,7 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.nio.file.Path;
+import java.util.List;
 
 class ConfigurationLoaderTest
 {
@@ -79,4 +80,44 @@ class ConfigurationLoaderTest
             .assertThatThrownBy(() -> loader.loadOrGetDefault(Path.of(pathToConfig)))
             .isInstanceOf(ConfigurationException.class);
   }
+
+  @Test
+  void shouldLoadProjectsWithTopLevelValuesAsDefaults() throws Exception
+  {
+    //given
+    ClassLoader classLoader = getClass().getClassLoader();
+    String pathToConfig = classLoader.getResource("simplelocalize-projects.yml").toURI().toString().replace("file:", "");
+
+    //when
+    List<Configuration> projects = loader.loadProjectsOrGetDefault(Path.of(pathToConfig));
+
+    //then
+    Assertions.assertThat(projects).hasSize(2);
+    Configuration web = projects.get(0);
+    Assertions.assertThat(web.getName()).isEqualTo("web");
+    Assertions.assertThat(web.getApiKey()).isEqualTo("shared-api-key");
+    Assertions.assertThat(web.getProjectType()).isEqualTo("yahoo/react-intl");
+    Assertions.assertThat(web.getSearchDir()).isEqualTo("./web/src");
+    Assertions.assertThat(web.getUploadFormat()).isEqualTo("single-language-json");
+    Assertions.assertThat(web.getProjectConcurrency()).isEqualTo(2);
+
+    Configuration mobile = projects.get(1);
+    Assertions.assertThat(mobile.getName()).isEqualTo("mobile");
+    Assertions.assertThat(mobile.getApiKey()).isEqualTo("mobile-api-key");
+    Assertions.assertThat(mobile.getProjectType()).isEqualTo("google/android");
+    Assertions.assertThat(mobile.getUploadFormat()).isEqualTo("android");
+  }
+
+  @Test
+  void shouldThrowErrorWhenSingleConfigurationIsLoadedFromProjectsFile() throws Exception
+  {
+    //given
+    ClassLoader classLoader = getClass().getClassLoader();
+    String pathToConfig = classLoader.getResource("simplelocalize-projects.yml").toURI().toString().replace("file:", "");
+
+    //when & then
+    Assertions
+            .assertThatThrownBy(() -> loader.loadOrGetDefault(Path.of(pathToConfig)))
+            .isInstanceOf(ConfigurationException.class);
+  }
 }
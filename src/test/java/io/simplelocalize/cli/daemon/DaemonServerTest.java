@@ -0,0 +1,142 @@
+package io.simplelocalize.cli.daemon;
+
+import io.simplelocalize.cli.CliResources;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.verify.VerificationTimes;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+class DaemonServerTest
+{
+
+  @TempDir
+  Path temporaryDirectory;
+
+  @Test
+  void shouldRunCommandSentByClient() throws Exception
+  {
+    //given
+    DaemonFile daemonFile = new DaemonFile(temporaryDirectory.resolve("daemon.properties"));
+    CompletableFuture<Integer> daemon = startDaemon(daemonFile, Duration.ofMinutes(1));
+    DaemonClient daemonClient = new DaemonClient(daemonFile);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    //when
+    Optional<Integer> exitCode = daemonClient.run(List.of("--version"), temporaryDirectory, Map.of(), out, new ByteArrayOutputStream());
+
+    //then
+    Assertions.assertThat(exitCode).contains(0);
+    Assertions.assertThat(out.toString(StandardCharsets.UTF_8)).contains("SimpleLocalize CLI: 2.0.1");
+    Assertions.assertThat(daemonClient.stop()).isTrue();
+    Assertions.assertThat(daemon.get(5, TimeUnit.SECONDS)).isZero();
+    Assertions.assertThat(daemonFile.getPath()).doesNotExist();
+  }
+
+  @Test
+  void shouldResolveConfigurationWithEnvironmentOfClient() throws Exception
+  {
+    //given
+    ClientAndServer mockServer = startClientAndServer(1080);
+    DaemonFile daemonFile = new DaemonFile(temporaryDirectory.resolve("daemon.properties"));
+    CompletableFuture<Integer> daemon = startDaemon(daemonFile, Duration.ofMinutes(1));
+    try
+    {
+      mockServer.when(request().withMethod("GET").withPath("/cli/v2/download"))
+              .respond(response().withStatusCode(200).withBody("{\"files\": [{\"language\": \"en\", \"url\": \"http://localhost:1080/s3/en.json\"}]}"));
+      mockServer.when(request().withMethod("GET").withPath("/s3/en.json"))
+              .respond(response().withStatusCode(200).withBody("{\"HELLO\": \"Hello\"}"));
+      Files.writeString(temporaryDirectory.resolve("simplelocalize.yml"), String.join("\n",
+              "apiKey: ${HOME}",
+              "baseUrl: http://localhost:1080",
+              "downloadPath: ./translations/{lang}.json",
+              "downloadFormat: single-language-json"));
+
+      //when
+      Optional<Integer> exitCode = new DaemonClient(daemonFile).run(List.of("download"), temporaryDirectory, Map.of("HOME", "client-api-key"), new ByteArrayOutputStream(), new ByteArrayOutputStream());
+
+      //then
+      Assertions.assertThat(exitCode).contains(0);
+      Assertions.assertThat(temporaryDirectory.resolve("translations/en.json")).hasContent("{\"HELLO\": \"Hello\"}");
+      mockServer.verify(request().withPath("/cli/v2/download").withHeader("X-SimpleLocalize-Token", "client-api-key"), VerificationTimes.exactly(1));
+    } finally
+    {
+      new DaemonClient(daemonFile).stop();
+      daemon.get(5, TimeUnit.SECONDS);
+      mockServer.stop();
+    }
+  }
+
+  @Test
+  void shouldRejectRequestWithWrongToken() throws Exception
+  {
+    //given
+    DaemonFile daemonFile = new DaemonFile(temporaryDirectory.resolve("daemon.properties"));
+    CompletableFuture<Integer> daemon = startDaemon(daemonFile, Duration.ofMinutes(1));
+    DaemonFile forgedDaemonFile = new DaemonFile(temporaryDirectory.resolve("forged.properties"));
+    forgedDaemonFile.write(new DaemonFile.Endpoint(daemonFile.read().orElseThrow().getPort(), "forged-token"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    //when
+    Optional<Integer> exitCode = new DaemonClient(forgedDaemonFile).run(List.of("--version"), temporaryDirectory, Map.of(), out, new ByteArrayOutputStream());
+
+    //then
+    Assertions.assertThat(exitCode).contains(1);
+    Assertions.assertThat(out.toString(StandardCharsets.UTF_8)).isEmpty();
+    new DaemonClient(daemonFile).stop();
+    daemon.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void shouldStopAfterIdleTimeout() throws Exception
+  {
+    //given
+    DaemonFile daemonFile = new DaemonFile(temporaryDirectory.resolve("daemon.properties"));
+
+    //when
+    CompletableFuture<Integer> daemon = startDaemon(daemonFile, Duration.ofMillis(200));
+
+    //then
+    Assertions.assertThat(daemon.get(5, TimeUnit.SECONDS)).isZero();
+    Assertions.assertThat(new DaemonClient(daemonFile).ping()).isFalse();
+  }
+
+  @Test
+  void shouldLetCommandRunLocallyWhenNoDaemonIsRunning()
+  {
+    //given
+    DaemonClient daemonClient = new DaemonClient(new DaemonFile(temporaryDirectory.resolve("daemon.properties")));
+
+    //when
+    Optional<Integer> exitCode = daemonClient.run(List.of("--version"), temporaryDirectory, Map.of(), new ByteArrayOutputStream(), new ByteArrayOutputStream());
+
+    //then
+    Assertions.assertThat(exitCode).isEmpty();
+  }
+
+  private static CompletableFuture<Integer> startDaemon(DaemonFile daemonFile, Duration idleTimeout) throws InterruptedException
+  {
+    DaemonServer daemonServer = new DaemonServer(daemonFile, idleTimeout, CliResources.shared());
+    CompletableFuture<Integer> daemon = CompletableFuture.supplyAsync(daemonServer::run);
+    for (int i = 0; i < 100 && Files.notExists(daemonFile.getPath()) && !daemon.isDone(); i++)
+    {
+      Thread.sleep(50);
+    }
+    return daemon;
+  }
+}
@@ -0,0 +1,88 @@
+package io.simplelocalize.cli.extraction;
+
+import io.simplelocalize.cli.extraction.processor.ExtractionProcessor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ExtractionCacheTest
+{
+
+  @TempDir
+  Path searchDirectory;
+
+  @Test
+  void shouldReuseResultWhileFilesDidNotChange() throws IOException
+  {
+    //given
+    Files.writeString(searchDirectory.resolve("App.js"), "<FormattedMessage id=\"HELLO\"/>");
+    CountingProcessor processor = new CountingProcessor();
+    ExtractionCache extractionCache = ExtractionCache.enabled();
+    extractionCache.process(processor, searchDirectory);
+
+    //when
+    ExtractionResult result = extractionCache.process(processor, searchDirectory);
+
+    //then
+    Assertions.assertThat(processor.invocations).hasValue(1);
+    Assertions.assertThat(result.getKeys()).containsExactly("HELLO");
+  }
+
+  @Test
+  void shouldExtractAgainWhenFileWasAdded() throws IOException
+  {
+    //given
+    Files.writeString(searchDirectory.resolve("App.js"), "<FormattedMessage id=\"HELLO\"/>");
+    CountingProcessor processor = new CountingProcessor();
+    ExtractionCache extractionCache = ExtractionCache.enabled();
+    extractionCache.process(processor, searchDirectory);
+
+    //when
+    Files.writeString(searchDirectory.resolve("Menu.js"), "<FormattedMessage id=\"MENU\"/>");
+    extractionCache.process(processor, searchDirectory);
+
+    //then
+    Assertions.assertThat(processor.invocations).hasValue(2);
+  }
+
+  @Test
+  void shouldNotCacheWhenDisabled() throws IOException
+  {
+    //given
+    Files.writeString(searchDirectory.resolve("App.js"), "<FormattedMessage id=\"HELLO\"/>");
+    CountingProcessor processor = new CountingProcessor();
+    ExtractionCache extractionCache = ExtractionCache.disabled();
+    extractionCache.process(processor, searchDirectory);
+
+    //when
+    extractionCache.process(processor, searchDirectory);
+
+    //then
+    Assertions.assertThat(processor.invocations).hasValue(2);
+  }
+
+  private static final class CountingProcessor implements ExtractionProcessor
+  {
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @Override
+    public ExtractionResult process(Path searchDirectory)
+    {
+      invocations.incrementAndGet();
+      return ExtractionResult.of(Set.of("HELLO"), List.of(searchDirectory.resolve("App.js")));
+    }
+
+    @Override
+    public String getProjectTypeSupport()
+    {
+      return "counting";
+    }
+  }
+}
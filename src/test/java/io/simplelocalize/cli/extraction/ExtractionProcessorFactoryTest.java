@@ -21,6 +21,22 @@ public class ExtractionProcessorFactoryTest
     Assertions.assertThat(forType).isInstanceOf(YahooReactIntlProcessor.class);
   }
 
+  @Test
+  public void shouldCreateProcessorSupportingEveryRegisteredProjectType()
+  {
+    //given
+    ProjectProcessorFactory projectProcessorFactory = new ProjectProcessorFactory();
+
+    for (String projectType : projectProcessorFactory.getSupportedProjectTypes())
+    {
+      //when
+      ExtractionProcessor processor = projectProcessorFactory.createForType(projectType.toUpperCase());
+
+      //then
+      Assertions.assertThat(processor.getProjectTypeSupport()).isEqualTo(projectType);
+    }
+  }
+
   @Test
   public void shouldThrowWhenUnknownProjectType() throws Exception
   {
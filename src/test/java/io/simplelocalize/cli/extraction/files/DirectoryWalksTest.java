@@ -0,0 +1,105 @@
+package io.simplelocalize.cli.extraction.files;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class DirectoryWalksTest
+{
+
+  @TempDir
+  Path projectDirectory;
+
+  @Test
+  void shouldServeNestedSearchDirectoryFromParentWalk() throws IOException
+  {
+    //given
+    Path webDirectory = Files.createDirectories(projectDirectory.resolve("web"));
+    Files.writeString(webDirectory.resolve("App.js"), "");
+    Files.writeString(projectDirectory.resolve("README.md"), "");
+    DirectoryWalks directoryWalks = DirectoryWalks.sharedBetween(List.of(projectDirectory, webDirectory));
+    directoryWalks.walk(projectDirectory).getFiles();
+
+    //when
+    Files.writeString(webDirectory.resolve("Menu.js"), "");
+    List<Path> files = directoryWalks.walk(webDirectory).getFiles();
+
+    //then
+    Assertions.assertThat(files).containsExactly(webDirectory.resolve("App.js"));
+  }
+
+  @Test
+  void shouldWalkSeparatelyDirectoriesWhichDoNotOverlap() throws IOException
+  {
+    //given
+    Path webDirectory = Files.createDirectories(projectDirectory.resolve("web"));
+    Path mobileDirectory = Files.createDirectories(projectDirectory.resolve("mobile"));
+    Files.writeString(webDirectory.resolve("App.js"), "");
+    Files.writeString(mobileDirectory.resolve("strings.xml"), "");
+    DirectoryWalks directoryWalks = DirectoryWalks.sharedBetween(List.of(webDirectory, mobileDirectory));
+
+    //when
+    List<Path> files = directoryWalks.walk(mobileDirectory).getFiles();
+
+    //then
+    Assertions.assertThat(files).containsExactly(mobileDirectory.resolve("strings.xml"));
+  }
+
+  @Test
+  void shouldSkipGitAndNodeModulesDirectories() throws IOException
+  {
+    //given
+    Path webDirectory = Files.createDirectories(projectDirectory.resolve("web"));
+    Files.writeString(webDirectory.resolve("App.js"), "");
+    Files.writeString(Files.createDirectories(webDirectory.resolve("node_modules/react")).resolve("index.js"), "");
+    Files.writeString(Files.createDirectories(projectDirectory.resolve(".git/objects")).resolve("pack"), "");
+    DirectoryWalks directoryWalks = DirectoryWalks.sharedBetween(List.of(projectDirectory, webDirectory));
+
+    //when
+    List<Path> files = directoryWalks.walk(projectDirectory).getFiles();
+
+    //then
+    Assertions.assertThat(files).containsExactly(webDirectory.resolve("App.js"));
+  }
+
+  @Test
+  void shouldWalkSubdirectoryOnItsOwnWhenSharedWalkIsTooLarge() throws IOException
+  {
+    //given
+    Path webDirectory = Files.createDirectories(projectDirectory.resolve("web"));
+    Files.writeString(webDirectory.resolve("App.js"), "");
+    Files.writeString(projectDirectory.resolve("README.md"), "");
+    DirectoryWalk directoryWalk = DirectoryWalk.of(projectDirectory);
+    directoryWalk.getFiles();
+
+    //when
+    Files.writeString(webDirectory.resolve("Menu.js"), "");
+    List<Path> files = directoryWalk.within(webDirectory, webDirectory, 1).getFiles();
+
+    //then
+    Assertions.assertThat(files).containsExactlyInAnyOrder(webDirectory.resolve("App.js"), webDirectory.resolve("Menu.js"));
+  }
+
+  @Test
+  void shouldReturnFilesOfSharedWalkBelowSearchDirectoryAsGiven() throws IOException
+  {
+    //given
+    Path webDirectory = Files.createDirectories(projectDirectory.resolve("web"));
+    Files.writeString(webDirectory.resolve("App.js"), "");
+    Path relativeProjectDirectory = Path.of("").toAbsolutePath().relativize(projectDirectory);
+    Path relativeWebDirectory = relativeProjectDirectory.resolve("web");
+    DirectoryWalks directoryWalks = DirectoryWalks.sharedBetween(List.of(relativeProjectDirectory, relativeWebDirectory));
+
+    //when
+    List<Path> files = directoryWalks.walk(relativeWebDirectory).getFiles();
+
+    //then
+    Assertions.assertThat(files).isEqualTo(DirectoryWalk.of(relativeWebDirectory).getFiles());
+    Assertions.assertThat(files).containsExactly(relativeWebDirectory.resolve("App.js"));
+  }
+}
@@ -6,6 +6,7 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
@@ -52,6 +53,22 @@ class FileListReaderTest
             );
   }
 
+  @Test
+  void shouldFindJsonFilesForAbsoluteUploadPath() throws IOException
+  {
+    //given
+    Path directory = Paths.get("./junit/locale-directory").toAbsolutePath().normalize();
+    String path = directory + "/{lang}/{ns}.json";
+
+    //when
+    List<FileToUpload> result = sut.findFilesToUpload(path);
+
+    //then
+    Assertions.assertThat(result)
+            .extracting(FileToUpload::getPath)
+            .contains(directory.resolve("en/common.json"), directory.resolve("pl/common.json"));
+  }
+
   @Test
   void shouldFindJsonFilesWithInLocaleDirectory() throws IOException
   {
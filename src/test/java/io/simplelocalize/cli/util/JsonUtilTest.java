@@ -0,0 +1,102 @@
+package io.simplelocalize.cli.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class JsonUtilTest
+{
+
+  @Test
+  void shouldRemoveEmptyValuesAndEmptyObjects() throws Exception
+  {
+    //given
+    String json = "{\"HELLO\":\"Hello\",\"EMPTY\":\"\",\"common\":{\"EMPTY\":\"\",\"nested\":{\"EMPTY\":\"\"}},\"home\":{\"TITLE\":\"Home\",\"COUNT\":1,\"TAGS\":[\"\",\"a\"]}}";
+
+    //when
+    String result = transform(json, List.of(JsonTransform.REMOVE_EMPTY));
+
+    //then
+    Assertions.assertThat(result).isEqualTo("{\n" +
+            "  \"HELLO\": \"Hello\",\n" +
+            "  \"home\": {\n" +
+            "    \"TITLE\": \"Home\",\n" +
+            "    \"COUNT\": 1,\n" +
+            "    \"TAGS\": [\n" +
+            "      \"\",\n" +
+            "      \"a\"\n" +
+            "    ]\n" +
+            "  }\n" +
+            "}");
+  }
+
+  @Test
+  void shouldKeepEmptyRootObject() throws Exception
+  {
+    //given
+    String json = "{\"common\":{\"EMPTY\":\"\"}}";
+
+    //when
+    String result = transform(json, List.of(JsonTransform.REMOVE_EMPTY));
+
+    //then
+    Assertions.assertThat(result).isEqualTo("{ }");
+  }
+
+  @Test
+  void shouldSortKeysAndMinify() throws Exception
+  {
+    //given
+    String json = "{\"b\":{\"z\":\"Z\",\"a\":\"\",\"m\":[{\"y\":1,\"x\":2}]},\"a\":\"A\"}";
+
+    //when
+    String result = transform(json, List.of(JsonTransform.REMOVE_EMPTY, JsonTransform.SORT_KEYS, JsonTransform.MINIFY));
+
+    //then
+    Assertions.assertThat(result).isEqualTo("{\"a\":\"A\",\"b\":{\"m\":[{\"x\":2,\"y\":1}],\"z\":\"Z\"}}");
+  }
+
+  @Test
+  void shouldPrettyPrintMinifiedJson() throws Exception
+  {
+    //given
+    String json = "{\"HELLO\":\"Hello\",\"home\":{\"TITLE\":\"Home\"}}";
+
+    //when
+    String result = transform(json, List.of(JsonTransform.MINIFY, JsonTransform.PRETTY_PRINT));
+
+    //then
+    Assertions.assertThat(result).isEqualTo("{\n" +
+            "  \"HELLO\": \"Hello\",\n" +
+            "  \"home\": {\n" +
+            "    \"TITLE\": \"Home\"\n" +
+            "  }\n" +
+            "}");
+  }
+
+  @Test
+  void shouldUseLastPrinterAndIgnoreOrderOfOtherTransforms() throws Exception
+  {
+    //given
+    String json = "{\"b\":\"B\",\"a\":\"\",\"c\":\"C\"}";
+
+    //when
+    String result = transform(json, List.of(JsonTransform.PRETTY_PRINT, JsonTransform.SORT_KEYS, JsonTransform.MINIFY, JsonTransform.REMOVE_EMPTY));
+
+    //then
+    Assertions.assertThat(result)
+            .isEqualTo("{\"b\":\"B\",\"c\":\"C\"}")
+            .isEqualTo(transform(json, List.of(JsonTransform.REMOVE_EMPTY, JsonTransform.SORT_KEYS, JsonTransform.PRETTY_PRINT, JsonTransform.MINIFY)));
+  }
+
+  private String transform(String json, List<JsonTransform> transforms) throws Exception
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    JsonUtil.transform(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), outputStream, transforms);
+    return outputStream.toString(StandardCharsets.UTF_8);
+  }
+}
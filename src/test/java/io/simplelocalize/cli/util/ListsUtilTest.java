@@ -3,6 +3,7 @@ package io.simplelocalize.cli.util;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -21,4 +22,29 @@ public class ListsUtilTest {
     Assertions.assertThat(sum).contains(1, 2, 5, 8);
     Assertions.assertThat(sum).hasSize(4);
   }
+
+  @Test
+  public void shouldSplitIntoBatches() throws Exception {
+    //given
+    List<Integer> items = Arrays.asList(1, 2, 3, 4, 5);
+
+    //when
+    List<List<Integer>> batches = new ArrayList<>();
+    ListsUtil.batches(items, 2).forEach(batches::add);
+
+    //then
+    Assertions.assertThat(batches).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+  }
+
+  @Test
+  public void shouldReturnNoBatchesForEmptyCollection() throws Exception {
+    //given
+    List<Integer> items = List.of();
+
+    //when
+    Iterable<List<Integer>> batches = ListsUtil.batches(items, 2);
+
+    //then
+    Assertions.assertThat(batches).isEmpty();
+  }
 }